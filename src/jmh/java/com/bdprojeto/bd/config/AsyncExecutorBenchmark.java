@@ -0,0 +1,98 @@
+package com.bdprojeto.bd.config;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Throughput of the {@code taskExecutor} of the {@link AsyncConfiguration} for tasks blocked on I/O, such as a JDBC query or an
+ * SMTP exchange, with the thread pool and with the virtual threads of the {@code virtual-threads} profile, which needs Java 21.
+ * <p>
+ * The pool has the sizes of {@code spring.task.execution.pool} in {@code application.yml}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AsyncExecutorBenchmark {
+
+    private static final int CORE_SIZE = 2;
+
+    private static final int MAX_SIZE = 50;
+
+    private static final int QUEUE_CAPACITY = 10000;
+
+    private static final int TASKS = 500;
+
+    @Param({ "pool", "virtual" })
+    private String executorType;
+
+    @Param({ "5" })
+    private long blockedMs;
+
+    private AsyncTaskExecutor executor;
+
+    @Setup
+    public void setup() {
+        if ("virtual".equals(executorType)) {
+            ThreadFactory threadFactory = VirtualThreads
+                .threadFactory("benchmark-")
+                .orElseThrow(() -> new IllegalStateException("Virtual threads need Java 21 or later"));
+            SimpleAsyncTaskExecutor virtualExecutor = new SimpleAsyncTaskExecutor(threadFactory);
+            virtualExecutor.setTaskDecorator(new ConcurrencyLimitTaskDecorator(MAX_SIZE));
+            executor = virtualExecutor;
+        } else {
+            ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+            pool.setCorePoolSize(CORE_SIZE);
+            pool.setMaxPoolSize(MAX_SIZE);
+            pool.setQueueCapacity(QUEUE_CAPACITY);
+            pool.setThreadNamePrefix("benchmark-");
+            pool.initialize();
+            executor = pool;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (executor instanceof ThreadPoolTaskExecutor) {
+            ((ThreadPoolTaskExecutor) executor).shutdown();
+        }
+    }
+
+    /**
+     * Runs a burst of blocked tasks and waits for all of them.
+     */
+    @Benchmark
+    public void burst() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            executor.execute(() -> {
+                try {
+                    Thread.sleep(blockedMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+}
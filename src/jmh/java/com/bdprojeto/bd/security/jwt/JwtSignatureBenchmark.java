@@ -0,0 +1,78 @@
+package com.bdprojeto.bd.security.jwt;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import java.security.Key;
+import java.security.KeyPair;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of signing and verifying a token like the ones of the {@link TokenProvider}, for each {@code application.jwt.algorithm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtSignatureBenchmark {
+
+    @Param({ "HS512", "ES256", "RS256" })
+    private String algorithm;
+
+    private SignatureAlgorithm signatureAlgorithm;
+
+    private Key signingKey;
+
+    private JwtParser parser;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        signatureAlgorithm = SignatureAlgorithm.forName(algorithm);
+        if (signatureAlgorithm.isHmac()) {
+            signingKey = Keys.secretKeyFor(signatureAlgorithm);
+            parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        } else {
+            KeyPair keyPair = Keys.keyPairFor(signatureAlgorithm);
+            signingKey = keyPair.getPrivate();
+            parser = Jwts.parserBuilder().setSigningKey(keyPair.getPublic()).build();
+        }
+        token = sign();
+    }
+
+    @Benchmark
+    public String sign() {
+        long now = System.currentTimeMillis();
+        return Jwts
+            .builder()
+            .setSubject("admin")
+            .claim("auth", "ROLE_ADMIN,ROLE_USER")
+            .setIssuedAt(new Date(now))
+            .setExpiration(new Date(now + 86400_000))
+            .setHeaderParam(JwsHeader.KEY_ID, "benchmark")
+            .signWith(signingKey, signatureAlgorithm)
+            .compact();
+    }
+
+    @Benchmark
+    public Object verify() {
+        return parser.parseClaimsJws(token).getBody();
+    }
+}
@@ -1,30 +1,55 @@
 package com.bdprojeto.bd.aop.logging;
 
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.AfterThrowing;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.Profiles;
+import org.springframework.util.ClassUtils;
 import tech.jhipster.config.JHipsterConstants;
 
 /**
  * Aspect for logging execution of service and repository Spring components.
  *
- * By default, it only runs with the "dev" profile.
+ * By default, it only runs with the "dev" and "tracing" profiles.
+ * <p>
+ * When the {@value #TRACING_LOGGER_NAME} logger is set to TRACE, for instance through {@code /management/loggers}, it switches
+ * to a tracing mode: instead of logging the arguments and results, it only records the duration and outcome of each execution
+ * in a {@link MethodTraceRecorder}, served at {@code /management/methodtraces}.
  */
 @Aspect
 public class LoggingAspect {
 
-    private final Environment env;
+    public static final String TRACING_LOGGER_NAME = "com.bdprojeto.bd.aop.logging.tracing";
 
-    public LoggingAspect(Environment env) {
-        this.env = env;
+    private final Logger tracingLog = LoggerFactory.getLogger(TRACING_LOGGER_NAME);
+
+    private final boolean development;
+
+    private final MethodTraceRecorder methodTraceRecorder;
+
+    private static final String REPOSITORY_PACKAGE = "com.bdprojeto.bd.repository";
+
+    /**
+     * The logger and name of each advised method, resolved on its first execution, by bean proxy class, as the methods inherited
+     * from the Spring Data interfaces are shared by all the repositories.
+     */
+    private final Map<Class<?>, Map<Method, AdvisedMethod>> advisedMethods = new ConcurrentHashMap<>();
+
+    public LoggingAspect(Environment env, MethodTraceRecorder methodTraceRecorder) {
+        this.development = env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT));
+        this.methodTraceRecorder = methodTraceRecorder;
     }
 
     /**
@@ -50,13 +75,33 @@ public class LoggingAspect {
     }
 
     /**
-     * Retrieves the {@link Logger} associated to the given {@link JoinPoint}.
+     * Retrieves the {@link AdvisedMethod} associated to the given {@link JoinPoint}.
      *
      * @param joinPoint join point we want the logger for.
-     * @return {@link Logger} associated to the given {@link JoinPoint}.
+     * @return {@link AdvisedMethod} associated to the given {@link JoinPoint}.
      */
-    private Logger logger(JoinPoint joinPoint) {
-        return LoggerFactory.getLogger(joinPoint.getSignature().getDeclaringTypeName());
+    private AdvisedMethod advisedMethod(JoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Class<?> proxyClass = joinPoint.getThis().getClass();
+        return advisedMethods
+            .computeIfAbsent(proxyClass, key -> new ConcurrentHashMap<>())
+            .computeIfAbsent(method, key -> new AdvisedMethod(beanType(proxyClass, method.getDeclaringClass()), method.getName()));
+    }
+
+    /**
+     * @return the class of a service or REST controller, or the interface of a repository.
+     */
+    private static Class<?> beanType(Class<?> proxyClass, Class<?> declaringClass) {
+        Class<?> userClass = ClassUtils.getUserClass(proxyClass);
+        if (!Proxy.isProxyClass(userClass)) {
+            return userClass;
+        }
+        for (Class<?> proxiedInterface : userClass.getInterfaces()) {
+            if (declaringClass.isAssignableFrom(proxiedInterface) && proxiedInterface.getName().startsWith(REPOSITORY_PACKAGE)) {
+                return proxiedInterface;
+            }
+        }
+        return declaringClass;
     }
 
     /**
@@ -67,27 +112,22 @@ public class LoggingAspect {
      */
     @AfterThrowing(pointcut = "applicationPackagePointcut() && springBeanPointcut()", throwing = "e")
     public void logAfterThrowing(JoinPoint joinPoint, Throwable e) {
-        if (env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT))) {
-            logger(joinPoint)
-                .error(
-                    "Exception in {}() with cause = '{}' and exception = '{}'",
-                    joinPoint.getSignature().getName(),
-                    e.getCause() != null ? e.getCause() : "NULL",
-                    e.getMessage(),
-                    e
-                );
+        AdvisedMethod advisedMethod = advisedMethod(joinPoint);
+        if (development) {
+            advisedMethod.log.error(
+                "Exception in {}() with cause = '{}' and exception = '{}'",
+                advisedMethod.name,
+                e.getCause() != null ? e.getCause() : "NULL",
+                e.getMessage(),
+                e
+            );
         } else {
-            logger(joinPoint)
-                .error(
-                    "Exception in {}() with cause = {}",
-                    joinPoint.getSignature().getName(),
-                    e.getCause() != null ? e.getCause() : "NULL"
-                );
+            advisedMethod.log.error("Exception in {}() with cause = {}", advisedMethod.name, e.getCause() != null ? e.getCause() : "NULL");
         }
     }
 
     /**
-     * Advice that logs when a method is entered and exited.
+     * Advice that logs when a method is entered and exited, or traces its execution in tracing mode.
      *
      * @param joinPoint join point for advice.
      * @return result.
@@ -95,19 +135,50 @@ public class LoggingAspect {
      */
     @Around("applicationPackagePointcut() && springBeanPointcut()")
     public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
-        Logger log = logger(joinPoint);
+        AdvisedMethod advisedMethod = advisedMethod(joinPoint);
+        if (tracingLog.isTraceEnabled()) {
+            return trace(joinPoint, advisedMethod);
+        }
+        Logger log = advisedMethod.log;
         if (log.isDebugEnabled()) {
-            log.debug("Enter: {}() with argument[s] = {}", joinPoint.getSignature().getName(), Arrays.toString(joinPoint.getArgs()));
+            log.debug("Enter: {}() with argument[s] = {}", advisedMethod.name, Arrays.toString(joinPoint.getArgs()));
         }
         try {
             Object result = joinPoint.proceed();
             if (log.isDebugEnabled()) {
-                log.debug("Exit: {}() with result = {}", joinPoint.getSignature().getName(), result);
+                log.debug("Exit: {}() with result = {}", advisedMethod.name, result);
             }
             return result;
         } catch (IllegalArgumentException e) {
-            log.error("Illegal argument: {} in {}()", Arrays.toString(joinPoint.getArgs()), joinPoint.getSignature().getName());
+            log.error("Illegal argument: {} in {}()", Arrays.toString(joinPoint.getArgs()), advisedMethod.name);
             throw e;
         }
     }
+
+    private Object trace(ProceedingJoinPoint joinPoint, AdvisedMethod advisedMethod) throws Throwable {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            methodTraceRecorder.record(advisedMethod.qualifiedName, System.nanoTime() - start, failed);
+        }
+    }
+
+    private static final class AdvisedMethod {
+
+        private final Logger log;
+
+        private final String name;
+
+        private final String qualifiedName;
+
+        private AdvisedMethod(Class<?> beanType, String name) {
+            this.log = LoggerFactory.getLogger(beanType);
+            this.name = name;
+            this.qualifiedName = beanType.getSimpleName() + "." + name;
+        }
+    }
 }
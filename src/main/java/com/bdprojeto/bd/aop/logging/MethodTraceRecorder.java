@@ -0,0 +1,89 @@
+package com.bdprojeto.bd.aop.logging;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size ring buffer of the latest method executions traced by the {@link LoggingAspect}.
+ * <p>
+ * Recording is lock-free: each execution claims the next slot and overwrites the oldest trace, so tracing never blocks the
+ * traced methods and its memory does not grow with the load.
+ */
+public class MethodTraceRecorder {
+
+    private final AtomicReferenceArray<MethodTrace> traces;
+
+    private final int mask;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * @param capacity number of traces kept, rounded up to a power of two.
+     */
+    public MethodTraceRecorder(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.traces = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public void record(String method, long durationNanos, boolean failed) {
+        long number = sequence.getAndIncrement();
+        traces.lazySet((int) (number & mask), new MethodTrace(number, System.currentTimeMillis(), method, durationNanos, failed));
+    }
+
+    /**
+     * @return the traces still in the buffer, latest first.
+     */
+    public List<MethodTrace> recent() {
+        long last = sequence.get() - 1;
+        List<MethodTrace> recent = new ArrayList<>();
+        for (long number = last; number >= 0 && number > last - traces.length(); number--) {
+            MethodTrace trace = traces.get((int) (number & mask));
+            // The slot may not be written yet, or already overwritten by a later execution
+            if (trace != null && trace.number == number) {
+                recent.add(trace);
+            }
+        }
+        return recent;
+    }
+
+    public static final class MethodTrace {
+
+        private final long number;
+
+        private final long timestamp;
+
+        private final String method;
+
+        private final long durationNanos;
+
+        private final boolean failed;
+
+        private MethodTrace(long number, long timestamp, String method, long durationNanos, boolean failed) {
+            this.number = number;
+            this.timestamp = timestamp;
+            this.method = method;
+            this.durationNanos = durationNanos;
+            this.failed = failed;
+        }
+
+        public Instant getTimestamp() {
+            return Instant.ofEpochMilli(timestamp);
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        public boolean isFailed() {
+            return failed;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.bdprojeto.bd.aop.metrics;
+
+/**
+ * Cache lookups made by the current thread, reported by the cached reads so that the {@link MethodMetricsAspect} can tag the
+ * executions of the methods that made them.
+ */
+public final class CacheLookups {
+
+    static final int NONE = 0;
+
+    static final int HIT = 1;
+
+    static final int MISS = 2;
+
+    private static final ThreadLocal<int[]> LOOKUPS = ThreadLocal.withInitial(() -> new int[1]);
+
+    private CacheLookups() {}
+
+    public static void hit() {
+        LOOKUPS.get()[0] |= HIT;
+    }
+
+    public static void miss() {
+        LOOKUPS.get()[0] |= MISS;
+    }
+
+    /**
+     * @return the lookups of the current thread, as a mutable holder of {@link #HIT} and {@link #MISS} flags.
+     */
+    static int[] current() {
+        return LOOKUPS.get();
+    }
+}
@@ -0,0 +1,199 @@
+package com.bdprojeto.bd.aop.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.StreamSupport;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Aspect timing the executions of the service and repository Spring components.
+ * <p>
+ * Each method has its own {@code application.methods} timer, tagged with its layer, class and method, the outcome of the
+ * execution, and whether it found what it read in a cache, as reported through {@link CacheLookups}: {@code hit} when all its
+ * lookups hit, {@code miss} when any missed, {@code none} without any lookup. A service execution includes the lookups of the
+ * repositories it calls.
+ * <p>
+ * The timers of a method are resolved on its first execution, and registered on the first execution with their outcome and
+ * cache tags. Each timer publishes a series per statistic, per percentile of its instance, the median, 95th and 99th, and per
+ * histogram bucket with {@code percentileHistogram}. Once the timers publish {@code maxSeries} series, the executions without a
+ * timer yet are timed together, tagged {@code other}, so that the number of series stays bounded.
+ */
+@Aspect
+public class MethodMetricsAspect {
+
+    public static final String METHODS_METER_NAME = "application.methods";
+
+    private static final String REPOSITORY_PACKAGE = "com.bdprojeto.bd.repository";
+
+    private static final String OTHER = "other";
+
+    private static final String[] CACHE_TAGS = { "none", "hit", "miss", "miss" };
+
+    private static final double[] PERCENTILES = { 0.5, 0.95, 0.99 };
+
+    private final MeterRegistry meterRegistry;
+
+    private final int maxSeries;
+
+    private final boolean percentileHistogram;
+
+    /**
+     * The timers of each method, by bean proxy class, as the methods inherited from the Spring Data interfaces are shared by
+     * all the repositories.
+     */
+    private final Map<Class<?>, Map<Method, MethodTimers>> methodTimers = new ConcurrentHashMap<>();
+
+    private final AtomicInteger publishedSeries = new AtomicInteger();
+
+    private final MethodTimers otherTimers = new MethodTimers(OTHER, OTHER, OTHER);
+
+    public MethodMetricsAspect(MeterRegistry meterRegistry, int maxSeries, boolean percentileHistogram) {
+        this.meterRegistry = meterRegistry;
+        this.maxSeries = maxSeries;
+        this.percentileHistogram = percentileHistogram;
+    }
+
+    /**
+     * Pointcut that matches all repositories and services.
+     */
+    @Pointcut("within(@org.springframework.stereotype.Repository *)" + " || within(@org.springframework.stereotype.Service *)")
+    public void springBeanPointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Pointcut that matches all Spring beans in the application's repository and service packages.
+     */
+    @Pointcut("within(com.bdprojeto.bd.repository..*)" + " || within(com.bdprojeto.bd.service..*)")
+    public void applicationPackagePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that times the execution of a method.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable the exception of the method.
+     */
+    @Around("applicationPackagePointcut() && springBeanPointcut()")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodTimers timers = methodTimers(joinPoint);
+        int[] lookups = CacheLookups.current();
+        int callerLookups = lookups[0];
+        lookups[0] = CacheLookups.NONE;
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            long duration = System.nanoTime() - start;
+            int ownLookups = lookups[0];
+            lookups[0] = callerLookups | ownLookups;
+            timers.timer(failed, ownLookups).record(duration, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private MethodTimers methodTimers(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Class<?> proxyClass = joinPoint.getThis().getClass();
+        Map<Method, MethodTimers> beanTimers = methodTimers.computeIfAbsent(proxyClass, key -> new ConcurrentHashMap<>());
+        MethodTimers timers = beanTimers.get(method);
+        if (timers != null) {
+            return timers;
+        }
+        Class<?> beanType = beanType(proxyClass, method.getDeclaringClass());
+        String layer = beanType.getName().startsWith(REPOSITORY_PACKAGE) ? "repository" : "service";
+        return beanTimers.computeIfAbsent(method, key -> new MethodTimers(layer, beanType.getSimpleName(), method.getName()));
+    }
+
+    /**
+     * @return the class of a service, or the interface of a repository.
+     */
+    private static Class<?> beanType(Class<?> proxyClass, Class<?> declaringClass) {
+        Class<?> userClass = ClassUtils.getUserClass(proxyClass);
+        if (!Proxy.isProxyClass(userClass)) {
+            return userClass;
+        }
+        for (Class<?> proxiedInterface : userClass.getInterfaces()) {
+            if (declaringClass.isAssignableFrom(proxiedInterface) && proxiedInterface.getName().startsWith(REPOSITORY_PACKAGE)) {
+                return proxiedInterface;
+            }
+        }
+        return declaringClass;
+    }
+
+    /**
+     * @return the number of series published for a timer, one per statistic, percentile and histogram bucket.
+     */
+    private static int series(Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        return (
+            snapshot.percentileValues().length +
+            snapshot.histogramCounts().length +
+            (int) StreamSupport.stream(timer.measure().spliterator(), false).count()
+        );
+    }
+
+    /**
+     * The timers of a method, one per outcome and cache lookups, registered on their first use.
+     */
+    private final class MethodTimers {
+
+        private final String layer;
+
+        private final String className;
+
+        private final String methodName;
+
+        private final AtomicReferenceArray<Timer> timers = new AtomicReferenceArray<>(2 * CACHE_TAGS.length);
+
+        private MethodTimers(String layer, String className, String methodName) {
+            this.layer = layer;
+            this.className = className;
+            this.methodName = methodName;
+        }
+
+        private Timer timer(boolean failed, int lookups) {
+            int index = (failed ? CACHE_TAGS.length : 0) + lookups;
+            Timer timer = timers.get(index);
+            if (timer == null) {
+                if (this != otherTimers && publishedSeries.get() >= maxSeries) {
+                    return otherTimers.timer(failed, lookups);
+                }
+                // The registry returns the same timer for the same tags, so concurrent registrations are harmless, they are
+                // only counted twice
+                timer =
+                    Timer
+                        .builder(METHODS_METER_NAME)
+                        .description("Executions of the service and repository methods")
+                        .tag("layer", layer)
+                        .tag("class", className)
+                        .tag("method", methodName)
+                        .tag("outcome", failed ? "error" : "success")
+                        .tag("cache", CACHE_TAGS[lookups])
+                        .publishPercentiles(PERCENTILES)
+                        .publishPercentileHistogram(percentileHistogram)
+                        .register(meterRegistry);
+                timers.set(index, timer);
+                publishedSeries.addAndGet(series(timer));
+            }
+            return timer;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.bdprojeto.bd.config;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -10,7 +12,834 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
+
+    private final Export export = new Export();
+
+    private final BulkImport bulkImport = new BulkImport();
+
+    private final BatchGet batchGet = new BatchGet();
+
+    private final Cache cache = new Cache();
+
+    private final Jwt jwt = new Jwt();
+
+    private final PasswordHashing passwordHashing = new PasswordHashing();
+
+    private final LoginThrottle loginThrottle = new LoginThrottle();
+
+    private final RefreshToken refreshToken = new RefreshToken();
+
+    private final MethodMetrics methodMetrics = new MethodMetrics();
+
+    private final MailOutbox mailOutbox = new MailOutbox();
+
+    private final UserPurge userPurge = new UserPurge();
+
+    private final ScheduledJobs scheduledJobs = new ScheduledJobs();
+
     // jhipster-needle-application-properties-property
+
+    public Export getExport() {
+        return export;
+    }
+
+    public BulkImport getBulkImport() {
+        return bulkImport;
+    }
+
+    public BatchGet getBatchGet() {
+        return batchGet;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Jwt getJwt() {
+        return jwt;
+    }
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
+    public LoginThrottle getLoginThrottle() {
+        return loginThrottle;
+    }
+
+    public RefreshToken getRefreshToken() {
+        return refreshToken;
+    }
+
+    public MethodMetrics getMethodMetrics() {
+        return methodMetrics;
+    }
+
+    public MailOutbox getMailOutbox() {
+        return mailOutbox;
+    }
+
+    public UserPurge getUserPurge() {
+        return userPurge;
+    }
+
+    public ScheduledJobs getScheduledJobs() {
+        return scheduledJobs;
+    }
+
     // jhipster-needle-application-properties-property-getter
+
+    public static class Export {
+
+        /**
+         * Number of rows the JDBC driver fetches per round-trip when streaming an export.
+         */
+        private int fetchSize = 1000;
+
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        public void setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+    }
+
+    public static class BulkImport {
+
+        /**
+         * Number of rows inserted per transaction. Keep it a multiple of {@code hibernate.jdbc.batch_size}.
+         */
+        private int chunkSize = 500;
+
+        /**
+         * Maximum number of row errors returned in the import report.
+         */
+        private int maxReportedErrors = 1000;
+
+        /**
+         * Whether to reserve the ids of a whole chunk in a single sequence round-trip before inserting it.
+         */
+        private boolean reserveIds = true;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getMaxReportedErrors() {
+            return maxReportedErrors;
+        }
+
+        public void setMaxReportedErrors(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        public boolean isReserveIds() {
+            return reserveIds;
+        }
+
+        public void setReserveIds(boolean reserveIds) {
+            this.reserveIds = reserveIds;
+        }
+    }
+
+    public static class BatchGet {
+
+        /**
+         * Maximum number of ids or cpfs accepted by a single batch lookup.
+         */
+        private int maxKeys = 5000;
+
+        /**
+         * Number of keys per {@code IN} query when fetching cache misses. Keep it a power of two, so that
+         * {@code hibernate.query.in_clause_parameter_padding} does not add padding to full chunks.
+         */
+        private int inClauseSize = 512;
+
+        public int getMaxKeys() {
+            return maxKeys;
+        }
+
+        public void setMaxKeys(int maxKeys) {
+            this.maxKeys = maxKeys;
+        }
+
+        public int getInClauseSize() {
+            return inClauseSize;
+        }
+
+        public void setInClauseSize(int inClauseSize) {
+            this.inClauseSize = inClauseSize;
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Directory holding the disk tier of the cache regions. Required as soon as a region sets {@code disk-mb}.
+         */
+        private String diskPath;
+
+        /**
+         * Per-region settings, keyed by cache name. Entity regions may omit the {@code com.bdprojeto.bd.domain.} prefix.
+         * Regions without settings use {@code jhipster.cache.ehcache}.
+         */
+        private final Map<String, Region> regions = new LinkedHashMap<>();
+
+        private final Invalidation invalidation = new Invalidation();
+
+        private final RefreshAhead refreshAhead = new RefreshAhead();
+
+        public String getDiskPath() {
+            return diskPath;
+        }
+
+        public void setDiskPath(String diskPath) {
+            this.diskPath = diskPath;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public Invalidation getInvalidation() {
+            return invalidation;
+        }
+
+        public RefreshAhead getRefreshAhead() {
+            return refreshAhead;
+        }
+
+        public static class RefreshAhead {
+
+            /**
+             * Whether hits on old entries of the {@code usersByEmail} cache reload them in the background.
+             */
+            private boolean enabled = false;
+
+            /**
+             * Age from which an entry is reloaded on its next hit. Keep it below the time to live of the cache.
+             */
+            private long refreshAfterSeconds = 3000;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public long getRefreshAfterSeconds() {
+                return refreshAfterSeconds;
+            }
+
+            public void setRefreshAfterSeconds(long refreshAfterSeconds) {
+                this.refreshAfterSeconds = refreshAfterSeconds;
+            }
+        }
+
+        public static class Invalidation {
+
+            public enum Transport {
+                /**
+                 * Single instance, evictions are not broadcast.
+                 */
+                NONE,
+                /**
+                 * PostgreSQL {@code LISTEN}/{@code NOTIFY} on the application database.
+                 */
+                POSTGRES
+            }
+
+            /**
+             * How evictions are broadcast to the other instances.
+             */
+            private Transport transport = Transport.NONE;
+
+            /**
+             * Name of the channel the instances exchange evictions on.
+             */
+            private String channel = "cache_invalidation";
+
+            /**
+             * Delay before reconnecting a lost transport.
+             */
+            private long reconnectDelayMs = 5000;
+
+            public Transport getTransport() {
+                return transport;
+            }
+
+            public void setTransport(Transport transport) {
+                this.transport = transport;
+            }
+
+            public String getChannel() {
+                return channel;
+            }
+
+            public void setChannel(String channel) {
+                this.channel = channel;
+            }
+
+            public long getReconnectDelayMs() {
+                return reconnectDelayMs;
+            }
+
+            public void setReconnectDelayMs(long reconnectDelayMs) {
+                this.reconnectDelayMs = reconnectDelayMs;
+            }
+        }
+
+        public static class Region {
+
+            /**
+             * Number of entries kept on the Java heap, defaults to {@code jhipster.cache.ehcache.max-entries}.
+             */
+            private Long heapEntries;
+
+            /**
+             * Size in megabytes of the off-heap tier, 0 for none. Entries in this tier are serialized outside the Java heap.
+             */
+            private long offHeapMb;
+
+            /**
+             * Size in megabytes of the disk tier, 0 for none. Must be larger than {@code off-heap-mb}.
+             */
+            private long diskMb;
+
+            /**
+             * Time to live of the entries, defaults to {@code jhipster.cache.ehcache.time-to-live-seconds}.
+             */
+            private Long timeToLiveSeconds;
+
+            /**
+             * Time to idle of the entries. When set, it replaces the time to live.
+             */
+            private Long timeToIdleSeconds;
+
+            public Long getHeapEntries() {
+                return heapEntries;
+            }
+
+            public void setHeapEntries(Long heapEntries) {
+                this.heapEntries = heapEntries;
+            }
+
+            public long getOffHeapMb() {
+                return offHeapMb;
+            }
+
+            public void setOffHeapMb(long offHeapMb) {
+                this.offHeapMb = offHeapMb;
+            }
+
+            public long getDiskMb() {
+                return diskMb;
+            }
+
+            public void setDiskMb(long diskMb) {
+                this.diskMb = diskMb;
+            }
+
+            public Long getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Long timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public Long getTimeToIdleSeconds() {
+                return timeToIdleSeconds;
+            }
+
+            public void setTimeToIdleSeconds(Long timeToIdleSeconds) {
+                this.timeToIdleSeconds = timeToIdleSeconds;
+            }
+        }
+    }
+
+    public static class Jwt {
+
+        /**
+         * Maximum number of verified tokens whose authentication is kept in memory, 0 to verify every token on every request.
+         */
+        private int cacheMaxEntries = 10000;
+
+        /**
+         * Algorithm used to sign the tokens. With the asymmetric ones, each instance signs with its own key pair and publishes
+         * the public keys at {@code /management/jwks}; with HS512 the {@code jhipster.security.authentication.jwt} secret is used.
+         */
+        private Algorithm algorithm = Algorithm.HS512;
+
+        /**
+         * Seconds after which an instance replaces its signing key pair. Previous public keys keep verifying the tokens they
+         * signed until these expire.
+         */
+        private long keyRotationSeconds = 86400;
+
+        /**
+         * Milliseconds between two reloads of the public keys published by the other instances.
+         */
+        private long keyRefreshMs = 60000;
+
+        /**
+         * Minimum milliseconds between two reloads of the public keys for a token with an unknown key id, the other tokens
+         * with an unknown key id are rejected meanwhile without querying the database.
+         */
+        private long unknownKeyReloadMs = 5000;
+
+        /**
+         * Milliseconds between two loads of the token revocations made by the other instances.
+         */
+        private long revocationRefreshMs = 5000;
+
+        public int getCacheMaxEntries() {
+            return cacheMaxEntries;
+        }
+
+        public void setCacheMaxEntries(int cacheMaxEntries) {
+            this.cacheMaxEntries = cacheMaxEntries;
+        }
+
+        public Algorithm getAlgorithm() {
+            return algorithm;
+        }
+
+        public void setAlgorithm(Algorithm algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        public long getKeyRotationSeconds() {
+            return keyRotationSeconds;
+        }
+
+        public void setKeyRotationSeconds(long keyRotationSeconds) {
+            this.keyRotationSeconds = keyRotationSeconds;
+        }
+
+        public long getKeyRefreshMs() {
+            return keyRefreshMs;
+        }
+
+        public void setKeyRefreshMs(long keyRefreshMs) {
+            this.keyRefreshMs = keyRefreshMs;
+        }
+
+        public long getUnknownKeyReloadMs() {
+            return unknownKeyReloadMs;
+        }
+
+        public void setUnknownKeyReloadMs(long unknownKeyReloadMs) {
+            this.unknownKeyReloadMs = unknownKeyReloadMs;
+        }
+
+        public long getRevocationRefreshMs() {
+            return revocationRefreshMs;
+        }
+
+        public void setRevocationRefreshMs(long revocationRefreshMs) {
+            this.revocationRefreshMs = revocationRefreshMs;
+        }
+
+        public enum Algorithm {
+            /**
+             * HMAC with SHA-512, using the secret shared by all the instances.
+             */
+            HS512,
+            /**
+             * ECDSA on the P-256 curve with SHA-256, small signatures and fast signing.
+             */
+            ES256,
+            /**
+             * RSA PKCS#1 v1.5 with SHA-256 and 2048 bit keys, for verifiers without ECDSA support.
+             */
+            RS256,
+        }
+    }
+
+    public static class PasswordHashing {
+
+        /**
+         * Wanted duration of a BCrypt hash, from which the cost is calibrated at startup; 0 to use {@code min-cost}.
+         */
+        private long targetMs = 0;
+
+        /**
+         * Lowest BCrypt cost, also used when the calibration is disabled. Stored hashes with a lower cost are rehashed on login.
+         */
+        private int minCost = 10;
+
+        /**
+         * Highest BCrypt cost the calibration can pick.
+         */
+        private int maxCost = 14;
+
+        /**
+         * Number of threads hashing passwords, 0 for the number of available processors.
+         */
+        private int threads = 0;
+
+        /**
+         * Number of hashes which can wait for a thread; beyond that, requests needing a hash are answered 429. 0 to derive it
+         * from the Undertow worker threads, so that at most half of them wait for a hash.
+         */
+        private int queueCapacity = 0;
+
+        public long getTargetMs() {
+            return targetMs;
+        }
+
+        public void setTargetMs(long targetMs) {
+            this.targetMs = targetMs;
+        }
+
+        public int getMinCost() {
+            return minCost;
+        }
+
+        public void setMinCost(int minCost) {
+            this.minCost = minCost;
+        }
+
+        public int getMaxCost() {
+            return maxCost;
+        }
+
+        public void setMaxCost(int maxCost) {
+            this.maxCost = maxCost;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    public static class LoginThrottle {
+
+        /**
+         * Whether logins are rejected, before the password is verified, after too many recent failures.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Length of the sliding window in which the failures are counted.
+         */
+        private long windowSeconds = 300;
+
+        /**
+         * Number of slots the window is divided into; the window slides by one slot at a time.
+         */
+        private int slots = 10;
+
+        /**
+         * Failures of a login within the window after which its logins are rejected.
+         */
+        private int maxFailuresPerLogin = 10;
+
+        /**
+         * Failures from a client IP within the window after which its logins are rejected.
+         */
+        private int maxFailuresPerIp = 100;
+
+        /**
+         * Maximum number of logins and IPs tracked in memory; beyond that new keys are not throttled until stale ones expire.
+         */
+        private int maxTrackedKeys = 100000;
+
+        /**
+         * Whether the failures are also counted in the {@code jhi_login_attempt} table of the PostgreSQL database, so that all
+         * the instances share them.
+         */
+        private boolean shared = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getWindowSeconds() {
+            return windowSeconds;
+        }
+
+        public void setWindowSeconds(long windowSeconds) {
+            this.windowSeconds = windowSeconds;
+        }
+
+        public int getSlots() {
+            return slots;
+        }
+
+        public void setSlots(int slots) {
+            this.slots = slots;
+        }
+
+        public int getMaxFailuresPerLogin() {
+            return maxFailuresPerLogin;
+        }
+
+        public void setMaxFailuresPerLogin(int maxFailuresPerLogin) {
+            this.maxFailuresPerLogin = maxFailuresPerLogin;
+        }
+
+        public int getMaxFailuresPerIp() {
+            return maxFailuresPerIp;
+        }
+
+        public void setMaxFailuresPerIp(int maxFailuresPerIp) {
+            this.maxFailuresPerIp = maxFailuresPerIp;
+        }
+
+        public int getMaxTrackedKeys() {
+            return maxTrackedKeys;
+        }
+
+        public void setMaxTrackedKeys(int maxTrackedKeys) {
+            this.maxTrackedKeys = maxTrackedKeys;
+        }
+
+        public boolean isShared() {
+            return shared;
+        }
+
+        public void setShared(boolean shared) {
+            this.shared = shared;
+        }
+    }
+
+    public static class RefreshToken {
+
+        /**
+         * Lifetime of a session opened without remember-me. Refreshing rotates the token but keeps its expiry.
+         */
+        private long validitySeconds = 86400;
+
+        /**
+         * Lifetime of a session opened with remember-me.
+         */
+        private long rememberMeValiditySeconds = 2592000;
+
+        public long getValiditySeconds() {
+            return validitySeconds;
+        }
+
+        public void setValiditySeconds(long validitySeconds) {
+            this.validitySeconds = validitySeconds;
+        }
+
+        public long getRememberMeValiditySeconds() {
+            return rememberMeValiditySeconds;
+        }
+
+        public void setRememberMeValiditySeconds(long rememberMeValiditySeconds) {
+            this.rememberMeValiditySeconds = rememberMeValiditySeconds;
+        }
+    }
+
+    public static class MethodMetrics {
+
+        /**
+         * Whether the service and repository methods are timed.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of series published by the method timers, each with its statistics and the median, 95th and 99th
+         * percentiles of the instance; the executions of the methods, outcomes and cache lookups without a timer yet are then
+         * timed together.
+         */
+        private int maxSeries = 10000;
+
+        /**
+         * Whether the timers publish a histogram, for percentiles aggregated across the instances, such as in Prometheus. Each
+         * timer then publishes about 70 more series.
+         */
+        private boolean percentileHistogram = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxSeries() {
+            return maxSeries;
+        }
+
+        public void setMaxSeries(int maxSeries) {
+            this.maxSeries = maxSeries;
+        }
+
+        public boolean isPercentileHistogram() {
+            return percentileHistogram;
+        }
+
+        public void setPercentileHistogram(boolean percentileHistogram) {
+            this.percentileHistogram = percentileHistogram;
+        }
+    }
+
+    public static class MailOutbox {
+
+        /**
+         * Milliseconds between two drains of the outbox.
+         */
+        private long pollMs = 5000;
+
+        /**
+         * Number of emails sent over a single SMTP connection, in a single transaction.
+         */
+        private int batchSize = 50;
+
+        /**
+         * Number of attempts after which an email is abandoned, and kept in the outbox for inspection.
+         */
+        private int maxAttempts = 8;
+
+        /**
+         * Delay before the first retry of an email, doubled after each failed attempt.
+         */
+        private long retryDelaySeconds = 30;
+
+        /**
+         * Maximum delay between two attempts of an email.
+         */
+        private long maxRetryDelaySeconds = 3600;
+
+        public long getPollMs() {
+            return pollMs;
+        }
+
+        public void setPollMs(long pollMs) {
+            this.pollMs = pollMs;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public long getRetryDelaySeconds() {
+            return retryDelaySeconds;
+        }
+
+        public void setRetryDelaySeconds(long retryDelaySeconds) {
+            this.retryDelaySeconds = retryDelaySeconds;
+        }
+
+        public long getMaxRetryDelaySeconds() {
+            return maxRetryDelaySeconds;
+        }
+
+        public void setMaxRetryDelaySeconds(long maxRetryDelaySeconds) {
+            this.maxRetryDelaySeconds = maxRetryDelaySeconds;
+        }
+    }
+
+    public static class UserPurge {
+
+        /**
+         * Days after which the users who did not activate their account are deleted.
+         */
+        private int notActivatedRetentionDays = 3;
+
+        /**
+         * Number of users deleted in a single transaction.
+         */
+        private int batchSize = 500;
+
+        public int getNotActivatedRetentionDays() {
+            return notActivatedRetentionDays;
+        }
+
+        public void setNotActivatedRetentionDays(int notActivatedRetentionDays) {
+            this.notActivatedRetentionDays = notActivatedRetentionDays;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    public static class ScheduledJobs {
+
+        /**
+         * Minimum duration of the lease of a job, so that the instances whose clock is late, or whose scheduler fires late, do
+         * not run the job again once it is done.
+         */
+        private long minLeaseSeconds = 60;
+
+        /**
+         * Days after which the history of the job executions is deleted.
+         */
+        private int historyRetentionDays = 30;
+
+        /**
+         * Number of executions served by {@code /management/scheduledjobs}.
+         */
+        private int historySize = 100;
+
+        public long getMinLeaseSeconds() {
+            return minLeaseSeconds;
+        }
+
+        public void setMinLeaseSeconds(long minLeaseSeconds) {
+            this.minLeaseSeconds = minLeaseSeconds;
+        }
+
+        public int getHistoryRetentionDays() {
+            return historyRetentionDays;
+        }
+
+        public void setHistoryRetentionDays(int historyRetentionDays) {
+            this.historyRetentionDays = historyRetentionDays;
+        }
+
+        public int getHistorySize() {
+            return historySize;
+        }
+
+        public void setHistorySize(int historySize) {
+            this.historySize = historySize;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
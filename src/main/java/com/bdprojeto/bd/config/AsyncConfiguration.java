@@ -1,6 +1,8 @@
 package com.bdprojeto.bd.config;
 
+import java.util.Optional;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
@@ -9,6 +11,9 @@ import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -25,14 +30,28 @@ public class AsyncConfiguration implements AsyncConfigurer {
 
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final Environment env;
+
+    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties, Environment env) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.env = env;
     }
 
     @Override
     @Bean(name = "taskExecutor")
     public Executor getAsyncExecutor() {
         log.debug("Creating Async Task Executor");
+        if (env.acceptsProfiles(Profiles.of(Constants.SPRING_PROFILE_VIRTUAL_THREADS))) {
+            Optional<ThreadFactory> virtualThreadFactory = VirtualThreads.threadFactory(taskExecutionProperties.getThreadNamePrefix());
+            if (virtualThreadFactory.isPresent()) {
+                log.info("Running the async tasks on virtual threads");
+                // One new virtual thread per task, at most max-size of them running at once, like the threads of the pool
+                SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(virtualThreadFactory.get());
+                executor.setTaskDecorator(new ConcurrencyLimitTaskDecorator(taskExecutionProperties.getPool().getMaxSize()));
+                return new ExceptionHandlingAsyncTaskExecutor(executor);
+            }
+            log.warn("Virtual threads are not supported by this JVM, running the async tasks on platform threads");
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(taskExecutionProperties.getPool().getCoreSize());
         executor.setMaxPoolSize(taskExecutionProperties.getPool().getMaxSize());
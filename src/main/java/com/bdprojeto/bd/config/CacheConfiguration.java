@@ -1,11 +1,36 @@
 package com.bdprojeto.bd.config;
 
+import com.bdprojeto.bd.service.cache.CacheInvalidationBus;
+import com.bdprojeto.bd.service.cache.LocalCacheInvalidationBus;
+import com.bdprojeto.bd.service.cache.PostgresCacheInvalidationBus;
+import com.bdprojeto.bd.service.cache.SecondLevelCacheInvalidationListener;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.cache.Caching;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.impl.config.persistence.CacheManagerPersistenceConfiguration;
+import org.ehcache.impl.serialization.PlainJavaSerializer;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.boot.Metadata;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.info.BuildProperties;
 import org.springframework.boot.info.GitProperties;
@@ -19,12 +44,17 @@ import tech.jhipster.config.cache.PrefixedKeyGenerator;
 @EnableCaching
 public class CacheConfiguration {
 
+    private static final String DOMAIN_PREFIX = "com.bdprojeto.bd.domain.";
+
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
     private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final Map<String, javax.cache.configuration.Configuration<Object, Object>> regionConfigurations = new HashMap<>();
+    private final String diskPath;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
+        ApplicationProperties.Cache cache = applicationProperties.getCache();
 
         jcacheConfiguration =
             Eh107Configuration.fromEhcacheCacheConfiguration(
@@ -33,21 +63,131 @@ public class CacheConfiguration {
                     .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
                     .build()
             );
+        diskPath = cache.getDiskPath();
+        cache
+            .getRegions()
+            .forEach((name, region) -> regionConfigurations.put(name, regionConfiguration(name, region, ehcache, diskPath != null)));
     }
 
+    private static javax.cache.configuration.Configuration<Object, Object> regionConfiguration(
+        String name,
+        ApplicationProperties.Cache.Region region,
+        JHipsterProperties.Cache.Ehcache ehcache,
+        boolean diskAvailable
+    ) {
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.heap(
+            region.getHeapEntries() != null ? region.getHeapEntries() : ehcache.getMaxEntries()
+        );
+        if (region.getOffHeapMb() > 0) {
+            resourcePools = resourcePools.offheap(region.getOffHeapMb(), MemoryUnit.MB);
+        }
+        if (region.getDiskMb() > 0) {
+            if (!diskAvailable) {
+                throw new IllegalStateException("Cache region " + name + " has a disk tier but application.cache.disk-path is not set");
+            }
+            if (region.getDiskMb() <= region.getOffHeapMb()) {
+                throw new IllegalStateException("Cache region " + name + " must have a disk tier larger than its off-heap tier");
+            }
+            resourcePools = resourcePools.disk(region.getDiskMb(), MemoryUnit.MB, true);
+        }
+        ExpiryPolicy<Object, Object> expiry = region.getTimeToIdleSeconds() != null
+            ? ExpiryPolicyBuilder.timeToIdleExpiration(Duration.ofSeconds(region.getTimeToIdleSeconds()))
+            : ExpiryPolicyBuilder.timeToLiveExpiration(
+                Duration.ofSeconds(region.getTimeToLiveSeconds() != null ? region.getTimeToLiveSeconds() : ehcache.getTimeToLiveSeconds())
+            );
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder
+            .newCacheConfigurationBuilder(Object.class, Object.class, resourcePools)
+            .withExpiry(expiry);
+        if (region.getOffHeapMb() > 0 || region.getDiskMb() > 0) {
+            // Ehcache has no default serializer for Object, the Hibernate cache keys and entries are all Serializable
+            ClassLoader classLoader = CacheConfiguration.class.getClassLoader();
+            builder =
+                builder
+                    .withKeySerializer(new PlainJavaSerializer<Object>(classLoader))
+                    .withValueSerializer(new PlainJavaSerializer<Object>(classLoader));
+        }
+        return Eh107Configuration.fromEhcacheCacheConfiguration(builder.build());
+    }
+
+    /**
+     * The disk tier needs a persistence service in the Ehcache manager, which the JCache manager created by Spring Boot does
+     * not have. When a disk path is configured, the manager is created here instead and Spring Boot's one backs off.
+     */
     @Bean
-    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(javax.cache.CacheManager cacheManager) {
-        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    @ConditionalOnProperty(prefix = "application.cache", name = "disk-path")
+    public javax.cache.CacheManager jCacheCacheManager(JCacheManagerCustomizer cacheManagerCustomizer) {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        javax.cache.CacheManager cm = provider.getCacheManager(
+            provider.getDefaultURI(),
+            ConfigurationBuilder.newConfigurationBuilder().withService(new CacheManagerPersistenceConfiguration(new File(diskPath))).build()
+        );
+        cacheManagerCustomizer.customize(cm);
+        return cm;
+    }
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(
+        ApplicationProperties applicationProperties,
+        DataSourceProperties dataSourceProperties,
+        ObjectMapper objectMapper
+    ) {
+        ApplicationProperties.Cache.Invalidation invalidation = applicationProperties.getCache().getInvalidation();
+        if (invalidation.getTransport() == ApplicationProperties.Cache.Invalidation.Transport.POSTGRES) {
+            return new PostgresCacheInvalidationBus(
+                objectMapper,
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword(),
+                invalidation.getChannel(),
+                invalidation.getReconnectDelayMs()
+            );
+        }
+        return new LocalCacheInvalidationBus();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(
+        javax.cache.CacheManager cacheManager,
+        CacheInvalidationBus cacheInvalidationBus
+    ) {
+        SecondLevelCacheInvalidationListener listener = new SecondLevelCacheInvalidationListener(cacheInvalidationBus);
+        Integrator integrator = new Integrator() {
+            @Override
+            public void integrate(
+                Metadata metadata,
+                SessionFactoryImplementor sessionFactory,
+                SessionFactoryServiceRegistry serviceRegistry
+            ) {
+                EventListenerRegistry registry = serviceRegistry.getService(EventListenerRegistry.class);
+                registry.appendListeners(EventType.POST_UPDATE, listener);
+                registry.appendListeners(EventType.POST_DELETE, listener);
+                registry.appendListeners(EventType.POST_COLLECTION_UPDATE, listener);
+                registry.appendListeners(EventType.POST_COLLECTION_REMOVE, listener);
+                registry.appendListeners(EventType.POST_COLLECTION_RECREATE, listener);
+            }
+
+            @Override
+            public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+                // Nothing to release
+            }
+        };
+        return hibernateProperties -> {
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            hibernateProperties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(integrator));
+        };
     }
 
     @Bean
     public JCacheManagerCustomizer cacheManagerCustomizer() {
         return cm -> {
-            createCache(cm, com.bdprojeto.bd.repository.UserRepository.USERS_BY_LOGIN_CACHE);
             createCache(cm, com.bdprojeto.bd.repository.UserRepository.USERS_BY_EMAIL_CACHE);
             createCache(cm, com.bdprojeto.bd.domain.User.class.getName());
+            createCache(cm, com.bdprojeto.bd.domain.User.class.getName() + "##NaturalId");
             createCache(cm, com.bdprojeto.bd.domain.Authority.class.getName());
             createCache(cm, com.bdprojeto.bd.domain.User.class.getName() + ".authorities");
+            createCache(cm, com.bdprojeto.bd.domain.Usuario.class.getName());
+            createCache(cm, com.bdprojeto.bd.domain.Usuario.class.getName() + ".authorities");
+            createCache(cm, com.bdprojeto.bd.domain.Usuario.class.getName() + "##NaturalId");
             // jhipster-needle-ehcache-add-entry
         };
     }
@@ -57,8 +197,16 @@ public class CacheConfiguration {
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, jcacheConfiguration(cacheName));
+        }
+    }
+
+    private javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration(String cacheName) {
+        javax.cache.configuration.Configuration<Object, Object> configuration = regionConfigurations.get(cacheName);
+        if (configuration == null && cacheName.startsWith(DOMAIN_PREFIX)) {
+            configuration = regionConfigurations.get(cacheName.substring(DOMAIN_PREFIX.length()));
         }
+        return configuration != null ? configuration : jcacheConfiguration;
     }
 
     @Autowired(required = false)
@@ -0,0 +1,31 @@
+package com.bdprojeto.bd.config;
+
+import java.util.concurrent.Semaphore;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Limits the number of tasks running at once, the others wait for a permit on their own thread.
+ * <p>
+ * The permits are taken from a {@link Semaphore}, which parks a virtual thread without pinning its carrier, unlike the limit of
+ * {@link org.springframework.core.task.SimpleAsyncTaskExecutor}, which waits on a monitor.
+ */
+final class ConcurrencyLimitTaskDecorator implements TaskDecorator {
+
+    private final Semaphore permits;
+
+    ConcurrencyLimitTaskDecorator(int concurrencyLimit) {
+        this.permits = new Semaphore(concurrencyLimit);
+    }
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return () -> {
+            permits.acquireUninterruptibly();
+            try {
+                runnable.run();
+            } finally {
+                permits.release();
+            }
+        };
+    }
+}
@@ -11,5 +11,11 @@ public final class Constants {
     public static final String SYSTEM = "system";
     public static final String DEFAULT_LANGUAGE = "en";
 
+    // Profile installing the LoggingAspect outside "dev", to trace the executions at runtime
+    public static final String SPRING_PROFILE_TRACING = "tracing";
+
+    // Profile running the requests, the async tasks and the scheduled jobs on virtual threads, when the JVM supports them
+    public static final String SPRING_PROFILE_VIRTUAL_THREADS = "virtual-threads";
+
     private Constants() {}
 }
@@ -1,6 +1,7 @@
 package com.bdprojeto.bd.config;
 
 import com.bdprojeto.bd.aop.logging.LoggingAspect;
+import com.bdprojeto.bd.aop.logging.MethodTraceRecorder;
 import org.springframework.context.annotation.*;
 import org.springframework.core.env.Environment;
 import tech.jhipster.config.JHipsterConstants;
@@ -9,9 +10,16 @@ import tech.jhipster.config.JHipsterConstants;
 @EnableAspectJAutoProxy
 public class LoggingAspectConfiguration {
 
+    private static final int METHOD_TRACES_CAPACITY = 4096;
+
+    @Bean
+    public MethodTraceRecorder methodTraceRecorder() {
+        return new MethodTraceRecorder(METHOD_TRACES_CAPACITY);
+    }
+
     @Bean
-    @Profile(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT)
-    public LoggingAspect loggingAspect(Environment env) {
-        return new LoggingAspect(env);
+    @Profile({ JHipsterConstants.SPRING_PROFILE_DEVELOPMENT, Constants.SPRING_PROFILE_TRACING })
+    public LoggingAspect loggingAspect(Environment env, MethodTraceRecorder methodTraceRecorder) {
+        return new LoggingAspect(env, methodTraceRecorder);
     }
 }
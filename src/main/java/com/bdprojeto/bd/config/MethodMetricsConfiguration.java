@@ -0,0 +1,20 @@
+package com.bdprojeto.bd.config;
+
+import com.bdprojeto.bd.aop.metrics.MethodMetricsAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+@Configuration
+@EnableAspectJAutoProxy
+public class MethodMetricsConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.method-metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public MethodMetricsAspect methodMetricsAspect(MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        ApplicationProperties.MethodMetrics methodMetrics = applicationProperties.getMethodMetrics();
+        return new MethodMetricsAspect(meterRegistry, methodMetrics.getMaxSeries(), methodMetrics.isPercentileHistogram());
+    }
+}
@@ -0,0 +1,31 @@
+package com.bdprojeto.bd.config;
+
+import com.bdprojeto.bd.service.ScheduledJobService;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serves the leases and the latest executions of the jobs run by the {@link ScheduledJobService}, at
+ * {@code /management/scheduledjobs}.
+ */
+@Component
+@Endpoint(id = "scheduledjobs")
+public class ScheduledJobsEndpoint {
+
+    private final ScheduledJobService scheduledJobService;
+
+    public ScheduledJobsEndpoint(ScheduledJobService scheduledJobService) {
+        this.scheduledJobService = scheduledJobService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> scheduledJobs() {
+        Map<String, Object> scheduledJobs = new LinkedHashMap<>();
+        scheduledJobs.put("leases", scheduledJobService.findLeases());
+        scheduledJobs.put("executions", scheduledJobService.findRecentExecutions());
+        return scheduledJobs;
+    }
+}
@@ -2,6 +2,8 @@ package com.bdprojeto.bd.config;
 
 import com.bdprojeto.bd.security.*;
 import com.bdprojeto.bd.security.jwt.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpMethod;
@@ -9,7 +11,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -43,8 +44,31 @@ public class SecurityConfiguration {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+        ApplicationProperties applicationProperties,
+        ServerProperties serverProperties,
+        MeterRegistry meterRegistry
+    ) {
+        ApplicationProperties.PasswordHashing passwordHashing = applicationProperties.getPasswordHashing();
+        int cost = passwordHashing.getTargetMs() > 0
+            ? BoundedPasswordEncoder.calibrate(passwordHashing.getTargetMs(), passwordHashing.getMinCost(), passwordHashing.getMaxCost())
+            : passwordHashing.getMinCost();
+        int threads = passwordHashing.getThreads() > 0 ? passwordHashing.getThreads() : Runtime.getRuntime().availableProcessors();
+        int queueCapacity = passwordHashing.getQueueCapacity() > 0
+            ? passwordHashing.getQueueCapacity()
+            : passwordHashingQueueCapacity(serverProperties.getUndertow().getThreads(), threads);
+        return new BoundedPasswordEncoder(cost, threads, queueCapacity, meterRegistry);
+    }
+
+    /**
+     * The request threads block while their hash waits or runs, so at most half of the Undertow worker threads may hold a hash,
+     * leaving the other half to the requests which need none.
+     */
+    static int passwordHashingQueueCapacity(ServerProperties.Undertow.Threads undertowThreads, int hashingThreads) {
+        // Undertow's defaults, when the threads are not set
+        int ioThreads = undertowThreads.getIo() != null ? undertowThreads.getIo() : Math.max(Runtime.getRuntime().availableProcessors(), 2);
+        int workerThreads = undertowThreads.getWorker() != null ? undertowThreads.getWorker() : ioThreads * 8;
+        return Math.max(1, workerThreads / 2 - hashingThreads);
     }
 
     @Bean
@@ -80,6 +104,8 @@ public class SecurityConfiguration {
             .antMatchers("/test/**").permitAll()
             .antMatchers("/h2-console/**").permitAll()
             .antMatchers("/api/authenticate").permitAll()
+            .antMatchers("/api/authenticate/refresh").permitAll()
+            .antMatchers("/api/authenticate/revoke").permitAll()
             .antMatchers("/api/register").permitAll()
             .antMatchers("/api/activate").permitAll()
             .antMatchers("/api/account/reset-password/init").permitAll()
@@ -90,6 +116,7 @@ public class SecurityConfiguration {
             .antMatchers("/management/health/**").permitAll()
             .antMatchers("/management/info").permitAll()
             .antMatchers("/management/prometheus").permitAll()
+            .antMatchers("/management/jwks").permitAll()
             .antMatchers("/management/**").hasAuthority(AuthoritiesConstants.ADMIN)
         .and()
             .httpBasic()
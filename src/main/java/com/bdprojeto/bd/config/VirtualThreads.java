@@ -0,0 +1,31 @@
+package com.bdprojeto.bd.config;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates virtual threads when the JVM supports them, Java 21 or later.
+ * <p>
+ * The application is compiled for Java 11, so the {@code Thread.ofVirtual()} builder is called through reflection.
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {}
+
+    /**
+     * @param namePrefix the prefix of the thread names, followed by a counter.
+     * @return a factory of virtual threads, or empty if the JVM has none.
+     */
+    static Optional<ThreadFactory> threadFactory(String namePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Method name = builderClass.getMethod("name", String.class, long.class);
+            builder = name.invoke(builder, namePrefix, 0L);
+            return Optional.of((ThreadFactory) builderClass.getMethod("factory").invoke(builder));
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return Optional.empty();
+        }
+    }
+}
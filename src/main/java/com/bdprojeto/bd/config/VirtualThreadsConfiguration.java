@@ -0,0 +1,62 @@
+package com.bdprojeto.bd.config;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.task.TaskSchedulingProperties;
+import org.springframework.boot.task.TaskSchedulerCustomizer;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Runs the servlet requests and the scheduled jobs on virtual threads, with the "virtual-threads" profile.
+ * <p>
+ * On a JVM without virtual threads, older than Java 21, the platform threads are kept. The async tasks are switched by the
+ * {@link AsyncConfiguration}.
+ */
+@Configuration
+@Profile(Constants.SPRING_PROFILE_VIRTUAL_THREADS)
+public class VirtualThreadsConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(VirtualThreadsConfiguration.class);
+
+    /**
+     * Dispatches each request to a new virtual thread, instead of the Undertow worker pool, the IO threads still parsing the
+     * requests.
+     */
+    @Bean
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> virtualThreadsUndertowCustomizer() {
+        return factory -> {
+            Optional<ThreadFactory> virtualThreadFactory = VirtualThreads.threadFactory("bd-projeto-request-");
+            if (virtualThreadFactory.isEmpty()) {
+                log.warn("Virtual threads are not supported by this JVM, handling the requests on platform threads");
+                return;
+            }
+            log.info("Handling the requests on virtual threads");
+            Executor executor = command -> virtualThreadFactory.get().newThread(command).start();
+            factory.addDeploymentInfoCustomizers(deploymentInfo -> deploymentInfo.setExecutor(executor).setAsyncExecutor(executor));
+        };
+    }
+
+    /**
+     * Runs the scheduled jobs on virtual threads, so that a job waiting on the database or the mail server does not hold a
+     * platform thread; the pool size still bounds the jobs running at the same time.
+     */
+    @Bean
+    public TaskSchedulerCustomizer virtualThreadsTaskSchedulerCustomizer(TaskSchedulingProperties taskSchedulingProperties) {
+        return taskScheduler -> {
+            Optional<ThreadFactory> virtualThreadFactory = VirtualThreads.threadFactory(taskSchedulingProperties.getThreadNamePrefix());
+            if (virtualThreadFactory.isEmpty()) {
+                log.warn("Virtual threads are not supported by this JVM, running the scheduled jobs on platform threads");
+                return;
+            }
+            log.info("Running the scheduled jobs on virtual threads");
+            taskScheduler.setThreadFactory(virtualThreadFactory.get());
+        };
+    }
+}
@@ -0,0 +1,119 @@
+package com.bdprojeto.bd.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+/**
+ * The public key of a key pair used to sign the JWT tokens, published so that any instance can verify the tokens signed
+ * by the others. The private key never leaves the instance that generated it.
+ */
+@Entity
+@Table(name = "jhi_jwt_verification_key")
+public class JwtVerificationKey implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @NotNull
+    @Size(max = 64)
+    @Id
+    @Column(length = 64)
+    private String kid;
+
+    @NotNull
+    @Size(max = 10)
+    @Column(name = "algorithm", length = 10, nullable = false)
+    private String algorithm;
+
+    /**
+     * The X.509 encoding of the public key, in Base64.
+     */
+    @NotNull
+    @Size(max = 2048)
+    @Column(name = "public_key", length = 2048, nullable = false)
+    private String publicKey;
+
+    @NotNull
+    @Column(name = "created_date", nullable = false)
+    private Instant createdDate;
+
+    /**
+     * Date after which no token signed with this key can still be valid.
+     */
+    @NotNull
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    public String getKid() {
+        return kid;
+    }
+
+    public void setKid(String kid) {
+        this.kid = kid;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public String getPublicKey() {
+        return publicKey;
+    }
+
+    public void setPublicKey(String publicKey) {
+        this.publicKey = publicKey;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof JwtVerificationKey)) {
+            return false;
+        }
+        return Objects.equals(kid, ((JwtVerificationKey) o).kid);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(kid);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "JwtVerificationKey{" +
+            "kid='" + kid + '\'' +
+            ", algorithm='" + algorithm + '\'' +
+            ", createdDate=" + createdDate +
+            ", expiresAt=" + expiresAt +
+            "}";
+    }
+}
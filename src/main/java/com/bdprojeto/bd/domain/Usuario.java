@@ -7,12 +7,16 @@ import java.sql.Date;
 import java.util.HashSet;
 import java.util.Set;
 import javax.persistence.*;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Size;
 import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 /**
  * A usuario.
@@ -20,25 +24,27 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "jhi_usuario")
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
+@NaturalIdCache
 public class Usuario extends AbstractAuditingEntity<Long> implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GenericGenerator(name = "sequenceGenerator", strategy = "com.bdprojeto.bd.repository.sequence.PooledLoSequenceGenerator")
     private Long id;
 
-    @Size(min = 1, max = 50)
-    @Column(length = 50, unique = true, nullable = false)
+    @NaturalId
+    @NotNull
+    @Max(99999999999L)
+    @Column(unique = true, nullable = false)
     private Long cpf;
 
     @Size(max = 50)
     @Column(length = 50)
     private String nome;
 
-    @Size(max = 50)
-    @Column(name = "data_nascimento", length = 50)
+    @Column(name = "data_nascimento")
     private Date dataNascimento;
 
     @JsonIgnore
@@ -63,7 +69,8 @@ public class Usuario extends AbstractAuditingEntity<Long> implements Serializabl
     public Long getCpf() {
         return cpf;
     }
-    public void setLogin(Long cpf) {
+
+    public void setCpf(Long cpf) {
         this.cpf = cpf;
     }
 
@@ -0,0 +1,35 @@
+package com.bdprojeto.bd.management;
+
+import com.bdprojeto.bd.aop.logging.LoggingAspect;
+import com.bdprojeto.bd.aop.logging.MethodTraceRecorder;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serves the latest method executions traced by the {@link LoggingAspect}, at {@code /management/methodtraces}.
+ * <p>
+ * Tracing is enabled at runtime by setting the {@value LoggingAspect#TRACING_LOGGER_NAME} logger to TRACE through
+ * {@code /management/loggers}, with the "dev" or "tracing" profile.
+ */
+@Component
+@Endpoint(id = "methodtraces")
+public class MethodTracesEndpoint {
+
+    private final MethodTraceRecorder methodTraceRecorder;
+
+    public MethodTracesEndpoint(MethodTraceRecorder methodTraceRecorder) {
+        this.methodTraceRecorder = methodTraceRecorder;
+    }
+
+    @ReadOperation
+    public Map<String, Object> methodTraces() {
+        Map<String, Object> methodTraces = new LinkedHashMap<>();
+        methodTraces.put("enabled", LoggerFactory.getLogger(LoggingAspect.TRACING_LOGGER_NAME).isTraceEnabled());
+        methodTraces.put("traces", methodTraceRecorder.recent());
+        return methodTraces;
+    }
+}
@@ -0,0 +1,62 @@
+package com.bdprojeto.bd.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight gate for the loads of a cache.
+ * <p>
+ * Among concurrent misses for the same key, only the first one runs its load. The others wait for it to finish, then run their
+ * own load, which finds the value the first one cached. A popular entry that expires or is evicted then costs one query
+ * instead of one per waiting request.
+ * <p>
+ * Counts the loads in {@code cache.loads} and the waiting misses in {@code cache.loads.coalesced}, tagged with the cache name.
+ */
+public final class CoalescingLoader {
+
+    private final ConcurrentMap<Object, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter loads;
+
+    private final Counter coalescedLoads;
+
+    public CoalescingLoader(String cacheName, MeterRegistry meterRegistry) {
+        this.loads =
+            Counter.builder("cache.loads").description("Cache misses that ran a load").tag("cache", cacheName).register(meterRegistry);
+        this.coalescedLoads =
+            Counter
+                .builder("cache.loads.coalesced")
+                .description("Cache misses that waited for a concurrent load of the same key")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs a load, unless one is already running for the key, in which case waits for it first.
+     *
+     * @param key the key being loaded.
+     * @param loader the load, it must read the cache before querying the database.
+     * @param <T> the type of the loaded value.
+     * @return the loaded value.
+     */
+    public <T> T load(Object key, Supplier<T> loader) {
+        CompletableFuture<Void> ours = new CompletableFuture<>();
+        CompletableFuture<Void> running = inFlight.putIfAbsent(key, ours);
+        if (running != null) {
+            coalescedLoads.increment();
+            running.join();
+            return loader.get();
+        }
+        loads.increment();
+        try {
+            return loader.get();
+        } finally {
+            inFlight.remove(key, ours);
+            ours.complete(null);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.bdprojeto.bd.repository;
+
+import com.bdprojeto.bd.domain.JwtVerificationKey;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Spring Data JPA repository for the {@link JwtVerificationKey} entity.
+ */
+public interface JwtVerificationKeyRepository extends JpaRepository<JwtVerificationKey, String> {
+    List<JwtVerificationKey> findAllByExpiresAtAfter(Instant instant);
+
+    @Modifying
+    @Transactional
+    @Query("delete from JwtVerificationKey verificationKey where verificationKey.expiresAt < :instant")
+    int deleteAllExpiredBefore(@Param("instant") Instant instant);
+}
@@ -0,0 +1,122 @@
+package com.bdprojeto.bd.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Objects;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Position of a keyset (seek) pagination traversal: the sort property and direction, plus the
+ * {@code (sortKey, id)} pair of the last row that was returned.
+ * <p>
+ * It is exchanged with clients as an opaque, URL-safe token, see {@link #encode()} and {@link #decode(String, Map)}.
+ */
+public final class KeysetCursor {
+
+    private static final String SEPARATOR = ",";
+
+    private final String property;
+
+    private final Sort.Direction direction;
+
+    private final Long id;
+
+    private final Object value;
+
+    public KeysetCursor(String property, Sort.Direction direction, Long id, Object value) {
+        this.property = Objects.requireNonNull(property);
+        this.direction = Objects.requireNonNull(direction);
+        this.id = Objects.requireNonNull(id);
+        this.value = value;
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     * <p>
+     * The sort key is converted back to the Java type of its attribute here, so that a forged token is rejected
+     * before any query is built.
+     *
+     * @param token the opaque token sent by the client.
+     * @param properties the Java type of each property a traversal may be sorted on.
+     * @return the decoded cursor.
+     * @throws IllegalArgumentException if the token is not a valid cursor.
+     */
+    public static KeysetCursor decode(String token, Map<String, Class<?>> properties) {
+        String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        String[] parts = decoded.split(SEPARATOR, 4);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+        Class<?> type = properties.get(parts[0]);
+        if (type == null) {
+            throw new IllegalArgumentException("Invalid cursor property: " + parts[0]);
+        }
+        try {
+            return new KeysetCursor(parts[0], Sort.Direction.fromString(parts[1]), Long.valueOf(parts[2]), parseValue(parts[3], type));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor value: " + parts[3], e);
+        }
+    }
+
+    private static Object parseValue(String value, Class<?> type) {
+        if (String.class.equals(type)) {
+            return value;
+        } else if (value.isEmpty()) {
+            return null;
+        } else if (Long.class.equals(type) || long.class.equals(type)) {
+            return Long.valueOf(value);
+        } else if (Integer.class.equals(type) || int.class.equals(type)) {
+            return Integer.valueOf(value);
+        } else if (Instant.class.equals(type)) {
+            return Instant.parse(value);
+        } else if (LocalDate.class.equals(type)) {
+            return LocalDate.parse(value);
+        } else if (java.sql.Date.class.equals(type)) {
+            return java.sql.Date.valueOf(value);
+        }
+        throw new IllegalArgumentException("Unsupported keyset type: " + type.getName());
+    }
+
+    public String encode() {
+        String raw = property + SEPARATOR + direction.name() + SEPARATOR + id + SEPARATOR + (value == null ? "" : value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public Sort.Order getOrder() {
+        return new Sort.Order(direction, property);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @return the sort key of the last returned row, of the Java type of the sorted attribute.
+     */
+    public Object getValue() {
+        return value;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "KeysetCursor{" +
+            "property='" + property + '\'' +
+            ", direction=" + direction +
+            ", id=" + id +
+            ", value='" + value + '\'' +
+            "}";
+    }
+}
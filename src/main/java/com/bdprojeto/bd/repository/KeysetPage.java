@@ -0,0 +1,41 @@
+package com.bdprojeto.bd.repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A slice of rows returned by a keyset (seek) query, with the cursor to resume from if more rows are available.
+ * <p>
+ * Unlike {@link org.springframework.data.domain.Page}, it carries no total count, so no count query is needed to build it.
+ *
+ * @param <T> the type of the rows.
+ */
+public final class KeysetPage<T> {
+
+    private final List<T> content;
+
+    private final KeysetCursor next;
+
+    public KeysetPage(List<T> content, KeysetCursor next) {
+        this.content = content;
+        this.next = next;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public Optional<KeysetCursor> getNext() {
+        return Optional.ofNullable(next);
+    }
+
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    public <U> KeysetPage<U> map(Function<? super T, ? extends U> converter) {
+        return new KeysetPage<>(content.stream().map(converter).collect(Collectors.toList()), next);
+    }
+}
@@ -0,0 +1,79 @@
+package com.bdprojeto.bd.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.*;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Builds keyset (seek) queries shared by the repository fragments.
+ * <p>
+ * Rows are ordered by {@code (sortKey, id)} and the next slice starts strictly after the last returned pair,
+ * so the database can seek on the index instead of scanning and discarding {@code OFFSET} rows.
+ */
+final class KeysetQueries {
+
+    private static final String ID = "id";
+
+    private KeysetQueries() {}
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    static <T> KeysetPage<T> findAll(
+        EntityManager entityManager,
+        Class<T> domainClass,
+        Specification<T> specification,
+        Sort.Order order,
+        KeysetCursor after,
+        int size
+    ) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(domainClass);
+        Root<T> root = query.from(domainClass);
+        boolean ascending = order.isAscending();
+        boolean byId = ID.equals(order.getProperty());
+        Path<Comparable> key = root.get(order.getProperty());
+        Path<Comparable> id = root.get(ID);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        if (after != null) {
+            Predicate afterId = ascending ? cb.greaterThan(id, after.getId()) : cb.lessThan(id, after.getId());
+            if (byId) {
+                predicates.add(afterId);
+            } else {
+                Comparable value = (Comparable) after.getValue();
+                Predicate afterKey = ascending ? cb.greaterThan(key, value) : cb.lessThan(key, value);
+                predicates.add(cb.or(afterKey, cb.and(cb.equal(key, value), afterId)));
+            }
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        if (byId) {
+            query.orderBy(ascending ? cb.asc(id) : cb.desc(id));
+        } else {
+            query.orderBy(ascending ? cb.asc(key) : cb.desc(key), ascending ? cb.asc(id) : cb.desc(id));
+        }
+
+        // Fetch one extra row to know whether there is a next slice, instead of running a count query
+        List<T> rows = entityManager.createQuery(query).setMaxResults(size + 1).getResultList();
+        if (rows.size() <= size) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> content = rows.subList(0, size);
+        BeanWrapperImpl last = new BeanWrapperImpl(content.get(size - 1));
+        KeysetCursor next = new KeysetCursor(
+            order.getProperty(),
+            order.getDirection(),
+            (Long) last.getPropertyValue(ID),
+            last.getPropertyValue(order.getProperty())
+        );
+        return new KeysetPage<>(new ArrayList<>(content), next);
+    }
+}
@@ -0,0 +1,66 @@
+package com.bdprojeto.bd.repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Failed login attempts shared by all the instances, counted per key and per slot of time in the {@code jhi_login_attempt}
+ * table.
+ * <p>
+ * The upsert uses {@code insert ... on conflict}, so this is only available on PostgreSQL.
+ */
+@Repository
+public class LoginAttemptRepository {
+
+    private static final String RECORD_FAILURE_SQL =
+        "insert into jhi_login_attempt (attempt_key, slot, failures) values (:key, :slot, 1) " +
+        "on conflict (attempt_key, slot) do update set failures = jhi_login_attempt.failures + 1";
+
+    private static final String COUNT_FAILURES_SQL =
+        "select attempt_key, sum(failures) from jhi_login_attempt where attempt_key in (:keys) and slot >= :fromSlot " +
+        "group by attempt_key";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public LoginAttemptRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void recordFailure(Collection<String> keys, long slot) {
+        MapSqlParameterSource[] parameters = keys
+            .stream()
+            .map(key -> new MapSqlParameterSource().addValue("key", key).addValue("slot", slot))
+            .toArray(MapSqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(RECORD_FAILURE_SQL, parameters);
+    }
+
+    /**
+     * @return the failures of each key since {@code fromSlot}, keys without failures are absent.
+     */
+    public Map<String, Long> countFailures(Collection<String> keys, long fromSlot) {
+        if (keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Long> failures = new HashMap<>();
+        jdbcTemplate.query(
+            COUNT_FAILURES_SQL,
+            new MapSqlParameterSource().addValue("keys", keys).addValue("fromSlot", fromSlot),
+            (RowCallbackHandler) resultSet -> failures.put(resultSet.getString(1), resultSet.getLong(2))
+        );
+        return failures;
+    }
+
+    public void clear(String key) {
+        jdbcTemplate.update("delete from jhi_login_attempt where attempt_key = :key", new MapSqlParameterSource("key", key));
+    }
+
+    public int deleteAllBefore(long slot) {
+        return jdbcTemplate.update("delete from jhi_login_attempt where slot < :slot", new MapSqlParameterSource("slot", slot));
+    }
+}
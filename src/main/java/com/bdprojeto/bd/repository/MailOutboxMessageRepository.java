@@ -0,0 +1,36 @@
+package com.bdprojeto.bd.repository;
+
+import com.bdprojeto.bd.domain.MailOutboxMessage;
+import java.time.Instant;
+import java.util.List;
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link MailOutboxMessage} entity.
+ */
+@Repository
+public interface MailOutboxMessageRepository extends JpaRepository<MailOutboxMessage, Long> {
+    /**
+     * Locks the messages due for an attempt until the end of the transaction, skipping those already locked by another
+     * instance ({@code for update skip locked}), so that each message is sent by a single instance.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query(
+        "select message from MailOutboxMessage message" +
+        " where message.nextAttemptAt <= :now and message.attempts < :maxAttempts order by message.nextAttemptAt"
+    )
+    List<MailOutboxMessage> findAllDueForUpdate(@Param("now") Instant now, @Param("maxAttempts") int maxAttempts, Pageable pageable);
+
+    long countByAttemptsLessThan(int maxAttempts);
+
+    long countByAttemptsGreaterThanEqual(int maxAttempts);
+}
@@ -0,0 +1,38 @@
+package com.bdprojeto.bd.repository;
+
+import com.bdprojeto.bd.aop.metrics.CacheLookups;
+import java.io.Serializable;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Reads of the Hibernate second-level cache that do not fall back to the database.
+ */
+final class NaturalIdCaches {
+
+    private NaturalIdCaches() {}
+
+    /**
+     * Resolves a simple natural id from the natural-id cache region of an entity.
+     *
+     * @return the id of the entity if both its natural id and itself are cached, {@code null} otherwise.
+     */
+    static Serializable cachedId(SessionImplementor session, Class<?> entityClass, Object naturalId) {
+        EntityPersister persister = session.getFactory().getMetamodel().entityPersister(entityClass);
+        NaturalIdDataAccess naturalIdAccess = persister.getNaturalIdCacheAccessStrategy();
+        if (naturalIdAccess == null) {
+            return null;
+        }
+        Serializable id = (Serializable) naturalIdAccess.get(
+            session,
+            naturalIdAccess.generateCacheKey(new Object[] { naturalId }, persister, session)
+        );
+        if (id == null || !session.getFactory().getCache().containsEntity(entityClass, id)) {
+            CacheLookups.miss();
+            return null;
+        }
+        CacheLookups.hit();
+        return id;
+    }
+}
@@ -0,0 +1,42 @@
+package com.bdprojeto.bd.repository;
+
+import com.bdprojeto.bd.domain.RefreshToken;
+import com.bdprojeto.bd.domain.User;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link RefreshToken} entity.
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    @EntityGraph(attributePaths = { "user", "user.authorities" })
+    Optional<RefreshToken> findOneWithUserByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("update RefreshToken token set token.revokedDate = :now where token.id = :id and token.revokedDate is null")
+    int revoke(@Param("id") Long id, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update RefreshToken token set token.revokedDate = :now where token.user = :user and token.revokedDate is null")
+    int revokeAllByUser(@Param("user") User user, @Param("now") Instant now);
+
+    @Modifying
+    @Query("delete from RefreshToken token where token.user = :user")
+    int deleteAllByUser(@Param("user") User user);
+
+    @Modifying
+    @Query("delete from RefreshToken token where token.user.id in :userIds")
+    int deleteAllByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query("delete from RefreshToken token where token.expiresAt < :now")
+    int deleteAllExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,25 @@
+package com.bdprojeto.bd.repository;
+
+import com.bdprojeto.bd.domain.ScheduledJobExecution;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Spring Data JPA repository for the {@link ScheduledJobExecution} entity.
+ */
+@Repository
+public interface ScheduledJobExecutionRepository extends JpaRepository<ScheduledJobExecution, Long> {
+    List<ScheduledJobExecution> findAllByOrderByStartedAtDesc(Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("delete from ScheduledJobExecution execution where execution.startedAt < :instant")
+    int deleteAllStartedBefore(@Param("instant") Instant instant);
+}
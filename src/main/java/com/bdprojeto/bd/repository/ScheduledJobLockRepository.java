@@ -0,0 +1,42 @@
+package com.bdprojeto.bd.repository;
+
+import com.bdprojeto.bd.domain.ScheduledJobLock;
+import java.time.Instant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link ScheduledJobLock} entity.
+ */
+@Repository
+public interface ScheduledJobLockRepository extends JpaRepository<ScheduledJobLock, String> {
+    /**
+     * Takes the lease of a job if it is free: the update is atomic, so a single instance gets it.
+     *
+     * @return 1 if the lease was taken, 0 if it is held by an instance, or was never taken.
+     */
+    @Modifying
+    @Query(
+        "update ScheduledJobLock jobLock set jobLock.lockedUntil = :until, jobLock.lockedAt = :now, jobLock.lockedBy = :instance" +
+        " where jobLock.name = :name and jobLock.lockedUntil <= :now"
+    )
+    int acquire(@Param("name") String name, @Param("now") Instant now, @Param("until") Instant until, @Param("instance") String instance);
+
+    /**
+     * Shortens a lease taken at {@code lockedAt} by the given instance, if it still holds it.
+     */
+    @Modifying
+    @Query(
+        "update ScheduledJobLock jobLock set jobLock.lockedUntil = :until" +
+        " where jobLock.name = :name and jobLock.lockedAt = :lockedAt and jobLock.lockedBy = :instance"
+    )
+    int release(
+        @Param("name") String name,
+        @Param("lockedAt") Instant lockedAt,
+        @Param("instance") String instance,
+        @Param("until") Instant until
+    );
+}
@@ -0,0 +1,22 @@
+package com.bdprojeto.bd.repository;
+
+import com.bdprojeto.bd.domain.TokenRevocation;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Spring Data JPA repository for the {@link TokenRevocation} entity.
+ */
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, String> {
+    List<TokenRevocation> findAllByRevokedBeforeAfter(Instant instant);
+
+    @Modifying
+    @Transactional
+    @Query("delete from TokenRevocation revocation where revocation.revokedBefore < :instant")
+    int deleteAllRevokedBefore(@Param("instant") Instant instant);
+}
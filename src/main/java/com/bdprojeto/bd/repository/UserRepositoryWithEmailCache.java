@@ -0,0 +1,21 @@
+package com.bdprojeto.bd.repository;
+
+import com.bdprojeto.bd.domain.User;
+import java.util.Optional;
+
+/**
+ * Cached lookups of the {@link User} entity by email.
+ */
+public interface UserRepositoryWithEmailCache {
+    /**
+     * Loads a user by email, with its authorities initialized, through the {@link UserRepository#USERS_BY_EMAIL_CACHE} cache.
+     * <p>
+     * Concurrent misses for the same email share one query. When refresh-ahead is enabled, a hit on an entry older than
+     * {@code application.cache.refresh-ahead.refresh-after-seconds} reloads it in the background, so that popular entries are
+     * replaced before they expire.
+     *
+     * @param email the email of the user, matched ignoring case.
+     * @return the user, if any.
+     */
+    Optional<User> findOneWithAuthoritiesByEmailIgnoreCase(String email);
+}
@@ -0,0 +1,153 @@
+package com.bdprojeto.bd.repository;
+
+import com.bdprojeto.bd.aop.metrics.CacheLookups;
+import com.bdprojeto.bd.config.ApplicationProperties;
+import com.bdprojeto.bd.domain.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class UserRepositoryWithEmailCacheImpl implements UserRepositoryWithEmailCache {
+
+    private final Logger log = LoggerFactory.getLogger(UserRepositoryWithEmailCacheImpl.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final CacheManager cacheManager;
+
+    private final ApplicationProperties.Cache.RefreshAhead refreshAhead;
+
+    private final Executor taskExecutor;
+
+    private final TransactionTemplate refreshTransactionTemplate;
+
+    private final CoalescingLoader coalescingLoader;
+
+    private final Counter refreshes;
+
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    public UserRepositoryWithEmailCacheImpl(
+        CacheManager cacheManager,
+        ApplicationProperties applicationProperties,
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        MeterRegistry meterRegistry,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.cacheManager = cacheManager;
+        this.refreshAhead = applicationProperties.getCache().getRefreshAhead();
+        this.taskExecutor = taskExecutor;
+        // The refresh runs on a task thread, with no transaction or persistence context of its own
+        this.refreshTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.refreshTransactionTemplate.setReadOnly(true);
+        this.coalescingLoader = new CoalescingLoader(UserRepository.USERS_BY_EMAIL_CACHE, meterRegistry);
+        this.refreshes =
+            Counter
+                .builder("cache.refreshes")
+                .description("Entries reloaded ahead of their expiry")
+                .tag("cache", UserRepository.USERS_BY_EMAIL_CACHE)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<User> findOneWithAuthoritiesByEmailIgnoreCase(String email) {
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE));
+        CachedUser cached = cache.get(email, CachedUser.class);
+        if (cached != null) {
+            CacheLookups.hit();
+            refreshIfOld(cache, email, cached);
+        } else {
+            CacheLookups.miss();
+            cached =
+                coalescingLoader.load(
+                    email,
+                    () -> {
+                        CachedUser loaded = cache.get(email, CachedUser.class);
+                        return loaded != null ? loaded : loadInto(cache, email);
+                    }
+                );
+        }
+        return Optional.ofNullable(cached.getUser());
+    }
+
+    private void refreshIfOld(Cache cache, String email, CachedUser cached) {
+        if (
+            !refreshAhead.isEnabled() ||
+            System.currentTimeMillis() - cached.getLoadedAt() < refreshAhead.getRefreshAfterSeconds() * 1000 ||
+            !refreshing.add(email)
+        ) {
+            return;
+        }
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    refreshTransactionTemplate.executeWithoutResult(status -> loadInto(cache, email));
+                    refreshes.increment();
+                } catch (RuntimeException e) {
+                    log.warn("Could not refresh cached user {}: {}", email, e.getMessage());
+                } finally {
+                    refreshing.remove(email);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(email);
+        }
+    }
+
+    private CachedUser loadInto(Cache cache, String email) {
+        User user = entityManager
+            .createQuery(
+                "select user from User user left join fetch user.authorities where upper(user.email) = upper(:email)",
+                User.class
+            )
+            .setParameter("email", email)
+            .getResultList()
+            .stream()
+            .findFirst()
+            .orElse(null);
+        CachedUser loaded = new CachedUser(user, System.currentTimeMillis());
+        cache.put(email, loaded);
+        return loaded;
+    }
+
+    /**
+     * A cached lookup result: the user, or {@code null} if none has the email, and when it was loaded.
+     */
+    public static class CachedUser implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final User user;
+
+        private final long loadedAt;
+
+        CachedUser(User user, long loadedAt) {
+            this.user = user;
+            this.loadedAt = loadedAt;
+        }
+
+        public User getUser() {
+            return user;
+        }
+
+        public long getLoadedAt() {
+            return loadedAt;
+        }
+    }
+}
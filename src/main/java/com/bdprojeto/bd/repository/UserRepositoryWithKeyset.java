@@ -0,0 +1,12 @@
+package com.bdprojeto.bd.repository;
+
+import com.bdprojeto.bd.domain.User;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Keyset (seek) pagination for the {@link User} entity.
+ */
+public interface UserRepositoryWithKeyset {
+    KeysetPage<User> findAllByKeyset(Specification<User> specification, Sort.Order order, KeysetCursor after, int size);
+}
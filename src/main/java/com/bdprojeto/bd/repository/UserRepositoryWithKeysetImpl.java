@@ -0,0 +1,18 @@
+package com.bdprojeto.bd.repository;
+
+import com.bdprojeto.bd.domain.User;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+public class UserRepositoryWithKeysetImpl implements UserRepositoryWithKeyset {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public KeysetPage<User> findAllByKeyset(Specification<User> specification, Sort.Order order, KeysetCursor after, int size) {
+        return KeysetQueries.findAll(entityManager, User.class, specification, order, after, size);
+    }
+}
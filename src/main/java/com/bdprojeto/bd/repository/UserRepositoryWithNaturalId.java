@@ -0,0 +1,29 @@
+package com.bdprojeto.bd.repository;
+
+import com.bdprojeto.bd.domain.User;
+import java.util.Optional;
+
+/**
+ * Lookups of the {@link User} entity by its natural id, the login.
+ * <p>
+ * The login to id resolution is cached in the {@code User##NaturalId} second-level cache region, the user itself in the
+ * {@code User} region and its authorities in the {@code User.authorities} region. Hibernate keeps all three up to date
+ * when a user is updated or deleted, so no manual eviction is needed.
+ */
+public interface UserRepositoryWithNaturalId {
+    /**
+     * Loads a user by login.
+     *
+     * @param login the lowercase login of the user.
+     * @return the user, if any.
+     */
+    Optional<User> findOneByLogin(String login);
+
+    /**
+     * Loads a user by login, with its authorities initialized.
+     *
+     * @param login the lowercase login of the user.
+     * @return the user, if any.
+     */
+    Optional<User> findOneWithAuthoritiesByLogin(String login);
+}
@@ -0,0 +1,43 @@
+package com.bdprojeto.bd.repository;
+
+import com.bdprojeto.bd.domain.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Optional;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional(readOnly = true)
+public class UserRepositoryWithNaturalIdImpl implements UserRepositoryWithNaturalId {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final CoalescingLoader coalescingLoader;
+
+    public UserRepositoryWithNaturalIdImpl(MeterRegistry meterRegistry) {
+        this.coalescingLoader = new CoalescingLoader(User.class.getName() + "##NaturalId", meterRegistry);
+    }
+
+    @Override
+    public Optional<User> findOneByLogin(String login) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(login);
+    }
+
+    @Override
+    public Optional<User> findOneWithAuthoritiesByLogin(String login) {
+        if (NaturalIdCaches.cachedId(entityManager.unwrap(SessionImplementor.class), User.class, login) != null) {
+            return loadWithAuthorities(login);
+        }
+        return coalescingLoader.load(login, () -> loadWithAuthorities(login));
+    }
+
+    private Optional<User> loadWithAuthorities(String login) {
+        Optional<User> user = findOneByLogin(login);
+        user.ifPresent(u -> Hibernate.initialize(u.getAuthorities()));
+        return user;
+    }
+}
@@ -1,14 +1,29 @@
 package com.bdprojeto.bd.repository;
 
 import com.bdprojeto.bd.domain.Usuario;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
- * Spring Data JPA repository for the {@link User} entity.
+ * Spring Data JPA repository for the {@link Usuario} entity.
  */
 @Repository
-public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
+public interface UsuarioRepository
+    extends
+        JpaRepository<Usuario, Long>,
+        JpaSpecificationExecutor<Usuario>,
+        UsuarioRepositoryWithKeyset,
+        UsuarioRepositoryWithScroll,
+        UsuarioRepositoryWithNaturalId,
+        UsuarioRepositoryWithBatchLookup {
     Optional<Usuario> findOneById(Long id);
+
+    @Query("select usuario.cpf from Usuario usuario where usuario.cpf in :cpfs")
+    List<Long> findCpfsByCpfIn(@Param("cpfs") Collection<Long> cpfs);
 }
@@ -0,0 +1,34 @@
+package com.bdprojeto.bd.repository;
+
+import com.bdprojeto.bd.domain.Usuario;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Loads many {@link Usuario} entities at once, from the second-level cache when possible.
+ */
+public interface UsuarioRepositoryWithBatchLookup {
+    /**
+     * Loads the usuarios with the given ids.
+     * <p>
+     * Ids present in the {@code Usuario} cache region are resolved from it; the others are fetched with {@code IN}
+     * queries of at most {@code inClauseSize} ids each.
+     *
+     * @param ids the ids to load, duplicates are ignored.
+     * @param inClauseSize the maximum number of ids per query.
+     * @return the found usuarios, keyed by id.
+     */
+    Map<Long, Usuario> loadAllById(Collection<Long> ids, int inClauseSize);
+
+    /**
+     * Loads the usuarios with the given cpfs.
+     * <p>
+     * Cpfs present in the {@code Usuario##NaturalId} cache region whose entity is also cached are resolved from the cache;
+     * the others are fetched with {@code IN} queries of at most {@code inClauseSize} cpfs each.
+     *
+     * @param cpfs the cpfs to load, duplicates are ignored.
+     * @param inClauseSize the maximum number of cpfs per query.
+     * @return the found usuarios, keyed by cpf.
+     */
+    Map<Long, Usuario> loadAllByCpf(Collection<Long> cpfs, int inClauseSize);
+}
@@ -0,0 +1,78 @@
+package com.bdprojeto.bd.repository;
+
+import com.bdprojeto.bd.domain.Usuario;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.hibernate.Cache;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional(readOnly = true)
+public class UsuarioRepositoryWithBatchLookupImpl implements UsuarioRepositoryWithBatchLookup {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Map<Long, Usuario> loadAllById(Collection<Long> ids, int inClauseSize) {
+        Session session = entityManager.unwrap(Session.class);
+        Cache cache = session.getSessionFactory().getCache();
+        Map<Long, Usuario> found = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            Usuario usuario = cache.containsEntity(Usuario.class, id) ? session.get(Usuario.class, id) : null;
+            if (usuario != null) {
+                found.put(id, usuario);
+            } else {
+                misses.add(id);
+            }
+        }
+        fetchMisses(session, "id", misses, inClauseSize, Usuario::getId, found);
+        return found;
+    }
+
+    @Override
+    public Map<Long, Usuario> loadAllByCpf(Collection<Long> cpfs, int inClauseSize) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        Map<Long, Usuario> found = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long cpf : new LinkedHashSet<>(cpfs)) {
+            Serializable id = NaturalIdCaches.cachedId(session, Usuario.class, cpf);
+            Usuario usuario = id != null ? session.get(Usuario.class, id) : null;
+            if (usuario != null && cpf.equals(usuario.getCpf())) {
+                found.put(cpf, usuario);
+            } else {
+                misses.add(cpf);
+            }
+        }
+        fetchMisses(session, "cpf", misses, inClauseSize, Usuario::getCpf, found);
+        return found;
+    }
+
+    private static void fetchMisses(
+        Session session,
+        String property,
+        List<Long> keys,
+        int inClauseSize,
+        Function<Usuario, Long> keyExtractor,
+        Map<Long, Usuario> found
+    ) {
+        for (int from = 0; from < keys.size(); from += inClauseSize) {
+            List<Long> chunk = keys.subList(from, Math.min(from + inClauseSize, keys.size()));
+            session
+                .createQuery("select usuario from Usuario usuario where usuario." + property + " in :keys", Usuario.class)
+                .setParameter("keys", chunk)
+                .getResultList()
+                .forEach(usuario -> found.put(keyExtractor.apply(usuario), usuario));
+        }
+    }
+}
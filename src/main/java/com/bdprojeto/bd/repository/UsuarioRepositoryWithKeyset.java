@@ -0,0 +1,12 @@
+package com.bdprojeto.bd.repository;
+
+import com.bdprojeto.bd.domain.Usuario;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Keyset (seek) pagination for the {@link Usuario} entity.
+ */
+public interface UsuarioRepositoryWithKeyset {
+    KeysetPage<Usuario> findAllByKeyset(Specification<Usuario> specification, Sort.Order order, KeysetCursor after, int size);
+}
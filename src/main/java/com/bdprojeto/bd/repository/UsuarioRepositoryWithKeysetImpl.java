@@ -0,0 +1,18 @@
+package com.bdprojeto.bd.repository;
+
+import com.bdprojeto.bd.domain.Usuario;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+public class UsuarioRepositoryWithKeysetImpl implements UsuarioRepositoryWithKeyset {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public KeysetPage<Usuario> findAllByKeyset(Specification<Usuario> specification, Sort.Order order, KeysetCursor after, int size) {
+        return KeysetQueries.findAll(entityManager, Usuario.class, specification, order, after, size);
+    }
+}
@@ -0,0 +1,20 @@
+package com.bdprojeto.bd.repository;
+
+import com.bdprojeto.bd.domain.Usuario;
+import java.util.Optional;
+
+/**
+ * Lookups of the {@link Usuario} entity by its natural id, the cpf.
+ */
+public interface UsuarioRepositoryWithNaturalId {
+    /**
+     * Loads a usuario by cpf through Hibernate's natural-id API.
+     * <p>
+     * The cpf is resolved to an id through the natural-id second-level cache region, then the entity through the
+     * entity region, so repeated lookups do not hit the database.
+     *
+     * @param cpf the cpf of the usuario.
+     * @return the usuario, if any.
+     */
+    Optional<Usuario> findOneByCpf(Long cpf);
+}
@@ -0,0 +1,20 @@
+package com.bdprojeto.bd.repository;
+
+import com.bdprojeto.bd.domain.Usuario;
+import java.util.Optional;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional(readOnly = true)
+public class UsuarioRepositoryWithNaturalIdImpl implements UsuarioRepositoryWithNaturalId {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Usuario> findOneByCpf(Long cpf) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Usuario.class).loadOptional(cpf);
+    }
+}
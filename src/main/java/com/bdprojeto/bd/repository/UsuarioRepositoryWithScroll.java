@@ -0,0 +1,21 @@
+package com.bdprojeto.bd.repository;
+
+import com.bdprojeto.bd.domain.Usuario;
+import java.util.function.Consumer;
+
+/**
+ * Forward-only traversal of the {@link Usuario} table that does not keep the visited rows in memory.
+ */
+public interface UsuarioRepositoryWithScroll {
+    /**
+     * Visits every usuario in id order through a forward-only cursor.
+     * <p>
+     * Entities are read-only, bypass the second-level cache and are detached in batches of {@code fetchSize}
+     * rows, so the persistence context never grows beyond one batch.
+     *
+     * @param fetchSize the number of rows fetched per JDBC round-trip.
+     * @param consumer the callback receiving each usuario.
+     * @return the number of visited usuarios.
+     */
+    long scrollAll(int fetchSize, Consumer<Usuario> consumer);
+}
@@ -0,0 +1,39 @@
+package com.bdprojeto.bd.repository;
+
+import com.bdprojeto.bd.domain.Usuario;
+import java.util.function.Consumer;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+
+public class UsuarioRepositoryWithScrollImpl implements UsuarioRepositoryWithScroll {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public long scrollAll(int fetchSize, Consumer<Usuario> consumer) {
+        Session session = entityManager.unwrap(Session.class);
+        long count = 0;
+        try (
+            ScrollableResults results = session
+                .createQuery("select usuario from Usuario usuario order by usuario.id", Usuario.class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .scroll(ScrollMode.FORWARD_ONLY)
+        ) {
+            while (results.next()) {
+                consumer.accept((Usuario) results.get(0));
+                if (++count % fetchSize == 0) {
+                    session.clear();
+                }
+            }
+        }
+        session.clear();
+        return count;
+    }
+}
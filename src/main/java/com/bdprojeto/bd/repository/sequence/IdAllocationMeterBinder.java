@@ -0,0 +1,38 @@
+package com.bdprojeto.bd.repository.sequence;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the {@link IdAllocationStatistics} as metrics.
+ */
+@Component
+public class IdAllocationMeterBinder implements MeterBinder {
+
+    public static final String IDS_GENERATED_METER_NAME = "ids.allocation.generated";
+    public static final String SEQUENCE_CALLS_METER_NAME = "ids.allocation.sequence-calls";
+    public static final String SEQUENCE_CALLS_PER_THOUSAND_METER_NAME = "ids.allocation.sequence-calls-per-thousand";
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter
+            .builder(IDS_GENERATED_METER_NAME, IdAllocationStatistics.class, statistics -> IdAllocationStatistics.getIdsGenerated())
+            .description("Number of entity ids handed out by the sequence generator")
+            .register(registry);
+        FunctionCounter
+            .builder(SEQUENCE_CALLS_METER_NAME, IdAllocationStatistics.class, statistics -> IdAllocationStatistics.getSequenceCalls())
+            .description("Number of round-trips made to sequence_generator to allocate ids")
+            .register(registry);
+        Gauge
+            .builder(
+                SEQUENCE_CALLS_PER_THOUSAND_METER_NAME,
+                IdAllocationStatistics.class,
+                statistics -> IdAllocationStatistics.getSequenceCallsPerThousandIds()
+            )
+            .description("Sequence round-trips per 1000 generated ids")
+            .register(registry);
+    }
+}
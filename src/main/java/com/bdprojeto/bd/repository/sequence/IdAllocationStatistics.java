@@ -0,0 +1,60 @@
+package com.bdprojeto.bd.repository.sequence;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import org.hibernate.id.enhanced.DatabaseStructure;
+
+/**
+ * Process-wide counters of generated ids and of the sequence calls made to produce them.
+ * <p>
+ * Generators are instantiated by Hibernate, not by Spring, hence the static state.
+ */
+public final class IdAllocationStatistics {
+
+    private static final LongAdder idsGenerated = new LongAdder();
+
+    private static final LongAdder blockSequenceCalls = new LongAdder();
+
+    private static final List<DatabaseStructure> structures = new CopyOnWriteArrayList<>();
+
+    private IdAllocationStatistics() {}
+
+    static void register(DatabaseStructure structure) {
+        structures.add(structure);
+    }
+
+    static void idGenerated() {
+        idsGenerated.increment();
+    }
+
+    static void blockSequenceCalls(int calls) {
+        blockSequenceCalls.add(calls);
+    }
+
+    /**
+     * @return the number of ids handed out by the generators.
+     */
+    public static long getIdsGenerated() {
+        return idsGenerated.sum();
+    }
+
+    /**
+     * @return the number of round-trips made to the sequence, by the Hibernate optimizers and by the block allocator.
+     */
+    public static long getSequenceCalls() {
+        long calls = blockSequenceCalls.sum();
+        for (DatabaseStructure structure : structures) {
+            calls += structure.getTimesAccessed();
+        }
+        return calls;
+    }
+
+    /**
+     * @return the number of sequence calls per 1000 generated ids, {@code 0} before the first id.
+     */
+    public static double getSequenceCallsPerThousandIds() {
+        long ids = getIdsGenerated();
+        return ids == 0 ? 0 : getSequenceCalls() * 1000d / ids;
+    }
+}
@@ -0,0 +1,48 @@
+package com.bdprojeto.bd.repository.sequence;
+
+import java.io.Serializable;
+import java.util.Properties;
+import org.hibernate.MappingException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Identifier generator shared by all entities, drawing ids from {@code sequence_generator}.
+ * <p>
+ * It always uses the {@code pooled-lo} optimizer with the increment of the Liquibase sequence, so one sequence call
+ * hands out {@value #INCREMENT_SIZE} ids, whatever the entity mapping says. Ids reserved ahead of time by the
+ * {@link SequenceBlockAllocator} for the current thread are handed out first, without any sequence call.
+ */
+public class PooledLoSequenceGenerator extends SequenceStyleGenerator {
+
+    /**
+     * Name of the sequence, created by the initial Liquibase changelog.
+     */
+    public static final String SEQUENCE_NAME = "sequence_generator";
+
+    /**
+     * Increment of the sequence, it must match the {@code incrementBy} of the Liquibase changelog.
+     */
+    public static final int INCREMENT_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        params.setProperty(SEQUENCE_PARAM, SEQUENCE_NAME);
+        params.setProperty(INCREMENT_PARAM, Integer.toString(INCREMENT_SIZE));
+        params.setProperty(OPT_PARAM, "pooled-lo");
+        super.configure(type, params, serviceRegistry);
+        IdAllocationStatistics.register(getDatabaseStructure());
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        IdAllocationStatistics.idGenerated();
+        Long reserved = SequenceBlockAllocator.nextReservedId();
+        if (reserved != null) {
+            return reserved;
+        }
+        return super.generate(session, object);
+    }
+}
@@ -0,0 +1,118 @@
+package com.bdprojeto.bd.repository.sequence;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reserves large ranges of ids from {@code sequence_generator} in a single round-trip, for bulk insert paths.
+ * <p>
+ * With the {@code pooled-lo} optimizer each sequence value {@code v} owns the ids {@code [v, v + 50)}, so fetching
+ * {@code n} values at once reserves {@code 50 * n} ids. The reserved ids are bound to the current thread and handed
+ * out by {@link PooledLoSequenceGenerator} while the work runs; ids left unused are simply skipped.
+ */
+@Component
+public class SequenceBlockAllocator {
+
+    private final Logger log = LoggerFactory.getLogger(SequenceBlockAllocator.class);
+
+    private static final ThreadLocal<IdBlock> reservedIds = new ThreadLocal<>();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile String reserveSql;
+
+    public SequenceBlockAllocator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Runs the given work with at least {@code count} ids reserved for the current thread.
+     * <p>
+     * If the database is not supported, or ids are already reserved by an enclosing call, the work runs with the
+     * regular optimizer.
+     *
+     * @param count the number of entities the work will insert.
+     * @param work the work to run.
+     * @param <T> the type of the result.
+     * @return the result of the work.
+     */
+    public <T> T withReservedIds(int count, Supplier<T> work) {
+        if (count <= 0 || reservedIds.get() != null) {
+            return work.get();
+        }
+        String sql = getReserveSql();
+        if (sql.isEmpty()) {
+            return work.get();
+        }
+        int increments = (count + PooledLoSequenceGenerator.INCREMENT_SIZE - 1) / PooledLoSequenceGenerator.INCREMENT_SIZE;
+        List<Long> lows = jdbcTemplate.queryForList(sql, Long.class, increments);
+        IdAllocationStatistics.blockSequenceCalls(1);
+        reservedIds.set(new IdBlock(lows));
+        try {
+            return work.get();
+        } finally {
+            reservedIds.remove();
+        }
+    }
+
+    static Long nextReservedId() {
+        IdBlock block = reservedIds.get();
+        return block == null ? null : block.next();
+    }
+
+    private String getReserveSql() {
+        String sql = reserveSql;
+        if (sql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            sql = reserveSql(product == null ? "" : product.toLowerCase(Locale.ENGLISH));
+            if (sql.isEmpty()) {
+                log.warn("Id block reservation is not supported on {}, falling back to the sequence optimizer", product);
+            }
+            reserveSql = sql;
+        }
+        return sql;
+    }
+
+    private static String reserveSql(String product) {
+        if (product.contains("postgresql")) {
+            return "select nextval('" + PooledLoSequenceGenerator.SEQUENCE_NAME + "') from generate_series(1, ?)";
+        } else if (product.contains("h2")) {
+            return "select next value for " + PooledLoSequenceGenerator.SEQUENCE_NAME + " from system_range(1, ?)";
+        }
+        return "";
+    }
+
+    /**
+     * Ids owned by a list of {@code pooled-lo} sequence values, consumed in order.
+     */
+    private static final class IdBlock {
+
+        private final List<Long> lows;
+
+        private int index;
+
+        private int offset;
+
+        private IdBlock(List<Long> lows) {
+            this.lows = lows;
+        }
+
+        private Long next() {
+            if (index >= lows.size()) {
+                return null;
+            }
+            long id = lows.get(index) + offset;
+            if (++offset == PooledLoSequenceGenerator.INCREMENT_SIZE) {
+                index++;
+                offset = 0;
+            }
+            return id;
+        }
+    }
+}
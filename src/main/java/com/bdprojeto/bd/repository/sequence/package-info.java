@@ -0,0 +1,4 @@
+/**
+ * Identifier generation from the shared {@code sequence_generator} sequence.
+ */
+package com.bdprojeto.bd.repository.sequence;
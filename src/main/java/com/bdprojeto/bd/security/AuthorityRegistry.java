@@ -0,0 +1,122 @@
+package com.bdprojeto.bd.security;
+
+import com.bdprojeto.bd.domain.Authority;
+import com.bdprojeto.bd.repository.AuthorityRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registry of the canonical {@link GrantedAuthority} instances of the application.
+ * <p>
+ * Authorities are few and fixed (the {@code jhi_authority} table), so each one has a single shared instance, and each
+ * combination of them a single shared immutable set. The table is loaded once the application is ready; names unknown at
+ * that point are interned on first use.
+ */
+@Component
+public class AuthorityRegistry {
+
+    /**
+     * Bound on the number of memoized combinations, far above what a handful of authorities can produce.
+     */
+    private static final int MAX_COMBINATIONS = 1024;
+
+    private static final char SEPARATOR = ',';
+
+    private final Logger log = LoggerFactory.getLogger(AuthorityRegistry.class);
+
+    private final AuthorityRepository authorityRepository;
+
+    private final Map<String, GrantedAuthority> authorities = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<GrantedAuthority>> combinations = new ConcurrentHashMap<>();
+
+    public AuthorityRegistry(AuthorityRepository authorityRepository) {
+        this.authorityRepository = authorityRepository;
+    }
+
+    /**
+     * Loads the authorities from the database, and precomputes the sets of the usual role combinations.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        authorityRepository.findAll().stream().map(Authority::getName).forEach(this::get);
+        fromNames(Collections.singletonList(AuthoritiesConstants.USER));
+        fromNames(Arrays.asList(AuthoritiesConstants.ADMIN, AuthoritiesConstants.USER));
+        log.debug("Loaded authorities {}", authorities.keySet());
+    }
+
+    /**
+     * @param name the name of an authority.
+     * @return the canonical instance of the authority.
+     */
+    public GrantedAuthority get(String name) {
+        return authorities.computeIfAbsent(name, SimpleGrantedAuthority::new);
+    }
+
+    /**
+     * Parses a comma separated list of authority names, as found in the {@code auth} claim of the tokens.
+     *
+     * @param commaSeparatedNames the names, blank ones are ignored.
+     * @return the canonical immutable set of these authorities.
+     */
+    public Set<GrantedAuthority> parse(String commaSeparatedNames) {
+        Set<GrantedAuthority> set = combinations.get(commaSeparatedNames);
+        if (set != null) {
+            return set;
+        }
+        List<String> names = new ArrayList<>();
+        int start = 0;
+        while (start <= commaSeparatedNames.length()) {
+            int end = commaSeparatedNames.indexOf(SEPARATOR, start);
+            if (end < 0) {
+                end = commaSeparatedNames.length();
+            }
+            String name = commaSeparatedNames.substring(start, end).trim();
+            if (!name.isEmpty()) {
+                names.add(name);
+            }
+            start = end + 1;
+        }
+        return memoize(commaSeparatedNames, fromNames(names));
+    }
+
+    /**
+     * @param names the names of the authorities.
+     * @return the canonical immutable set of these authorities.
+     */
+    public Set<GrantedAuthority> fromNames(Collection<String> names) {
+        String[] sortedNames = names.stream().sorted().distinct().toArray(String[]::new);
+        String key = String.join(String.valueOf(SEPARATOR), sortedNames);
+        Set<GrantedAuthority> set = combinations.get(key);
+        if (set != null) {
+            return set;
+        }
+        Set<GrantedAuthority> created = new LinkedHashSet<>();
+        for (String name : sortedNames) {
+            created.add(get(name));
+        }
+        return memoize(key, Collections.unmodifiableSet(created));
+    }
+
+    private Set<GrantedAuthority> memoize(String key, Set<GrantedAuthority> set) {
+        if (combinations.size() >= MAX_COMBINATIONS) {
+            return set;
+        }
+        Set<GrantedAuthority> existing = combinations.putIfAbsent(key, set);
+        return existing != null ? existing : set;
+    }
+}
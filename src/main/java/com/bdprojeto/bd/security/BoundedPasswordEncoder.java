@@ -0,0 +1,171 @@
+package com.bdprojeto.bd.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * BCrypt {@link PasswordEncoder} which hashes on a dedicated, bounded pool of threads.
+ * <p>
+ * At most {@code threads} hashes run at once, whatever the number of concurrent logins, so that a login storm cannot take all
+ * the CPU from the other requests. Hashes wait in a queue of {@code queueCapacity} entries; beyond that they are rejected
+ * with a {@link PasswordHashingRejectedException} instead of piling up.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    public static final String HASHING_METER_NAME = "security.password.hashing";
+    public static final String HASHING_REJECTED_METER_NAME = "security.password.hashing.rejected";
+    public static final String HASHING_QUEUE_METER_NAME = "security.password.hashing.queue";
+
+    /**
+     * BCrypt accepts costs from 4 to 31.
+     */
+    private static final int MAX_BCRYPT_COST = 31;
+
+    private static final Logger log = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    private final BCryptPasswordEncoder delegate;
+
+    private final int cost;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Timer encodeTimer;
+
+    private final Timer matchesTimer;
+
+    private final Counter rejectedCounter;
+
+    public BoundedPasswordEncoder(int cost, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        this.cost = cost;
+        this.delegate = new BCryptPasswordEncoder(cost);
+        this.executor =
+            new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-")
+            );
+        this.encodeTimer = hashingTimer("encode", meterRegistry);
+        this.matchesTimer = hashingTimer("matches", meterRegistry);
+        this.rejectedCounter =
+            Counter
+                .builder(HASHING_REJECTED_METER_NAME)
+                .description("Password hashes rejected because the hashing queue was full.")
+                .register(meterRegistry);
+        Gauge
+            .builder(HASHING_QUEUE_METER_NAME, executor, pool -> pool.getQueue().size())
+            .description("Password hashes waiting for a hashing thread.")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Finds the highest BCrypt cost whose hash takes at most {@code targetMs} on this machine.
+     * <p>
+     * Each increment of the cost doubles the hashing time, so a single measure at {@code minCost} is enough.
+     *
+     * @param targetMs the wanted duration of a hash.
+     * @param minCost the lowest acceptable cost, returned even if it is slower than the target.
+     * @param maxCost the highest acceptable cost.
+     * @return the cost to use.
+     */
+    public static int calibrate(long targetMs, int minCost, int maxCost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minCost);
+        // The first hash includes the warm-up of the JIT and of the SecureRandom
+        encoder.encode("calibration");
+        long start = System.nanoTime();
+        encoder.encode("calibration");
+        double measuredMs = Math.max((System.nanoTime() - start) / 1_000_000.0, 0.001);
+
+        int cost = minCost;
+        double expectedMs = measuredMs;
+        while (cost < Math.min(maxCost, MAX_BCRYPT_COST) && expectedMs * 2 <= targetMs) {
+            cost++;
+            expectedMs *= 2;
+        }
+        log.info(
+            "Calibrated the BCrypt cost to {}: a hash takes {} ms at cost {}, about {} ms expected at cost {} (target {} ms)",
+            cost,
+            Math.round(measuredMs),
+            minCost,
+            Math.round(expectedMs),
+            cost,
+            targetMs
+        );
+        return cost;
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * @return {@code true} for the hashes made with a lower cost than the current one, so that they are rehashed on login.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T hash(Timer timer, Callable<T> hashing) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(hashing));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new PasswordHashingRejectedException();
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing a password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Could not hash a password", e.getCause());
+        }
+    }
+
+    private static Timer hashingTimer(String operation, MeterRegistry meterRegistry) {
+        return Timer
+            .builder(HASHING_METER_NAME)
+            .description("Duration of the password hashes, without the time spent waiting for a hashing thread.")
+            .tag("operation", operation)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,270 @@
+package com.bdprojeto.bd.security;
+
+import com.bdprojeto.bd.config.ApplicationProperties;
+import com.bdprojeto.bd.management.SecurityMetersService;
+import com.bdprojeto.bd.repository.LoginAttemptRepository;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rejects logins before their password is verified when their login, or their client IP, failed too many times recently.
+ * <p>
+ * Failures are counted in a sliding window divided into {@code slots}: each key has a ring of slots, each packing the number
+ * of its slot of time and the failures during it in a single {@code long}, updated with compare-and-set. Keys are spread over
+ * the bins of a {@link ConcurrentHashMap}, so concurrent logins do not contend on a lock. When {@code maxTrackedKeys} are
+ * tracked, the keys without failures in the window are dropped, then the least recently failed ones, a tenth of the capacity at
+ * a time, so that a new attacker is always counted. When {@code shared} is enabled, the failures are also counted in the
+ * database, for the logins spread over several instances.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final String LOGIN_KEY_PREFIX = "login:";
+
+    private static final String IP_KEY_PREFIX = "ip:";
+
+    private static final int COUNT_BITS = 24;
+
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final Logger log = LoggerFactory.getLogger(LoginThrottle.class);
+
+    private final ApplicationProperties.LoginThrottle properties;
+
+    private final LoginAttemptRepository loginAttemptRepository;
+
+    private final SecurityMetersService securityMetersService;
+
+    private final long slotMs;
+
+    private final Map<String, AtomicLongArray> windows = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public LoginThrottle(
+        ApplicationProperties applicationProperties,
+        LoginAttemptRepository loginAttemptRepository,
+        SecurityMetersService securityMetersService
+    ) {
+        this.properties = applicationProperties.getLoginThrottle();
+        this.loginAttemptRepository = loginAttemptRepository;
+        this.securityMetersService = securityMetersService;
+        this.slotMs = Math.max(1, 1000 * properties.getWindowSeconds() / properties.getSlots());
+    }
+
+    /**
+     * @param login the login or email being authenticated.
+     * @param clientIp the IP address of the client.
+     * @throws LoginThrottledException if the login or the IP failed too many times within the window.
+     */
+    public void checkAllowed(String login, String clientIp) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long slot = currentSlot();
+        String loginKey = loginKey(login);
+        String ipKey = IP_KEY_PREFIX + clientIp;
+        long loginFailures = countFailures(loginKey, slot);
+        long ipFailures = countFailures(ipKey, slot);
+        boolean throttledLocally = loginFailures >= properties.getMaxFailuresPerLogin() || ipFailures >= properties.getMaxFailuresPerIp();
+        if (properties.isShared() && !throttledLocally) {
+            try {
+                Map<String, Long> shared = loginAttemptRepository.countFailures(Arrays.asList(loginKey, ipKey), firstSlot(slot));
+                loginFailures = Math.max(loginFailures, shared.getOrDefault(loginKey, 0L));
+                ipFailures = Math.max(ipFailures, shared.getOrDefault(ipKey, 0L));
+            } catch (DataAccessException e) {
+                log.warn("Could not count the shared login failures: {}", e.getMessage());
+            }
+        }
+        boolean loginThrottled = loginFailures >= properties.getMaxFailuresPerLogin();
+        boolean ipThrottled = ipFailures >= properties.getMaxFailuresPerIp();
+        if (!loginThrottled && !ipThrottled) {
+            return;
+        }
+        long retryAfterSeconds = Math.max(
+            loginThrottled ? retryAfterSeconds(loginKey, properties.getMaxFailuresPerLogin(), slot) : 0,
+            ipThrottled ? retryAfterSeconds(ipKey, properties.getMaxFailuresPerIp(), slot) : 0
+        );
+        if (loginThrottled) {
+            securityMetersService.trackLoginThrottledByLogin();
+        } else {
+            securityMetersService.trackLoginThrottledByIp();
+        }
+        throw new LoginThrottledException(retryAfterSeconds);
+    }
+
+    public void recordFailure(String login, String clientIp) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long slot = currentSlot();
+        String loginKey = loginKey(login);
+        String ipKey = IP_KEY_PREFIX + clientIp;
+        increment(loginKey, slot);
+        increment(ipKey, slot);
+        if (properties.isShared()) {
+            try {
+                loginAttemptRepository.recordFailure(Arrays.asList(loginKey, ipKey), slot);
+            } catch (DataAccessException e) {
+                log.warn("Could not record a shared login failure: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Forgets the failures of a login once it authenticates; those of its IP are kept.
+     */
+    public void recordSuccess(String login) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        String loginKey = loginKey(login);
+        windows.remove(loginKey);
+        if (properties.isShared()) {
+            try {
+                loginAttemptRepository.clear(loginKey);
+            } catch (DataAccessException e) {
+                log.warn("Could not clear the shared login failures: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Drops the keys without failures in the window, and the expired shared failures.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void purge() {
+        long firstSlot = firstSlot(currentSlot());
+        windows.values().removeIf(window -> latestSlot(window) < firstSlot);
+        if (properties.isEnabled() && properties.isShared()) {
+            try {
+                loginAttemptRepository.deleteAllBefore(firstSlot);
+            } catch (DataAccessException e) {
+                log.warn("Could not purge the shared login failures: {}", e.getMessage());
+            }
+        }
+    }
+
+    private long countFailures(String key, long slot) {
+        AtomicLongArray window = windows.get(key);
+        if (window == null) {
+            return 0;
+        }
+        long firstSlot = firstSlot(slot);
+        long failures = 0;
+        for (int i = 0; i < window.length(); i++) {
+            long packed = window.get(i);
+            if ((packed >>> COUNT_BITS) >= firstSlot) {
+                failures += packed & COUNT_MASK;
+            }
+        }
+        return failures;
+    }
+
+    private void increment(String key, long slot) {
+        AtomicLongArray window = windows.get(key);
+        if (window == null) {
+            if (windows.size() >= properties.getMaxTrackedKeys()) {
+                evict(slot);
+            }
+            window = windows.computeIfAbsent(key, k -> new AtomicLongArray(properties.getSlots()));
+        }
+        int index = (int) (slot % window.length());
+        while (true) {
+            long packed = window.get(index);
+            long updated = (packed >>> COUNT_BITS) == slot
+                ? Math.min(packed + 1, (slot << COUNT_BITS) | COUNT_MASK)
+                : (slot << COUNT_BITS) | 1;
+            if (window.compareAndSet(index, packed, updated)) {
+                return;
+            }
+        }
+    }
+
+    private void evict(long slot) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long firstSlot = firstSlot(slot);
+            windows.values().removeIf(window -> latestSlot(window) < firstSlot);
+            int maxTrackedKeys = properties.getMaxTrackedKeys();
+            int excess = windows.size() - (maxTrackedKeys - Math.max(1, maxTrackedKeys / 10));
+            if (excess > 0) {
+                windows
+                    .entrySet()
+                    .stream()
+                    .map(entry -> Map.entry(entry.getKey(), latestSlot(entry.getValue())))
+                    .sorted(Map.Entry.comparingByValue())
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList())
+                    .forEach(windows::remove);
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static long latestSlot(AtomicLongArray window) {
+        long latest = 0;
+        for (int i = 0; i < window.length(); i++) {
+            latest = Math.max(latest, window.get(i) >>> COUNT_BITS);
+        }
+        return latest;
+    }
+
+    private long currentSlot() {
+        return System.currentTimeMillis() / slotMs;
+    }
+
+    private long firstSlot(long slot) {
+        return slot - properties.getSlots() + 1;
+    }
+
+    /**
+     * @return the seconds until enough failures of the key leave the window to bring it under the limit: the oldest slots expire
+     * first. The shared failures only have a total, so when they throttled the key the local ones give an estimate, at least
+     * the end of the current slot.
+     */
+    private long retryAfterSeconds(String key, int maxFailures, long slot) {
+        long firstSlot = firstSlot(slot);
+        long expiringSlot = firstSlot;
+        AtomicLongArray window = windows.get(key);
+        if (window != null) {
+            long[] packedSlots = new long[window.length()];
+            long failures = 0;
+            for (int i = 0; i < window.length(); i++) {
+                long packed = window.get(i);
+                if ((packed >>> COUNT_BITS) >= firstSlot) {
+                    packedSlots[i] = packed;
+                    failures += packed & COUNT_MASK;
+                }
+            }
+            // The slot number is in the high bits, so the oldest slots sort first
+            Arrays.sort(packedSlots);
+            for (int i = 0; i < packedSlots.length && failures >= maxFailures; i++) {
+                if (packedSlots[i] != 0) {
+                    expiringSlot = packedSlots[i] >>> COUNT_BITS;
+                    failures -= packedSlots[i] & COUNT_MASK;
+                }
+            }
+        }
+        long expiresAt = (expiringSlot + properties.getSlots()) * slotMs;
+        return Math.max(1, (expiresAt - System.currentTimeMillis() + 999) / 1000);
+    }
+
+    private static String loginKey(String login) {
+        return LOGIN_KEY_PREFIX + (login == null ? "" : login.toLowerCase(Locale.ENGLISH));
+    }
+}
@@ -0,0 +1,13 @@
+package com.bdprojeto.bd.security;
+
+/**
+ * This exception is thrown when too many password hashes are already waiting, so that the client retries later.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingRejectedException() {
+        super("Too many password hashes are pending");
+    }
+}
@@ -0,0 +1,27 @@
+package com.bdprojeto.bd.security.jwt;
+
+import java.util.Collections;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the public keys verifying the JWT tokens as a JSON Web Key Set, at {@code /management/jwks}, so that other
+ * services and edge proxies can verify the tokens without the signing secret. The set is empty with HS512.
+ */
+@Component
+@Endpoint(id = "jwks")
+public class JwksEndpoint {
+
+    private final JwtKeyManager jwtKeyManager;
+
+    public JwksEndpoint(JwtKeyManager jwtKeyManager) {
+        this.jwtKeyManager = jwtKeyManager;
+    }
+
+    @ReadOperation
+    public Map<String, Object> jwks() {
+        return Collections.singletonMap("keys", jwtKeyManager.publicJwks());
+    }
+}
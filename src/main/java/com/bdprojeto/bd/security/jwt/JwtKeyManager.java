@@ -0,0 +1,365 @@
+package com.bdprojeto.bd.security.jwt;
+
+import com.bdprojeto.bd.config.ApplicationProperties;
+import com.bdprojeto.bd.domain.JwtVerificationKey;
+import com.bdprojeto.bd.repository.JwtVerificationKeyRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Manages the key pairs used to sign the JWT tokens with an asymmetric algorithm.
+ * <p>
+ * Each instance signs with its own private key, which never leaves its memory, and is replaced every
+ * {@code application.jwt.key-rotation-seconds}. The public keys of all the instances are published in the
+ * {@code jhi_jwt_verification_key} table until the last token they signed expires, so that any instance, and any third
+ * party through {@code /management/jwks}, can verify a token by its {@code kid} header.
+ */
+@Component
+public class JwtKeyManager extends SigningKeyResolverAdapter {
+
+    private static final int KID_BYTES = 16;
+
+    private final Logger log = LoggerFactory.getLogger(JwtKeyManager.class);
+
+    private final JwtVerificationKeyRepository jwtVerificationKeyRepository;
+
+    private final ApplicationProperties.Jwt.Algorithm algorithm;
+
+    private final long keyRotationMs;
+
+    private final long maxTokenValidityMs;
+
+    private final long unknownKeyReloadMs;
+
+    private final Map<String, VerificationKey> verificationKeys = new ConcurrentHashMap<>();
+
+    /**
+     * Number of reloads of the public keys started so far, all of them under the {@link #reloadLock}.
+     */
+    private final AtomicLong reloadsStarted = new AtomicLong();
+
+    /**
+     * When the last reload for an unknown {@code kid} was allowed, so that forged key ids cannot make every request query the
+     * table.
+     */
+    private final AtomicLong lastUnknownKeyReload = new AtomicLong(Long.MIN_VALUE / 2);
+
+    private volatile boolean reloading;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    /**
+     * Guards the rotation, which stores the new public key: a lock rather than a monitor, so that a virtual thread waiting on
+     * the database does not pin its carrier thread.
+     */
+    private final Lock rotationLock = new ReentrantLock();
+
+    /**
+     * Runs the reloads of the public keys one at a time, so that the tokens with an unknown {@code kid} received meanwhile
+     * share the next reload instead of each querying the table.
+     */
+    private final Lock reloadLock = new ReentrantLock();
+
+    private volatile SigningKey signingKey;
+
+    public JwtKeyManager(
+        ApplicationProperties applicationProperties,
+        JHipsterProperties jHipsterProperties,
+        JwtVerificationKeyRepository jwtVerificationKeyRepository
+    ) {
+        this.jwtVerificationKeyRepository = jwtVerificationKeyRepository;
+        this.algorithm = applicationProperties.getJwt().getAlgorithm();
+        this.keyRotationMs = 1000 * applicationProperties.getJwt().getKeyRotationSeconds();
+        this.unknownKeyReloadMs = applicationProperties.getJwt().getUnknownKeyReloadMs();
+        JHipsterProperties.Security.Authentication.Jwt jwt = jHipsterProperties.getSecurity().getAuthentication().getJwt();
+        this.maxTokenValidityMs = 1000 * Math.max(jwt.getTokenValidityInSeconds(), jwt.getTokenValidityInSecondsForRememberMe());
+    }
+
+    /**
+     * @return whether the tokens are signed with per-instance key pairs, rather than with the shared HS512 secret.
+     */
+    public boolean isAsymmetric() {
+        return algorithm != ApplicationProperties.Jwt.Algorithm.HS512;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        if (isAsymmetric()) {
+            reload();
+            signingKey();
+        }
+    }
+
+    /**
+     * Rotates the signing key pair when it is due, reloads the public keys of the other instances, and deletes the expired ones.
+     */
+    @Scheduled(
+        fixedDelayString = "${application.jwt.key-refresh-ms:60000}",
+        initialDelayString = "${application.jwt.key-refresh-ms:60000}"
+    )
+    public void refresh() {
+        if (!isAsymmetric()) {
+            return;
+        }
+        try {
+            signingKey();
+            reload();
+            int deleted = jwtVerificationKeyRepository.deleteAllExpiredBefore(Instant.now());
+            if (deleted > 0) {
+                log.debug("Deleted {} expired JWT verification keys", deleted);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not refresh the JWT verification keys: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return the current signing key pair of this instance, replaced by a new one first if it is due for rotation.
+     */
+    SigningKey signingKey() {
+        SigningKey current = signingKey;
+        if (current == null || current.rotateAt <= System.currentTimeMillis()) {
+            rotationLock.lock();
+            try {
+                current = signingKey;
+                if (current == null || current.rotateAt <= System.currentTimeMillis()) {
+                    current = rotate();
+                    signingKey = current;
+                }
+            } finally {
+                rotationLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            throw new SignatureException("The token has no key id");
+        }
+        VerificationKey verificationKey = verificationKeys.get(kid);
+        if (verificationKey == null && reloadForUnknownKey(reloadsStarted.get())) {
+            verificationKey = verificationKeys.get(kid);
+        }
+        if (verificationKey == null || verificationKey.expiresAt <= System.currentTimeMillis()) {
+            throw new SignatureException("Unknown key id " + kid);
+        }
+        if (!verificationKey.algorithm.getValue().equals(header.getAlgorithm())) {
+            throw new SignatureException("Key " + kid + " does not sign with " + header.getAlgorithm());
+        }
+        return verificationKey.publicKey;
+    }
+
+    /**
+     * @return the public keys which can still have valid tokens, as JSON Web Keys (RFC 7517).
+     */
+    public List<Map<String, Object>> publicJwks() {
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        verificationKeys.forEach((kid, verificationKey) -> {
+            if (verificationKey.expiresAt > now) {
+                jwks.add(toJwk(kid, verificationKey));
+            }
+        });
+        return jwks;
+    }
+
+    private SigningKey rotate() {
+        SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.forName(algorithm.name());
+        KeyPair keyPair = Keys.keyPairFor(signatureAlgorithm);
+        byte[] kidBytes = new byte[KID_BYTES];
+        secureRandom.nextBytes(kidBytes);
+        String kid = Base64.getUrlEncoder().withoutPadding().encodeToString(kidBytes);
+
+        Instant now = Instant.now();
+        long rotateAt = now.toEpochMilli() + keyRotationMs;
+        JwtVerificationKey jwtVerificationKey = new JwtVerificationKey();
+        jwtVerificationKey.setKid(kid);
+        jwtVerificationKey.setAlgorithm(signatureAlgorithm.getValue());
+        jwtVerificationKey.setPublicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+        jwtVerificationKey.setCreatedDate(now);
+        jwtVerificationKey.setExpiresAt(Instant.ofEpochMilli(rotateAt + maxTokenValidityMs));
+        jwtVerificationKeyRepository.save(jwtVerificationKey);
+        verificationKeys.put(kid, new VerificationKey(signatureAlgorithm, keyPair.getPublic(), rotateAt + maxTokenValidityMs));
+
+        log.info("Rotated the JWT signing key, new key id is {}", kid);
+        return new SigningKey(kid, signatureAlgorithm, keyPair.getPrivate(), rotateAt);
+    }
+
+    /**
+     * Makes sure a reload started after the given one has completed, for a token with an unknown key id: waits for the reload
+     * in flight, then runs a new one only if none was started meanwhile, at most once every {@code unknown-key-reload-ms}. A key
+     * published by another instance before the call is then known here, unless a reload for an unknown key id ran just before.
+     *
+     * @param startedBefore the value of {@link #reloadsStarted} when the unknown key was seen.
+     * @return whether the keys may have been reloaded since the unknown key was seen, false to reject the token without
+     * querying the database.
+     */
+    private boolean reloadForUnknownKey(long startedBefore) {
+        long now = System.currentTimeMillis();
+        long last = lastUnknownKeyReload.get();
+        boolean allowed = now - last >= unknownKeyReloadMs && lastUnknownKeyReload.compareAndSet(last, now);
+        if (!allowed && !reloading) {
+            return false;
+        }
+        reloadLock.lock();
+        try {
+            if (allowed && reloadsStarted.get() == startedBefore) {
+                loadVerificationKeys();
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+        return true;
+    }
+
+    private void reload() {
+        reloadLock.lock();
+        try {
+            loadVerificationKeys();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void loadVerificationKeys() {
+        reloadsStarted.incrementAndGet();
+        reloading = true;
+        try {
+            Map<String, VerificationKey> loaded = new HashMap<>();
+            for (JwtVerificationKey jwtVerificationKey : jwtVerificationKeyRepository.findAllByExpiresAtAfter(Instant.now())) {
+                try {
+                    loaded.put(jwtVerificationKey.getKid(), toVerificationKey(jwtVerificationKey));
+                } catch (GeneralSecurityException | IllegalArgumentException e) {
+                    log.warn("Ignoring the invalid JWT verification key {}: {}", jwtVerificationKey.getKid(), e.getMessage());
+                }
+            }
+            // Keys deleted from the table are revoked
+            verificationKeys.keySet().retainAll(loaded.keySet());
+            verificationKeys.putAll(loaded);
+        } finally {
+            reloading = false;
+        }
+    }
+
+    private static VerificationKey toVerificationKey(JwtVerificationKey jwtVerificationKey) throws GeneralSecurityException {
+        SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.forName(jwtVerificationKey.getAlgorithm());
+        KeyFactory keyFactory = KeyFactory.getInstance(signatureAlgorithm.isEllipticCurve() ? "EC" : "RSA");
+        byte[] encoded = Base64.getDecoder().decode(jwtVerificationKey.getPublicKey());
+        PublicKey publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(encoded));
+        return new VerificationKey(signatureAlgorithm, publicKey, jwtVerificationKey.getExpiresAt().toEpochMilli());
+    }
+
+    private static Map<String, Object> toJwk(String kid, VerificationKey verificationKey) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kid", kid);
+        jwk.put("use", "sig");
+        jwk.put("alg", verificationKey.algorithm.getValue());
+        if (verificationKey.publicKey instanceof ECPublicKey) {
+            ECPublicKey publicKey = (ECPublicKey) verificationKey.publicKey;
+            int length = (publicKey.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("x", base64Url(publicKey.getW().getAffineX(), length));
+            jwk.put("y", base64Url(publicKey.getW().getAffineY(), length));
+        } else {
+            RSAPublicKey publicKey = (RSAPublicKey) verificationKey.publicKey;
+            jwk.put("kty", "RSA");
+            jwk.put("n", base64Url(publicKey.getModulus(), (publicKey.getModulus().bitLength() + 7) / 8));
+            jwk.put("e", base64Url(publicKey.getPublicExponent(), (publicKey.getPublicExponent().bitLength() + 7) / 8));
+        }
+        return jwk;
+    }
+
+    /**
+     * Encodes an unsigned big-endian integer of a fixed length, as JWK coordinates are.
+     */
+    private static String base64Url(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        byte[] unsigned = new byte[length];
+        int copied = Math.min(bytes.length, length);
+        System.arraycopy(bytes, bytes.length - copied, unsigned, length - copied, copied);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(unsigned);
+    }
+
+    static final class SigningKey {
+
+        private final String kid;
+
+        private final SignatureAlgorithm algorithm;
+
+        private final PrivateKey privateKey;
+
+        private final long rotateAt;
+
+        private SigningKey(String kid, SignatureAlgorithm algorithm, PrivateKey privateKey, long rotateAt) {
+            this.kid = kid;
+            this.algorithm = algorithm;
+            this.privateKey = privateKey;
+            this.rotateAt = rotateAt;
+        }
+
+        String getKid() {
+            return kid;
+        }
+
+        SignatureAlgorithm getAlgorithm() {
+            return algorithm;
+        }
+
+        PrivateKey getPrivateKey() {
+            return privateKey;
+        }
+    }
+
+    private static final class VerificationKey {
+
+        private final SignatureAlgorithm algorithm;
+
+        private final PublicKey publicKey;
+
+        private final long expiresAt;
+
+        private VerificationKey(SignatureAlgorithm algorithm, PublicKey publicKey, long expiresAt) {
+            this.algorithm = algorithm;
+            this.publicKey = publicKey;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
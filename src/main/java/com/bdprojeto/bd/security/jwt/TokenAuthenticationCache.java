@@ -0,0 +1,116 @@
+package com.bdprojeto.bd.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Bounded cache of the {@link Authentication} built from already verified tokens, keyed by the SHA-256 hash of the token.
+ * <p>
+ * An entry is dropped once its token expires. When the cache is full, expired entries are purged first, then arbitrary ones
+ * until a tenth of the capacity is free, which only costs a new parse of the evicted tokens. Evicting a batch at a time keeps
+ * the full scan off most puts, and a single thread runs it while the others keep going.
+ */
+class TokenAuthenticationCache {
+
+    private final int maxEntries;
+
+    private final int evictionTarget;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    TokenAuthenticationCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.evictionTarget = maxEntries - Math.max(1, maxEntries / 10);
+    }
+
+    /**
+     * @return the cached token, or {@code null} if it is not cached or has expired.
+     */
+    Entry get(String token) {
+        if (maxEntries <= 0) {
+            return null;
+        }
+        String hash = hash(token);
+        Entry entry = entries.get(hash);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(hash, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    void put(String token, Authentication authentication, long issuedAt, long expiresAt) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        if (entries.size() >= maxEntries && evicting.compareAndSet(false, true)) {
+            try {
+                evict();
+            } finally {
+                evicting.set(false);
+            }
+        }
+        entries.put(hash(token), new Entry(authentication, issuedAt, expiresAt));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        Iterator<String> hashes = entries.keySet().iterator();
+        while (entries.size() > evictionTarget && hashes.hasNext()) {
+            hashes.next();
+            hashes.remove();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    static final class Entry {
+
+        private final Authentication authentication;
+
+        private final long issuedAt;
+
+        private final long expiresAt;
+
+        private Entry(Authentication authentication, long issuedAt, long expiresAt) {
+            this.authentication = authentication;
+            this.issuedAt = issuedAt;
+            this.expiresAt = expiresAt;
+        }
+
+        Authentication getAuthentication() {
+            return authentication;
+        }
+
+        /**
+         * @return the issue date of the token, in epoch seconds, 0 if unknown.
+         */
+        long getIssuedAt() {
+            return issuedAt;
+        }
+    }
+}
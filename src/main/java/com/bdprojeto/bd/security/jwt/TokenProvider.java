@@ -1,6 +1,8 @@
 package com.bdprojeto.bd.security.jwt;
 
+import com.bdprojeto.bd.config.ApplicationProperties;
 import com.bdprojeto.bd.management.SecurityMetersService;
+import com.bdprojeto.bd.security.AuthorityRegistry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -14,7 +16,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ObjectUtils;
@@ -39,7 +40,22 @@ public class TokenProvider {
 
     private final SecurityMetersService securityMetersService;
 
-    public TokenProvider(JHipsterProperties jHipsterProperties, SecurityMetersService securityMetersService) {
+    private final TokenAuthenticationCache authenticationCache;
+
+    private final AuthorityRegistry authorityRegistry;
+
+    private final JwtKeyManager jwtKeyManager;
+
+    private final TokenRevocationList tokenRevocationList;
+
+    public TokenProvider(
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        AuthorityRegistry authorityRegistry,
+        JwtKeyManager jwtKeyManager,
+        TokenRevocationList tokenRevocationList,
+        SecurityMetersService securityMetersService
+    ) {
         byte[] keyBytes;
         String secret = jHipsterProperties.getSecurity().getAuthentication().getJwt().getBase64Secret();
         if (!ObjectUtils.isEmpty(secret)) {
@@ -54,12 +70,20 @@ public class TokenProvider {
             keyBytes = secret.getBytes(StandardCharsets.UTF_8);
         }
         key = Keys.hmacShaKeyFor(keyBytes);
-        jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
+        if (jwtKeyManager.isAsymmetric()) {
+            jwtParser = Jwts.parserBuilder().setSigningKeyResolver(jwtKeyManager).build();
+        } else {
+            jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
+        }
         this.tokenValidityInMilliseconds = 1000 * jHipsterProperties.getSecurity().getAuthentication().getJwt().getTokenValidityInSeconds();
         this.tokenValidityInMillisecondsForRememberMe =
             1000 * jHipsterProperties.getSecurity().getAuthentication().getJwt().getTokenValidityInSecondsForRememberMe();
 
         this.securityMetersService = securityMetersService;
+        this.authenticationCache = new TokenAuthenticationCache(applicationProperties.getJwt().getCacheMaxEntries());
+        this.authorityRegistry = authorityRegistry;
+        this.jwtKeyManager = jwtKeyManager;
+        this.tokenRevocationList = tokenRevocationList;
     }
 
     public String createToken(Authentication authentication, boolean rememberMe) {
@@ -73,34 +97,49 @@ public class TokenProvider {
             validity = new Date(now + this.tokenValidityInMilliseconds);
         }
 
-        return Jwts
+        JwtBuilder builder = Jwts
             .builder()
             .setSubject(authentication.getName())
             .claim(AUTHORITIES_KEY, authorities)
-            .signWith(key, SignatureAlgorithm.HS512)
-            .setExpiration(validity)
-            .compact();
+            .setIssuedAt(new Date(now))
+            .setExpiration(validity);
+        if (jwtKeyManager.isAsymmetric()) {
+            JwtKeyManager.SigningKey signingKey = jwtKeyManager.signingKey();
+            builder.setHeaderParam(JwsHeader.KEY_ID, signingKey.getKid()).signWith(signingKey.getPrivateKey(), signingKey.getAlgorithm());
+        } else {
+            builder.signWith(key, SignatureAlgorithm.HS512);
+        }
+        return builder.compact();
     }
 
-    public Authentication getAuthentication(String token) {
-        Claims claims = jwtParser.parseClaimsJws(token).getBody();
-
-        Collection<? extends GrantedAuthority> authorities = Arrays
-            .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-            .filter(auth -> !auth.trim().isEmpty())
-            .map(SimpleGrantedAuthority::new)
-            .collect(Collectors.toList());
-
-        User principal = new User(claims.getSubject(), "", authorities);
-
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+    public boolean validateToken(String authToken) {
+        return resolveAuthentication(authToken).isPresent();
     }
 
-    public boolean validateToken(String authToken) {
+    /**
+     * Verifies a token and builds its authentication in a single parse.
+     * <p>
+     * The authentication of a verified token is cached until the token expires, so each distinct token is only parsed once.
+     * The revocation of the tokens of its user is checked on every call, cached or not.
+     *
+     * @param authToken the token presented by the client.
+     * @return the authentication of the token, or empty if the token is invalid or revoked.
+     */
+    public Optional<Authentication> resolveAuthentication(String authToken) {
+        TokenAuthenticationCache.Entry cached = authenticationCache.get(authToken);
+        if (cached != null) {
+            this.securityMetersService.trackTokenCacheHit();
+            return checkNotRevoked(cached.getAuthentication(), cached.getIssuedAt());
+        }
+        this.securityMetersService.trackTokenCacheMiss();
         try {
-            jwtParser.parseClaimsJws(authToken);
-
-            return true;
+            Claims claims = jwtParser.parseClaimsJws(authToken).getBody();
+            Authentication authentication = toAuthentication(claims, authToken);
+            long issuedAt = claims.getIssuedAt() == null ? 0 : claims.getIssuedAt().getTime() / 1000;
+            if (claims.getExpiration() != null) {
+                authenticationCache.put(authToken, authentication, issuedAt, claims.getExpiration().getTime());
+            }
+            return checkNotRevoked(authentication, issuedAt);
         } catch (ExpiredJwtException e) {
             this.securityMetersService.trackTokenExpired();
 
@@ -121,6 +160,22 @@ public class TokenProvider {
             log.error("Token validation error {}", e.getMessage());
         }
 
-        return false;
+        return Optional.empty();
+    }
+
+    private Optional<Authentication> checkNotRevoked(Authentication authentication, long issuedAt) {
+        if (tokenRevocationList.isRevoked(authentication.getName(), issuedAt)) {
+            this.securityMetersService.trackTokenRevoked();
+            return Optional.empty();
+        }
+        return Optional.of(authentication);
+    }
+
+    private Authentication toAuthentication(Claims claims, String token) {
+        Set<GrantedAuthority> authorities = authorityRegistry.parse(claims.get(AUTHORITIES_KEY).toString());
+
+        User principal = new User(claims.getSubject(), "", authorities);
+
+        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
     }
 }
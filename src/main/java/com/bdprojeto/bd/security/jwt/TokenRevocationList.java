@@ -0,0 +1,198 @@
+package com.bdprojeto.bd.security.jwt;
+
+import com.bdprojeto.bd.domain.TokenRevocation;
+import com.bdprojeto.bd.repository.TokenRevocationRepository;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Revocations of the access tokens of a login, issued before a date, checked on every authenticated request.
+ * <p>
+ * The revocations are stored in the {@code jhi_token_revocation} table, and mirrored in memory: the logins with a revocation
+ * are added to a Bloom filter, so that the tokens of all the other logins, nearly all of them, are accepted after hashing the
+ * login three times, without any lookup. The revocations made by the other instances are loaded incrementally every
+ * {@code application.jwt.revocation-refresh-ms}. A revocation is dropped once all the tokens it applies to have expired.
+ */
+@Component
+public class TokenRevocationList {
+
+    /**
+     * Size of the Bloom filter, 8 KB, for a false positive rate under 1% up to about 6000 revoked logins.
+     */
+    private static final int BLOOM_BITS = 1 << 16;
+
+    private static final int BLOOM_HASHES = 3;
+
+    /**
+     * Margin for the clocks of the instances, and for the transactions committed after the last refresh.
+     */
+    private static final long REFRESH_MARGIN_SECONDS = 30;
+
+    private final Logger log = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+
+    private final long maxTokenValiditySeconds;
+
+    /**
+     * The tokens of each login issued before this second, in epoch seconds, are revoked.
+     */
+    private final Map<String, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    private volatile AtomicLongArray bloomFilter = new AtomicLongArray(BLOOM_BITS / Long.SIZE);
+
+    private volatile Instant lastRefresh = Instant.EPOCH;
+
+    public TokenRevocationList(JHipsterProperties jHipsterProperties, TokenRevocationRepository tokenRevocationRepository) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+        JHipsterProperties.Security.Authentication.Jwt jwt = jHipsterProperties.getSecurity().getAuthentication().getJwt();
+        this.maxTokenValiditySeconds = Math.max(jwt.getTokenValidityInSeconds(), jwt.getTokenValidityInSecondsForRememberMe());
+    }
+
+    /**
+     * Revokes all the tokens of a login issued until now.
+     * <p>
+     * Token dates have a precision of one second, so a token issued later within the same second is revoked too. Within a
+     * transaction, the revocation is only applied in memory once it commits, so that a rolled back change does not revoke the
+     * tokens of this instance alone.
+     *
+     * @param login the login of the user.
+     */
+    public void revokeAll(String login) {
+        long watermark = (System.currentTimeMillis() + 999) / 1000;
+        TokenRevocation tokenRevocation = new TokenRevocation();
+        tokenRevocation.setLogin(login);
+        tokenRevocation.setRevokedBefore(Instant.ofEpochSecond(watermark));
+        tokenRevocationRepository.save(tokenRevocation);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        apply(login, watermark);
+                    }
+                }
+            );
+        } else {
+            apply(login, watermark);
+        }
+        log.debug("Revoked the tokens of {} issued before {}", login, tokenRevocation.getRevokedBefore());
+    }
+
+    /**
+     * @param login the subject of the token.
+     * @param issuedAt the issue date of the token, in epoch seconds, 0 if unknown.
+     * @return whether the token is revoked.
+     */
+    public boolean isRevoked(String login, long issuedAt) {
+        if (!mightContain(bloomFilter, login)) {
+            return false;
+        }
+        Long watermark = revokedBefore.get(login);
+        return watermark != null && issuedAt < watermark;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        load(Instant.now().minusSeconds(maxTokenValiditySeconds));
+    }
+
+    /**
+     * Loads the revocations made since the last refresh, by this instance or the others.
+     */
+    @Scheduled(
+        fixedDelayString = "${application.jwt.revocation-refresh-ms:5000}",
+        initialDelayString = "${application.jwt.revocation-refresh-ms:5000}"
+    )
+    public void refresh() {
+        load(lastRefresh.minusSeconds(REFRESH_MARGIN_SECONDS));
+    }
+
+    /**
+     * Drops the revocations whose tokens have all expired, and rebuilds the Bloom filter without them.
+     */
+    @Scheduled(fixedDelay = 3600000)
+    public void purge() {
+        Instant expired = Instant.now().minusSeconds(maxTokenValiditySeconds);
+        revokedBefore.values().removeIf(watermark -> watermark < expired.getEpochSecond());
+        AtomicLongArray rebuilt = new AtomicLongArray(BLOOM_BITS / Long.SIZE);
+        revokedBefore.keySet().forEach(login -> add(rebuilt, login));
+        bloomFilter = rebuilt;
+        // Logins revoked while rebuilding may only be in the previous filter
+        revokedBefore.keySet().forEach(login -> add(rebuilt, login));
+        try {
+            tokenRevocationRepository.deleteAllRevokedBefore(expired);
+        } catch (DataAccessException e) {
+            log.warn("Could not delete the expired token revocations: {}", e.getMessage());
+        }
+    }
+
+    private void load(Instant since) {
+        Instant now = Instant.now();
+        try {
+            for (TokenRevocation tokenRevocation : tokenRevocationRepository.findAllByRevokedBeforeAfter(since)) {
+                apply(tokenRevocation.getLogin(), tokenRevocation.getRevokedBefore().getEpochSecond());
+            }
+            lastRefresh = now;
+        } catch (DataAccessException e) {
+            log.warn("Could not load the token revocations: {}", e.getMessage());
+        }
+    }
+
+    private void apply(String login, long watermark) {
+        // The watermark is set before the filter bits, so that a login found in the filter always has its watermark
+        revokedBefore.merge(login, watermark, Math::max);
+        add(bloomFilter, login);
+    }
+
+    private static void add(AtomicLongArray filter, String login) {
+        int hash = login.hashCode();
+        int step = mix(hash);
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = (hash + i * step) & (BLOOM_BITS - 1);
+            long mask = 1L << (bit & (Long.SIZE - 1));
+            int index = bit >>> 6;
+            long word;
+            do {
+                word = filter.get(index);
+            } while ((word & mask) == 0 && !filter.compareAndSet(index, word, word | mask));
+        }
+    }
+
+    private static boolean mightContain(AtomicLongArray filter, String login) {
+        int hash = login.hashCode();
+        int step = mix(hash);
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = (hash + i * step) & (BLOOM_BITS - 1);
+            if ((filter.get(bit >>> 6) & (1L << (bit & (Long.SIZE - 1)))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Derives a second, odd, hash from the first one (MurmurHash3 finalizer).
+     */
+    private static int mix(int hash) {
+        int h = hash;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h | 1;
+    }
+}
@@ -0,0 +1,226 @@
+package com.bdprojeto.bd.service;
+
+import com.bdprojeto.bd.config.ApplicationProperties;
+import com.bdprojeto.bd.domain.MailOutboxMessage;
+import com.bdprojeto.bd.repository.MailOutboxMessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Service sending the emails queued in the outbox by the {@link MailService}.
+ * <p>
+ * The due emails are sent in batches, each batch over a single SMTP connection and in its own transaction, which locks the
+ * emails of the batch so that several instances can drain the outbox together. A sent email is deleted; an email that could
+ * not be sent is retried with an exponential backoff, until it reaches the maximum number of attempts. The locks and the
+ * transaction of a batch are held during its SMTP exchange, which is bounded by the {@code mail.smtp.*timeout} properties of
+ * {@code spring.mail.properties}.
+ * <p>
+ * Publishes the number of emails waiting in {@code mail.outbox.pending}, and of abandoned ones in
+ * {@code mail.outbox.abandoned}, the duration of the SMTP exchanges in {@code mail.outbox.send}, and the delay between the
+ * queuing and the sending of the emails in {@code mail.outbox.delivery}.
+ * <p>
+ * This class is deliberately not {@link org.springframework.transaction.annotation.Transactional}, each batch commits on its
+ * own.
+ */
+@Service
+public class MailOutboxWorker {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(MailOutboxWorker.class);
+
+    private final MailOutboxMessageRepository mailOutboxMessageRepository;
+
+    private final JavaMailSender javaMailSender;
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final ApplicationProperties.MailOutbox properties;
+
+    private final TransactionTemplate batchTransactionTemplate;
+
+    private final AtomicLong pending = new AtomicLong();
+
+    private final AtomicLong abandoned = new AtomicLong();
+
+    private final Timer sendTimer;
+
+    private final Timer failedSendTimer;
+
+    private final Timer deliveryTimer;
+
+    private final Counter retriedCounter;
+
+    private final Counter abandonedCounter;
+
+    public MailOutboxWorker(
+        MailOutboxMessageRepository mailOutboxMessageRepository,
+        JavaMailSender javaMailSender,
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.mailOutboxMessageRepository = mailOutboxMessageRepository;
+        this.javaMailSender = javaMailSender;
+        this.jHipsterProperties = jHipsterProperties;
+        this.properties = applicationProperties.getMailOutbox();
+        this.batchTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Gauge.builder("mail.outbox.pending", pending, AtomicLong::get).description("Emails waiting to be sent").register(meterRegistry);
+        Gauge
+            .builder("mail.outbox.abandoned", abandoned, AtomicLong::get)
+            .description("Emails abandoned after too many failed attempts")
+            .register(meterRegistry);
+        this.sendTimer = sendTimerBuilder("success").register(meterRegistry);
+        this.failedSendTimer = sendTimerBuilder("failure").register(meterRegistry);
+        this.deliveryTimer =
+            Timer
+                .builder("mail.outbox.delivery")
+                .description("Delay between the queuing and the sending of the emails")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.retriedCounter = attemptsCounterBuilder("retried").register(meterRegistry);
+        this.abandonedCounter = attemptsCounterBuilder("abandoned").register(meterRegistry);
+    }
+
+    private static Timer.Builder sendTimerBuilder(String outcome) {
+        return Timer
+            .builder("mail.outbox.send")
+            .description("Sending of a batch of emails over one SMTP connection")
+            .tag("outcome", outcome)
+            .publishPercentileHistogram();
+    }
+
+    private static Counter.Builder attemptsCounterBuilder(String result) {
+        return Counter.builder("mail.outbox.failures").description("Emails that could not be sent").tag("result", result);
+    }
+
+    /**
+     * Sends the due emails, batch after batch, until none is left.
+     */
+    @Scheduled(
+        fixedDelayString = "${application.mail-outbox.poll-ms:5000}",
+        initialDelayString = "${application.mail-outbox.poll-ms:5000}"
+    )
+    public void drain() {
+        try {
+            Integer attempted;
+            do {
+                attempted = batchTransactionTemplate.execute(status -> sendBatch());
+            } while (attempted != null && attempted == properties.getBatchSize());
+            pending.set(mailOutboxMessageRepository.countByAttemptsLessThan(properties.getMaxAttempts()));
+            abandoned.set(mailOutboxMessageRepository.countByAttemptsGreaterThanEqual(properties.getMaxAttempts()));
+        } catch (DataAccessException e) {
+            log.warn("Could not drain the mail outbox: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return the number of emails attempted.
+     */
+    private int sendBatch() {
+        Instant now = Instant.now();
+        List<MailOutboxMessage> messages = mailOutboxMessageRepository.findAllDueForUpdate(
+            now,
+            properties.getMaxAttempts(),
+            PageRequest.of(0, properties.getBatchSize())
+        );
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        Map<MimeMessage, MailOutboxMessage> mimeMessages = new IdentityHashMap<>();
+        List<MailOutboxMessage> sent = new ArrayList<>();
+        for (MailOutboxMessage message : messages) {
+            try {
+                mimeMessages.put(toMimeMessage(message), message);
+            } catch (MessagingException e) {
+                fail(message, e, now);
+            }
+        }
+
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        if (!mimeMessages.isEmpty()) {
+            long start = System.nanoTime();
+            try {
+                javaMailSender.send(mimeMessages.keySet().toArray(new MimeMessage[0]));
+                sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            } catch (MailSendException e) {
+                failedSendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                failures.putAll(e.getFailedMessages());
+                if (failures.isEmpty()) {
+                    mimeMessages.keySet().forEach(mimeMessage -> failures.put(mimeMessage, e));
+                }
+            } catch (MailException e) {
+                failedSendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                mimeMessages.keySet().forEach(mimeMessage -> failures.put(mimeMessage, e));
+            }
+        }
+        mimeMessages.forEach((mimeMessage, message) -> {
+            Exception failure = failures.get(mimeMessage);
+            if (failure != null) {
+                fail(message, failure, now);
+            } else {
+                sent.add(message);
+                deliveryTimer.record(Duration.between(message.getCreatedDate(), now));
+            }
+        });
+        mailOutboxMessageRepository.deleteAll(sent);
+        log.debug("Sent {} of {} queued emails", sent.size(), messages.size());
+        return messages.size();
+    }
+
+    private MimeMessage toMimeMessage(MailOutboxMessage message) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, message.isMultipart(), StandardCharsets.UTF_8.name());
+        helper.setTo(message.getRecipient());
+        helper.setFrom(jHipsterProperties.getMail().getFrom());
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getContent(), message.isHtml());
+        return mimeMessage;
+    }
+
+    private void fail(MailOutboxMessage message, Exception e, Instant now) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        String error = String.valueOf(e.getMessage());
+        message.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        if (attempts >= properties.getMaxAttempts()) {
+            abandonedCounter.increment();
+            log.warn("Email {} could not be sent to '{}' after {} attempts", message.getId(), message.getRecipient(), attempts, e);
+            return;
+        }
+        retriedCounter.increment();
+        long delay = Math.min(properties.getRetryDelaySeconds() << Math.min(attempts - 1, 30), properties.getMaxRetryDelaySeconds());
+        message.setNextAttemptAt(now.plusSeconds(delay));
+        log.debug("Email {} could not be sent to '{}', retrying in {}s: {}", message.getId(), message.getRecipient(), delay, error);
+    }
+}
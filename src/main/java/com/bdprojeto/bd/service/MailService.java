@@ -1,28 +1,42 @@
 package com.bdprojeto.bd.service;
 
+import com.bdprojeto.bd.config.Constants;
+import com.bdprojeto.bd.domain.MailOutboxMessage;
 import com.bdprojeto.bd.domain.User;
-import java.nio.charset.StandardCharsets;
+import com.bdprojeto.bd.repository.MailOutboxMessageRepository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
-import javax.mail.MessagingException;
-import javax.mail.internet.MimeMessage;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.MessageSource;
-import org.springframework.mail.MailException;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.AbstractConfigurableTemplateResolver;
+import org.thymeleaf.templateresolver.ITemplateResolver;
 import tech.jhipster.config.JHipsterProperties;
 
 /**
  * Service for sending emails.
  * <p>
- * We use the {@link Async} annotation to send emails asynchronously.
+ * Emails are not sent right away, but stored in the outbox within the current transaction, so that an email is only sent if
+ * the change it notifies is committed, and is not lost if the mail server is unavailable. The {@link MailOutboxWorker} sends
+ * them.
+ * <p>
+ * The templates are parsed once by the template engine, which caches them by name whatever the locale. The subjects are
+ * cached here by title key and locale. Both caches are only enabled with {@code spring.thymeleaf.cache}, so that the
+ * templates and messages can be edited in development.
  */
 @Service
+@Transactional
 public class MailService {
 
     private final Logger log = LoggerFactory.getLogger(MailService.class);
@@ -33,28 +47,32 @@ public class MailService {
 
     private final JHipsterProperties jHipsterProperties;
 
-    private final JavaMailSender javaMailSender;
+    private final MailOutboxMessageRepository mailOutboxMessageRepository;
 
     private final MessageSource messageSource;
 
     private final SpringTemplateEngine templateEngine;
 
+    private final boolean cacheable;
+
+    private final Map<String, String> subjects = new ConcurrentHashMap<>();
+
     public MailService(
         JHipsterProperties jHipsterProperties,
-        JavaMailSender javaMailSender,
+        MailOutboxMessageRepository mailOutboxMessageRepository,
         MessageSource messageSource,
         SpringTemplateEngine templateEngine
     ) {
         this.jHipsterProperties = jHipsterProperties;
-        this.javaMailSender = javaMailSender;
+        this.mailOutboxMessageRepository = mailOutboxMessageRepository;
         this.messageSource = messageSource;
         this.templateEngine = templateEngine;
+        this.cacheable = templateEngine.getTemplateResolvers().stream().allMatch(MailService::isCacheable);
     }
 
-    @Async
     public void sendEmail(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
         log.debug(
-            "Send email[multipart '{}' and html '{}'] to '{}' with subject '{}' and content={}",
+            "Queue email[multipart '{}' and html '{}'] to '{}' with subject '{}' and content={}",
             isMultipart,
             isHtml,
             to,
@@ -62,49 +80,117 @@ public class MailService {
             content
         );
 
-        // Prepare message using a Spring helper
-        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
-        try {
-            MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
-            message.setTo(to);
-            message.setFrom(jHipsterProperties.getMail().getFrom());
-            message.setSubject(subject);
-            message.setText(content, isHtml);
-            javaMailSender.send(mimeMessage);
-            log.debug("Sent email to User '{}'", to);
-        } catch (MailException | MessagingException e) {
-            log.warn("Email could not be sent to user '{}'", to, e);
-        }
+        mailOutboxMessageRepository.save(outboxMessage(to, subject, content, isMultipart, isHtml, Instant.now()));
     }
 
-    @Async
     public void sendEmailFromTemplate(User user, String templateName, String titleKey) {
         if (user.getEmail() == null) {
             log.debug("Email doesn't exist for user '{}'", user.getLogin());
             return;
         }
-        Locale locale = Locale.forLanguageTag(user.getLangKey());
-        Context context = new Context(locale);
+        Locale locale = locale(user);
+        Context context = context(locale);
         context.setVariable(USER, user);
-        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
         String content = templateEngine.process(templateName, context);
-        String subject = messageSource.getMessage(titleKey, null, locale);
-        sendEmail(user.getEmail(), subject, content, false, true);
+        sendEmail(user.getEmail(), subject(titleKey, locale), content, false, true);
+    }
+
+    /**
+     * Queues the same templated email to many users, such as for a campaign, rendered for all of them in one pass.
+     *
+     * @param users the recipients, those without an email are skipped.
+     * @param templateName the name of the template.
+     * @param titleKey the message key of the subject.
+     */
+    public void sendEmailsFromTemplate(Collection<User> users, String templateName, String titleKey) {
+        List<MailOutboxMessage> messages = renderAll(users, templateName, titleKey);
+        mailOutboxMessageRepository.saveAll(messages);
+        log.debug("Queued {} '{}' emails", messages.size(), templateName);
+    }
+
+    /**
+     * Renders a template for many users. The users are grouped by language, so that the context and the subject of each
+     * language are prepared once, and only the user changes between two renderings.
+     *
+     * @param users the recipients, those without an email are skipped.
+     * @param templateName the name of the template.
+     * @param titleKey the message key of the subject.
+     * @return the emails, not queued yet.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<MailOutboxMessage> renderAll(Collection<User> users, String templateName, String titleKey) {
+        Map<Locale, List<User>> usersByLocale = new LinkedHashMap<>();
+        for (User user : users) {
+            if (user.getEmail() != null) {
+                usersByLocale.computeIfAbsent(locale(user), locale -> new ArrayList<>()).add(user);
+            }
+        }
+        Instant now = Instant.now();
+        List<MailOutboxMessage> messages = new ArrayList<>(users.size());
+        usersByLocale.forEach((locale, recipients) -> {
+            Context context = context(locale);
+            String subject = subject(titleKey, locale);
+            for (User user : recipients) {
+                context.setVariable(USER, user);
+                messages.add(outboxMessage(user.getEmail(), subject, templateEngine.process(templateName, context), false, true, now));
+            }
+        });
+        return messages;
+    }
+
+    private Context context(Locale locale) {
+        Context context = new Context(locale);
+        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
+        return context;
+    }
+
+    private String subject(String titleKey, Locale locale) {
+        if (!cacheable) {
+            return messageSource.getMessage(titleKey, null, locale);
+        }
+        return subjects.computeIfAbsent(locale.toLanguageTag() + ':' + titleKey, key -> messageSource.getMessage(titleKey, null, locale));
+    }
+
+    private static boolean isCacheable(ITemplateResolver templateResolver) {
+        return (
+            templateResolver instanceof AbstractConfigurableTemplateResolver &&
+            ((AbstractConfigurableTemplateResolver) templateResolver).isCacheable()
+        );
+    }
+
+    private static Locale locale(User user) {
+        return Locale.forLanguageTag(user.getLangKey() != null ? user.getLangKey() : Constants.DEFAULT_LANGUAGE);
+    }
+
+    private static MailOutboxMessage outboxMessage(
+        String to,
+        String subject,
+        String content,
+        boolean isMultipart,
+        boolean isHtml,
+        Instant now
+    ) {
+        MailOutboxMessage message = new MailOutboxMessage();
+        message.setRecipient(to);
+        message.setSubject(subject);
+        message.setContent(content);
+        message.setMultipart(isMultipart);
+        message.setHtml(isHtml);
+        message.setNextAttemptAt(now);
+        message.setCreatedDate(now);
+        return message;
     }
 
-    @Async
     public void sendActivationEmail(User user) {
         log.debug("Sending activation email to '{}'", user.getEmail());
         sendEmailFromTemplate(user, "mail/activationEmail", "email.activation.title");
     }
 
-    @Async
     public void sendCreationEmail(User user) {
         log.debug("Sending creation email to '{}'", user.getEmail());
         sendEmailFromTemplate(user, "mail/creationEmail", "email.activation.title");
     }
 
-    @Async
     public void sendPasswordResetMail(User user) {
         log.debug("Sending password reset email to '{}'", user.getEmail());
         sendEmailFromTemplate(user, "mail/passwordResetEmail", "email.reset.title");
@@ -0,0 +1,187 @@
+package com.bdprojeto.bd.service;
+
+import com.bdprojeto.bd.config.ApplicationProperties;
+import com.bdprojeto.bd.domain.Authority;
+import com.bdprojeto.bd.domain.RefreshToken;
+import com.bdprojeto.bd.domain.User;
+import com.bdprojeto.bd.repository.RefreshTokenRepository;
+import com.bdprojeto.bd.repository.UserRepository;
+import com.bdprojeto.bd.security.AuthorityRegistry;
+import com.bdprojeto.bd.security.jwt.TokenProvider;
+import com.bdprojeto.bd.service.dto.AuthenticationTokensDTO;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service class for managing the refresh tokens, which renew the access tokens without verifying the password again.
+ */
+@Service
+@Transactional
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    private final UserRepository userRepository;
+
+    private final TokenProvider tokenProvider;
+
+    private final AuthorityRegistry authorityRegistry;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final ScheduledJobService scheduledJobService;
+
+    private final TransactionTemplate purgeTransactionTemplate;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(
+        RefreshTokenRepository refreshTokenRepository,
+        UserRepository userRepository,
+        TokenProvider tokenProvider,
+        AuthorityRegistry authorityRegistry,
+        ApplicationProperties applicationProperties,
+        ScheduledJobService scheduledJobService,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.tokenProvider = tokenProvider;
+        this.authorityRegistry = authorityRegistry;
+        this.applicationProperties = applicationProperties;
+        this.scheduledJobService = scheduledJobService;
+        this.purgeTransactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Opens a session for a user who just authenticated.
+     *
+     * @param login the login of the user.
+     * @param rememberMe whether the session lasts for the remember-me validity.
+     * @return the refresh token of the session.
+     */
+    public String create(String login, boolean rememberMe) {
+        User user = userRepository
+            .findOneByLogin(login)
+            .orElseThrow(() -> new IllegalStateException("User " + login + " was not found in the database"));
+        Instant now = Instant.now();
+        long validitySeconds = rememberMe
+            ? applicationProperties.getRefreshToken().getRememberMeValiditySeconds()
+            : applicationProperties.getRefreshToken().getValiditySeconds();
+        return issue(user, rememberMe, now, now.plusSeconds(validitySeconds));
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token, which expires with the old one.
+     * <p>
+     * The user must still be activated, and the access token carries its current authorities. Presenting an already used
+     * token revokes all the sessions of its user, since either the user or an attacker holds a stolen copy.
+     *
+     * @param rawToken the refresh token presented by the client.
+     * @return the new tokens, or empty if the refresh token is unknown, expired or revoked.
+     */
+    public Optional<AuthenticationTokensDTO> refresh(String rawToken) {
+        Optional<RefreshToken> found = refreshTokenRepository.findOneWithUserByTokenHash(hash(rawToken));
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        RefreshToken refreshToken = found.get();
+        User user = refreshToken.getUser();
+        Instant now = Instant.now();
+        if (refreshToken.getRevokedDate() != null || refreshTokenRepository.revoke(refreshToken.getId(), now) == 0) {
+            log.warn("Reuse of a revoked refresh token of user {}, revoking all its refresh tokens", user.getLogin());
+            refreshTokenRepository.revokeAllByUser(user, now);
+            return Optional.empty();
+        }
+        if (!refreshToken.getExpiresAt().isAfter(now) || !user.isActivated()) {
+            return Optional.empty();
+        }
+
+        Set<GrantedAuthority> authorities = authorityRegistry.fromNames(
+            user.getAuthorities().stream().map(Authority::getName).collect(Collectors.toList())
+        );
+        String accessToken = tokenProvider.createToken(
+            new UsernamePasswordAuthenticationToken(user.getLogin(), "", authorities),
+            refreshToken.isRememberMe()
+        );
+        String newRefreshToken = issue(user, refreshToken.isRememberMe(), now, refreshToken.getExpiresAt());
+        return Optional.of(new AuthenticationTokensDTO(accessToken, newRefreshToken));
+    }
+
+    /**
+     * Ends the session of a refresh token, if it is still open.
+     *
+     * @param rawToken the refresh token presented by the client.
+     */
+    public void revoke(String rawToken) {
+        refreshTokenRepository
+            .findOneWithUserByTokenHash(hash(rawToken))
+            .filter(refreshToken -> refreshToken.getRevokedDate() == null)
+            .ifPresent(refreshToken -> refreshToken.setRevokedDate(Instant.now()));
+    }
+
+    /**
+     * Expired refresh tokens are deleted every day, at 01:30 (am), by one instance of the cluster.
+     * <p>
+     * Runs outside of any transaction, so that the lease of the job is taken before the delete starts its own, and released once
+     * it commits.
+     */
+    @Scheduled(cron = "0 30 1 * * ?")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void removeExpiredTokens() {
+        scheduledJobService.run(
+            "refresh-token-purge",
+            Duration.ofMinutes(30),
+            () -> {
+                Integer deleted = purgeTransactionTemplate.execute(status -> refreshTokenRepository.deleteAllExpired(Instant.now()));
+                log.debug("Deleted {} expired refresh tokens", deleted);
+            }
+        );
+    }
+
+    private String issue(User user, boolean rememberMe, Instant now, Instant expiresAt) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(rawToken));
+        refreshToken.setUser(user);
+        refreshToken.setRememberMe(rememberMe);
+        refreshToken.setCreatedDate(now);
+        refreshToken.setExpiresAt(expiresAt);
+        refreshTokenRepository.save(refreshToken);
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.bdprojeto.bd.service;
+
+import com.bdprojeto.bd.config.ApplicationProperties;
+import com.bdprojeto.bd.domain.ScheduledJobExecution;
+import com.bdprojeto.bd.domain.ScheduledJobLock;
+import com.bdprojeto.bd.repository.ScheduledJobExecutionRepository;
+import com.bdprojeto.bd.repository.ScheduledJobLockRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service running the scheduled jobs once per cluster, rather than once per instance.
+ * <p>
+ * Every instance fires the {@link Scheduled} method of a job, which hands the job to {@link #run(String, Duration, Runnable)}:
+ * the first instance to take the lease of the job in the {@code jhi_scheduled_job_lock} table runs it, the others skip it.
+ * The lease is kept for {@code application.scheduled-jobs.min-lease-seconds} at least, so that the instances firing a little
+ * later do not run the job again, and expires after the maximum duration of the job, so that an instance stopped while running
+ * it does not block it forever.
+ * <p>
+ * Each execution is recorded in the {@code jhi_scheduled_job_execution} table, served at {@code /management/scheduledjobs},
+ * and timed in {@code scheduled.jobs}.
+ * <p>
+ * This class is deliberately not {@link org.springframework.transaction.annotation.Transactional}, the leases and the history
+ * commit on their own, whatever the outcome of the job.
+ */
+@Service
+public class ScheduledJobService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(ScheduledJobService.class);
+
+    private final ScheduledJobLockRepository scheduledJobLockRepository;
+
+    private final ScheduledJobExecutionRepository scheduledJobExecutionRepository;
+
+    private final ApplicationProperties.ScheduledJobs properties;
+
+    private final TransactionTemplate leaseTransactionTemplate;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Identifies this instance in the leases and the history, as {@code pid@hostname}.
+     */
+    private final String instance = ManagementFactory.getRuntimeMXBean().getName();
+
+    public ScheduledJobService(
+        ScheduledJobLockRepository scheduledJobLockRepository,
+        ScheduledJobExecutionRepository scheduledJobExecutionRepository,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.scheduledJobLockRepository = scheduledJobLockRepository;
+        this.scheduledJobExecutionRepository = scheduledJobExecutionRepository;
+        this.properties = applicationProperties.getScheduledJobs();
+        this.leaseTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.leaseTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs a job, unless another instance is running it or has just run it.
+     * <p>
+     * An exception thrown by the job is recorded, then rethrown, so that the transaction of the caller, if any, rolls back.
+     *
+     * @param name the name of the job, unique in the application.
+     * @param maxDuration the duration after which the lease expires, longer than the job ever takes.
+     * @param job the job.
+     * @return whether the job ran on this instance.
+     */
+    public boolean run(String name, Duration maxDuration, Runnable job) {
+        // The lease is identified by its date, truncated to stay equal once stored in the database
+        Instant lockedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        if (!acquire(name, lockedAt, lockedAt.plus(maxDuration))) {
+            log.debug("Skipped job {}, run by another instance", name);
+            return false;
+        }
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            job.run();
+        } catch (RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            long durationNanos = System.nanoTime() - start;
+            Timer
+                .builder("scheduled.jobs")
+                .description("Executions of the scheduled jobs")
+                .tag("job", name)
+                .tag("outcome", failure == null ? "success" : "failure")
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+            record(name, lockedAt, durationNanos, failure);
+            release(name, lockedAt);
+        }
+        return true;
+    }
+
+    /**
+     * @return the leases of the jobs, by name.
+     */
+    public List<ScheduledJobLock> findLeases() {
+        return scheduledJobLockRepository.findAll(Sort.by("name"));
+    }
+
+    /**
+     * @return the latest executions of the jobs, latest first.
+     */
+    public List<ScheduledJobExecution> findRecentExecutions() {
+        return scheduledJobExecutionRepository.findAllByOrderByStartedAtDesc(PageRequest.of(0, properties.getHistorySize()));
+    }
+
+    /**
+     * The history of the job executions is purged every day, at 01:45 (am).
+     */
+    @Scheduled(cron = "0 45 1 * * ?")
+    public void removeOldExecutions() {
+        run(
+            "scheduled-job-history-purge",
+            Duration.ofMinutes(10),
+            () -> {
+                Instant before = Instant.now().minus(properties.getHistoryRetentionDays(), ChronoUnit.DAYS);
+                int deleted = scheduledJobExecutionRepository.deleteAllStartedBefore(before);
+                log.debug("Deleted {} scheduled job executions", deleted);
+            }
+        );
+    }
+
+    private boolean acquire(String name, Instant now, Instant until) {
+        try {
+            Boolean acquired = leaseTransactionTemplate.execute(status -> {
+                if (scheduledJobLockRepository.acquire(name, now, until, instance) == 1) {
+                    return true;
+                }
+                if (scheduledJobLockRepository.existsById(name)) {
+                    return false;
+                }
+                ScheduledJobLock lock = new ScheduledJobLock();
+                lock.setName(name);
+                lock.setLockedAt(now);
+                lock.setLockedUntil(until);
+                lock.setLockedBy(instance);
+                scheduledJobLockRepository.saveAndFlush(lock);
+                return true;
+            });
+            return Boolean.TRUE.equals(acquired);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the lease of the job first
+            return false;
+        } catch (DataAccessException e) {
+            log.warn("Could not take the lease of job {}: {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    private void release(String name, Instant lockedAt) {
+        Instant minUntil = lockedAt.plusSeconds(properties.getMinLeaseSeconds());
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        try {
+            leaseTransactionTemplate.execute(status ->
+                scheduledJobLockRepository.release(name, lockedAt, instance, minUntil.isAfter(now) ? minUntil : now)
+            );
+        } catch (DataAccessException e) {
+            log.warn("Could not release the lease of job {}, it will expire: {}", name, e.getMessage());
+        }
+    }
+
+    private void record(String name, Instant startedAt, long durationNanos, Throwable failure) {
+        ScheduledJobExecution execution = new ScheduledJobExecution();
+        execution.setJobName(name);
+        execution.setInstance(instance);
+        execution.setStartedAt(startedAt);
+        execution.setFinishedAt(Instant.now());
+        execution.setDurationMs(TimeUnit.NANOSECONDS.toMillis(durationNanos));
+        if (failure == null) {
+            execution.setStatus(ScheduledJobExecution.Status.SUCCEEDED);
+        } else {
+            execution.setStatus(ScheduledJobExecution.Status.FAILED);
+            String error = String.valueOf(failure.getMessage());
+            execution.setError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            log.warn("Job {} failed after {}ms", name, execution.getDurationMs(), failure);
+        }
+        try {
+            leaseTransactionTemplate.execute(status -> scheduledJobExecutionRepository.save(execution));
+        } catch (DataAccessException e) {
+            log.warn("Could not record the execution of job {}: {}", name, e.getMessage());
+        }
+    }
+}
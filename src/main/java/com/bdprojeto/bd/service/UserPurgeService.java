@@ -0,0 +1,145 @@
+package com.bdprojeto.bd.service;
+
+import com.bdprojeto.bd.config.ApplicationProperties;
+import com.bdprojeto.bd.domain.User;
+import com.bdprojeto.bd.repository.RefreshTokenRepository;
+import com.bdprojeto.bd.repository.UserRepository;
+import com.bdprojeto.bd.service.cache.CacheInvalidation;
+import com.bdprojeto.bd.service.cache.CacheInvalidationBus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service deleting the users who did not activate their account in time.
+ * <p>
+ * The purge runs on a single instance of the cluster, through the {@link ScheduledJobService}. The users are deleted in
+ * batches, each in its own transaction, with bulk deletes of their refresh tokens, their authorities and themselves, rather
+ * than one entity at a time. Each batch locks its users, so that two purges never delete the same users, should a lease expire
+ * while its purge is still running.
+ * <p>
+ * Publishes the number of users deleted in {@code users.purge.deleted}, and the duration of the purges in
+ * {@code users.purge}.
+ * <p>
+ * This class is deliberately not {@link org.springframework.transaction.annotation.Transactional}, each batch commits on its
+ * own.
+ */
+@Service
+public class UserPurgeService {
+
+    private final Logger log = LoggerFactory.getLogger(UserPurgeService.class);
+
+    private final UserRepository userRepository;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    private final CacheManager cacheManager;
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private final ScheduledJobService scheduledJobService;
+
+    private final ApplicationProperties.UserPurge properties;
+
+    private final TransactionTemplate batchTransactionTemplate;
+
+    private final Counter deletedCounter;
+
+    private final Timer purgeTimer;
+
+    public UserPurgeService(
+        UserRepository userRepository,
+        RefreshTokenRepository refreshTokenRepository,
+        CacheManager cacheManager,
+        CacheInvalidationBus cacheInvalidationBus,
+        ScheduledJobService scheduledJobService,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.userRepository = userRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.cacheManager = cacheManager;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.scheduledJobService = scheduledJobService;
+        this.properties = applicationProperties.getUserPurge();
+        this.batchTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.deletedCounter =
+            Counter
+                .builder("users.purge.deleted")
+                .description("Users deleted for not activating their account")
+                .register(meterRegistry);
+        this.purgeTimer =
+            Timer.builder("users.purge").description("Purge of the users who did not activate their account").register(meterRegistry);
+    }
+
+    /**
+     * Not activated users should be automatically deleted after {@code application.user-purge.not-activated-retention-days}.
+     * <p>
+     * This is scheduled to get fired everyday, at 01:00 (am), and runs on one instance of the cluster.
+     */
+    @Scheduled(cron = "0 0 1 * * ?")
+    public void removeNotActivatedUsers() {
+        scheduledJobService.run("not-activated-user-purge", Duration.ofHours(2), this::purge);
+    }
+
+    private void purge() {
+        Instant before = Instant.now().minus(properties.getNotActivatedRetentionDays(), ChronoUnit.DAYS);
+        long start = System.nanoTime();
+        long deleted = 0;
+        try {
+            Integer batch;
+            do {
+                batch = batchTransactionTemplate.execute(status -> deleteBatch(before));
+                deleted += batch != null ? batch : 0;
+            } while (batch != null && batch == properties.getBatchSize());
+        } finally {
+            purgeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        log.info("Deleted {} not activated users", deleted);
+    }
+
+    /**
+     * @return the number of users deleted.
+     */
+    private int deleteBatch(Instant before) {
+        List<User> users = userRepository.findAllNotActivatedBeforeForUpdate(before, PageRequest.of(0, properties.getBatchSize()));
+        if (users.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = users.stream().map(User::getId).collect(Collectors.toList());
+        refreshTokenRepository.deleteAllByUserIdIn(ids);
+        // The bulk delete removes the rows of jhi_user_authority too, and skips the Hibernate listeners
+        userRepository.deleteAllByIdInBatch(ids);
+        Cache usersByEmailCache = Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE));
+        for (User user : users) {
+            log.debug("Deleted not activated user {}", user.getLogin());
+            cacheInvalidationBus.publish(CacheInvalidation.entity(User.class.getName(), user.getId()));
+            if (user.getEmail() != null) {
+                usersByEmailCache.evict(user.getEmail());
+                cacheInvalidationBus.publish(CacheInvalidation.cacheKey(UserRepository.USERS_BY_EMAIL_CACHE, user.getEmail()));
+            }
+        }
+        cacheInvalidationBus.publish(CacheInvalidation.naturalIds(User.class.getName()));
+        deletedCounter.increment(users.size());
+        return users.size();
+    }
+}
@@ -3,10 +3,17 @@ package com.bdprojeto.bd.service;
 import com.bdprojeto.bd.config.Constants;
 import com.bdprojeto.bd.domain.Authority;
 import com.bdprojeto.bd.domain.User;
+import com.bdprojeto.bd.domain.User_;
 import com.bdprojeto.bd.repository.AuthorityRepository;
+import com.bdprojeto.bd.repository.KeysetCursor;
+import com.bdprojeto.bd.repository.KeysetPage;
+import com.bdprojeto.bd.repository.RefreshTokenRepository;
 import com.bdprojeto.bd.repository.UserRepository;
 import com.bdprojeto.bd.security.AuthoritiesConstants;
 import com.bdprojeto.bd.security.SecurityUtils;
+import com.bdprojeto.bd.security.jwt.TokenRevocationList;
+import com.bdprojeto.bd.service.cache.CacheInvalidation;
+import com.bdprojeto.bd.service.cache.CacheInvalidationBus;
 import com.bdprojeto.bd.service.dto.AdminUserDTO;
 import com.bdprojeto.bd.service.dto.UserDTO;
 import java.time.Instant;
@@ -18,7 +25,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,7 +38,7 @@ import tech.jhipster.security.RandomUtil;
  */
 @Service
 @Transactional
-public class UserService {
+public class UserService implements UserDetailsPasswordService {
 
     private final Logger log = LoggerFactory.getLogger(UserService.class);
 
@@ -41,16 +50,32 @@ public class UserService {
 
     private final CacheManager cacheManager;
 
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    private final TokenRevocationList tokenRevocationList;
+
+    private final MailService mailService;
+
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        CacheManager cacheManager,
+        CacheInvalidationBus cacheInvalidationBus,
+        RefreshTokenRepository refreshTokenRepository,
+        TokenRevocationList tokenRevocationList,
+        MailService mailService
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenRevocationList = tokenRevocationList;
+        this.mailService = mailService;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -76,6 +101,8 @@ public class UserService {
                 user.setPassword(passwordEncoder.encode(newPassword));
                 user.setResetKey(null);
                 user.setResetDate(null);
+                refreshTokenRepository.revokeAllByUser(user, Instant.now());
+                tokenRevocationList.revokeAll(user.getLogin());
                 this.clearUserCaches(user);
                 return user;
             });
@@ -89,6 +116,7 @@ public class UserService {
                 user.setResetKey(RandomUtil.generateResetKey());
                 user.setResetDate(Instant.now());
                 this.clearUserCaches(user);
+                mailService.sendPasswordResetMail(user);
                 return user;
             });
     }
@@ -131,6 +159,7 @@ public class UserService {
         newUser.setAuthorities(authorities);
         userRepository.save(newUser);
         this.clearUserCaches(newUser);
+        mailService.sendActivationEmail(newUser);
         log.debug("Created Information for User: {}", newUser);
         return newUser;
     }
@@ -176,6 +205,7 @@ public class UserService {
         }
         userRepository.save(user);
         this.clearUserCaches(user);
+        mailService.sendCreationEmail(user);
         log.debug("Created Information for User: {}", user);
         return user;
     }
@@ -193,6 +223,9 @@ public class UserService {
             .map(Optional::get)
             .map(user -> {
                 this.clearUserCaches(user);
+                String previousLogin = user.getLogin();
+                boolean wasActivated = user.isActivated();
+                Set<Authority> previousAuthorities = new HashSet<>(user.getAuthorities());
                 user.setLogin(userDTO.getLogin().toLowerCase());
                 user.setFirstName(userDTO.getFirstName());
                 user.setLastName(userDTO.getLastName());
@@ -211,6 +244,14 @@ public class UserService {
                     .filter(Optional::isPresent)
                     .map(Optional::get)
                     .forEach(managedAuthorities::add);
+                // The tokens already issued carry the previous login and authorities until they expire
+                if (
+                    !previousLogin.equals(user.getLogin()) ||
+                    (wasActivated && !user.isActivated()) ||
+                    !managedAuthorities.containsAll(previousAuthorities)
+                ) {
+                    tokenRevocationList.revokeAll(previousLogin);
+                }
                 this.clearUserCaches(user);
                 log.debug("Changed Information for User: {}", user);
                 return user;
@@ -222,7 +263,9 @@ public class UserService {
         userRepository
             .findOneByLogin(login)
             .ifPresent(user -> {
+                refreshTokenRepository.deleteAllByUser(user);
                 userRepository.delete(user);
+                tokenRevocationList.revokeAll(user.getLogin());
                 this.clearUserCaches(user);
                 log.debug("Deleted User: {}", user);
             });
@@ -266,6 +309,8 @@ public class UserService {
                 }
                 String encryptedPassword = passwordEncoder.encode(newPassword);
                 user.setPassword(encryptedPassword);
+                refreshTokenRepository.revokeAllByUser(user, Instant.now());
+                tokenRevocationList.revokeAll(user.getLogin());
                 this.clearUserCaches(user);
                 log.debug("Changed password for User: {}", user);
             });
@@ -276,11 +321,42 @@ public class UserService {
         return userRepository.findAll(pageable).map(AdminUserDTO::new);
     }
 
+    /**
+     * Keyset (seek) variant of {@link #getAllManagedUsers(Pageable)}: returns the users sorted by {@code order}
+     * that come after the {@code after} cursor, without running a count query.
+     *
+     * @param order the sort order, on a unique or id-tiebroken property.
+     * @param after the cursor of the last user of the previous slice, or {@code null} for the first slice.
+     * @param size the maximum number of users to return.
+     * @return the slice of users with the cursor of the next slice, if any.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<AdminUserDTO> getAllManagedUsers(Sort.Order order, KeysetCursor after, int size) {
+        return userRepository.findAllByKeyset(null, order, after, size).map(AdminUserDTO::new);
+    }
+
+    @Transactional(readOnly = true)
+    public long countManagedUsers() {
+        return userRepository.count();
+    }
+
     @Transactional(readOnly = true)
     public Page<UserDTO> getAllPublicUsers(Pageable pageable) {
         return userRepository.findAllByIdNotNullAndActivatedIsTrue(pageable).map(UserDTO::new);
     }
 
+    @Transactional(readOnly = true)
+    public KeysetPage<UserDTO> getAllPublicUsers(Sort.Order order, KeysetCursor after, int size) {
+        return userRepository
+            .findAllByKeyset((root, query, cb) -> cb.isTrue(root.get(User_.activated)), order, after, size)
+            .map(UserDTO::new);
+    }
+
+    @Transactional(readOnly = true)
+    public long countPublicUsers() {
+        return userRepository.countByIdNotNullAndActivatedIsTrue();
+    }
+
     @Transactional(readOnly = true)
     public Optional<User> getUserWithAuthoritiesByLogin(String login) {
         return userRepository.findOneWithAuthoritiesByLogin(login);
@@ -291,22 +367,6 @@ public class UserService {
         return SecurityUtils.getCurrentUserLogin().flatMap(userRepository::findOneWithAuthoritiesByLogin);
     }
 
-    /**
-     * Not activated users should be automatically deleted after 3 days.
-     * <p>
-     * This is scheduled to get fired everyday, at 01:00 (am).
-     */
-    @Scheduled(cron = "0 0 1 * * ?")
-    public void removeNotActivatedUsers() {
-        userRepository
-            .findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant.now().minus(3, ChronoUnit.DAYS))
-            .forEach(user -> {
-                log.debug("Deleting not activated user {}", user.getLogin());
-                userRepository.delete(user);
-                this.clearUserCaches(user);
-            });
-    }
-
     /**
      * Gets a list of all the authorities.
      * @return a list of all the authorities.
@@ -316,10 +376,25 @@ public class UserService {
         return authorityRepository.findAll().stream().map(Authority::getName).collect(Collectors.toList());
     }
 
+    /**
+     * Stores the new hash of a password, computed on a successful login when the stored hash uses an outdated BCrypt cost.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        log.debug("Rehashing the password of {}", userDetails.getUsername());
+        userRepository
+            .findOneByLogin(userDetails.getUsername())
+            .ifPresent(user -> {
+                user.setPassword(newPassword);
+                this.clearUserCaches(user);
+            });
+        return org.springframework.security.core.userdetails.User.withUserDetails(userDetails).password(newPassword).build();
+    }
+
     private void clearUserCaches(User user) {
-        Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evict(user.getLogin());
         if (user.getEmail() != null) {
             Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evict(user.getEmail());
+            cacheInvalidationBus.publish(CacheInvalidation.cacheKey(UserRepository.USERS_BY_EMAIL_CACHE, user.getEmail()));
         }
     }
 }
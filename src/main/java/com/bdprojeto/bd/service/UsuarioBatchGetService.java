@@ -0,0 +1,61 @@
+package com.bdprojeto.bd.service;
+
+import com.bdprojeto.bd.config.ApplicationProperties;
+import com.bdprojeto.bd.domain.Usuario;
+import com.bdprojeto.bd.repository.UsuarioRepository;
+import com.bdprojeto.bd.service.dto.UsuarioBatchGetResultDTO;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service fetching many {@link Usuario} entities in one call, by id or by cpf.
+ * <p>
+ * Keys are resolved from the second-level cache first, the misses are then fetched with padded {@code IN} queries.
+ * Results are returned in request order, with a not-found marker for unknown keys.
+ */
+@Service
+@Transactional(readOnly = true)
+public class UsuarioBatchGetService {
+
+    private final Logger log = LoggerFactory.getLogger(UsuarioBatchGetService.class);
+
+    private final UsuarioRepository usuarioRepository;
+
+    private final ApplicationProperties applicationProperties;
+
+    public UsuarioBatchGetService(UsuarioRepository usuarioRepository, ApplicationProperties applicationProperties) {
+        this.usuarioRepository = usuarioRepository;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Fetches the usuarios with the given ids.
+     *
+     * @param ids the ids to fetch.
+     * @return one result per requested id, in the same order.
+     */
+    public List<UsuarioBatchGetResultDTO> findAllByIds(List<Long> ids) {
+        log.debug("Request to batch get {} Usuarios by id", ids.size());
+        return toResults(ids, usuarioRepository.loadAllById(ids, applicationProperties.getBatchGet().getInClauseSize()));
+    }
+
+    /**
+     * Fetches the usuarios with the given cpfs.
+     *
+     * @param cpfs the cpfs to fetch.
+     * @return one result per requested cpf, in the same order.
+     */
+    public List<UsuarioBatchGetResultDTO> findAllByCpfs(List<Long> cpfs) {
+        log.debug("Request to batch get {} Usuarios by cpf", cpfs.size());
+        return toResults(cpfs, usuarioRepository.loadAllByCpf(cpfs, applicationProperties.getBatchGet().getInClauseSize()));
+    }
+
+    private static List<UsuarioBatchGetResultDTO> toResults(List<Long> keys, Map<Long, Usuario> found) {
+        return keys.stream().map(key -> new UsuarioBatchGetResultDTO(key, found.get(key))).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,306 @@
+package com.bdprojeto.bd.service;
+
+import com.bdprojeto.bd.config.ApplicationProperties;
+import com.bdprojeto.bd.domain.Usuario;
+import com.bdprojeto.bd.repository.UsuarioRepository;
+import com.bdprojeto.bd.repository.sequence.SequenceBlockAllocator;
+import com.bdprojeto.bd.service.dto.UsuarioBulkImportResultDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Date;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service importing large numbers of usuarios from a CSV or NDJSON stream.
+ * <p>
+ * The input is parsed line by line and inserted in chunks, each chunk in its own transaction. The ids of a chunk are
+ * reserved up front by the {@link SequenceBlockAllocator} (or come from the pooled-lo optimizer), so Hibernate can group
+ * the inserts of a chunk in JDBC batches of {@code hibernate.jdbc.batch_size} rows. A failing chunk is rolled back on
+ * its own and reported row by row.
+ * <p>
+ * This class is deliberately not {@link org.springframework.transaction.annotation.Transactional}: a single
+ * transaction around the whole import would hold locks and grow the persistence context for the whole stream.
+ */
+@Service
+public class UsuarioBulkImportService {
+
+    private final Logger log = LoggerFactory.getLogger(UsuarioBulkImportService.class);
+
+    /**
+     * Input formats accepted by the import.
+     */
+    public enum Format {
+        /**
+         * Comma separated values, with a header line naming the {@code cpf}, {@code nome} and {@code dataNascimento} columns.
+         */
+        CSV,
+        /**
+         * One JSON usuario per line.
+         */
+        NDJSON,
+    }
+
+    private static final String CPF_COLUMN = "cpf";
+    private static final String NOME_COLUMN = "nome";
+    private static final String DATA_NASCIMENTO_COLUMN = "datanascimento";
+
+    private final UsuarioRepository usuarioRepository;
+
+    private final SequenceBlockAllocator sequenceBlockAllocator;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final Validator validator;
+
+    private final ObjectReader usuarioReader;
+
+    private final TransactionTemplate chunkTransactionTemplate;
+
+    public UsuarioBulkImportService(
+        UsuarioRepository usuarioRepository,
+        SequenceBlockAllocator sequenceBlockAllocator,
+        ApplicationProperties applicationProperties,
+        Validator validator,
+        ObjectMapper objectMapper,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.usuarioRepository = usuarioRepository;
+        this.sequenceBlockAllocator = sequenceBlockAllocator;
+        this.applicationProperties = applicationProperties;
+        this.validator = validator;
+        this.usuarioReader = objectMapper.readerFor(Usuario.class);
+        this.chunkTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Imports the usuarios read from the given stream.
+     *
+     * @param input the CSV or NDJSON stream.
+     * @param format the format of the stream.
+     * @return the import report.
+     * @throws IOException if the stream cannot be read.
+     * @throws IllegalArgumentException if the CSV header is missing or has no {@code cpf} column.
+     */
+    public UsuarioBulkImportResultDTO importUsuarios(Reader input, Format format) throws IOException {
+        int chunkSize = applicationProperties.getBulkImport().getChunkSize();
+        Report report = new Report(applicationProperties.getBulkImport().getMaxReportedErrors());
+        long start = System.nanoTime();
+
+        BufferedReader reader = input instanceof BufferedReader ? (BufferedReader) input : new BufferedReader(input);
+        long lineNumber = 0;
+        Map<String, Integer> columns = null;
+        if (format == Format.CSV) {
+            columns = parseCsvHeader(reader.readLine());
+            lineNumber++;
+        }
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            report.received++;
+            ImportRow row = parseRow(lineNumber, line, format, columns, report);
+            if (row != null) {
+                chunk.add(row);
+            }
+            if (chunk.size() >= chunkSize) {
+                importChunk(chunk, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, report);
+        }
+
+        UsuarioBulkImportResultDTO result = report.toResult(System.nanoTime() - start);
+        log.debug("Bulk imported Usuarios: {}", result);
+        return result;
+    }
+
+    private ImportRow parseRow(long lineNumber, String line, Format format, Map<String, Integer> columns, Report report) {
+        Usuario usuario;
+        try {
+            usuario = format == Format.CSV ? parseCsvRow(line, columns) : usuarioReader.readValue(line);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            report.addError(lineNumber, null, "Unparseable row: " + e.getMessage());
+            return null;
+        }
+        if (usuario.getId() != null) {
+            report.addError(lineNumber, usuario.getCpf(), "A new usuario cannot already have an ID");
+            return null;
+        }
+        Set<ConstraintViolation<Usuario>> violations = validator.validate(usuario);
+        if (!violations.isEmpty()) {
+            String message = violations
+                .stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .collect(Collectors.joining(", "));
+            report.addError(lineNumber, usuario.getCpf(), message);
+            return null;
+        }
+        return new ImportRow(lineNumber, usuario);
+    }
+
+    private void importChunk(List<ImportRow> chunk, Report report) {
+        // CPF uniqueness inside the chunk is checked in memory, against the table with a single IN query
+        Map<Long, ImportRow> rowsByCpf = new LinkedHashMap<>();
+        for (ImportRow row : chunk) {
+            if (rowsByCpf.putIfAbsent(row.usuario.getCpf(), row) != null) {
+                report.addError(row.line, row.usuario.getCpf(), "Duplicate cpf in the import");
+            }
+        }
+        List<ImportRow> existingRows = new ArrayList<>();
+        try {
+            chunkTransactionTemplate.executeWithoutResult(status -> {
+                existingRows.clear();
+                for (Long cpf : usuarioRepository.findCpfsByCpfIn(rowsByCpf.keySet())) {
+                    existingRows.add(rowsByCpf.remove(cpf));
+                }
+                List<Usuario> usuarios = rowsByCpf.values().stream().map(row -> row.usuario).collect(Collectors.toList());
+                if (applicationProperties.getBulkImport().isReserveIds()) {
+                    sequenceBlockAllocator.withReservedIds(usuarios.size(), () -> usuarioRepository.saveAll(usuarios));
+                } else {
+                    usuarioRepository.saveAll(usuarios);
+                }
+                usuarioRepository.flush();
+            });
+            report.imported += rowsByCpf.size();
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Bulk import chunk of {} Usuarios was rolled back: {}", rowsByCpf.size(), e.getMessage());
+            rowsByCpf.values().forEach(row -> report.addError(row.line, row.usuario.getCpf(), "Chunk rolled back: " + e.getMessage()));
+        }
+        existingRows.forEach(row -> report.addError(row.line, row.usuario.getCpf(), "Cpf already exists"));
+    }
+
+    private Map<String, Integer> parseCsvHeader(String header) {
+        if (header == null) {
+            throw new IllegalArgumentException("Missing CSV header");
+        }
+        List<String> names = parseCsvLine(header);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().replace("_", "").toLowerCase(Locale.ENGLISH), i);
+        }
+        if (!columns.containsKey(CPF_COLUMN)) {
+            throw new IllegalArgumentException("The CSV header has no cpf column");
+        }
+        return columns;
+    }
+
+    private Usuario parseCsvRow(String line, Map<String, Integer> columns) {
+        List<String> values = parseCsvLine(line);
+        Usuario usuario = new Usuario();
+        String cpf = csvValue(values, columns.get(CPF_COLUMN));
+        usuario.setCpf(cpf == null ? null : Long.valueOf(cpf));
+        usuario.setNome(csvValue(values, columns.get(NOME_COLUMN)));
+        String dataNascimento = csvValue(values, columns.get(DATA_NASCIMENTO_COLUMN));
+        usuario.setDataNascimento(dataNascimento == null ? null : Date.valueOf(dataNascimento));
+        return usuario;
+    }
+
+    private static String csvValue(List<String> values, Integer index) {
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Splits a CSV line on commas, honouring double-quoted fields and {@code ""} escapes.
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static final class ImportRow {
+
+        private final long line;
+
+        private final Usuario usuario;
+
+        private ImportRow(long line, Usuario usuario) {
+            this.line = line;
+            this.usuario = usuario;
+        }
+    }
+
+    private static final class Report {
+
+        private final int maxReportedErrors;
+
+        private final List<UsuarioBulkImportResultDTO.RowError> errors = new ArrayList<>();
+
+        private long received;
+
+        private long imported;
+
+        private long failed;
+
+        private Report(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private void addError(long line, Long cpf, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new UsuarioBulkImportResultDTO.RowError(line, cpf, message));
+            }
+        }
+
+        private UsuarioBulkImportResultDTO toResult(long elapsedNanos) {
+            UsuarioBulkImportResultDTO result = new UsuarioBulkImportResultDTO();
+            result.setReceived(received);
+            result.setImported(imported);
+            result.setFailed(failed);
+            result.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            result.setRowsPerSecond(elapsedNanos == 0 ? 0 : imported * 1_000_000_000d / elapsedNanos);
+            result.setErrorsTruncated(failed > errors.size());
+            result.setErrors(errors);
+            return result;
+        }
+    }
+}
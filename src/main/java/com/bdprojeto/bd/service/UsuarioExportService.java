@@ -0,0 +1,86 @@
+package com.bdprojeto.bd.service;
+
+import com.bdprojeto.bd.config.ApplicationProperties;
+import com.bdprojeto.bd.domain.Usuario;
+import com.bdprojeto.bd.repository.UsuarioRepository;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service streaming the whole {@link Usuario} table as NDJSON (one JSON document per line).
+ * <p>
+ * Rows are read through a forward-only cursor and written one by one, so memory use does not depend on the table size.
+ */
+@Service
+@Transactional(readOnly = true)
+public class UsuarioExportService {
+
+    private final Logger log = LoggerFactory.getLogger(UsuarioExportService.class);
+
+    private static final char LINE_SEPARATOR = '\n';
+
+    private final UsuarioRepository usuarioRepository;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final JsonFactory jsonFactory;
+
+    private final ObjectWriter usuarioWriter;
+
+    public UsuarioExportService(
+        UsuarioRepository usuarioRepository,
+        ApplicationProperties applicationProperties,
+        ObjectMapper objectMapper
+    ) {
+        this.usuarioRepository = usuarioRepository;
+        this.applicationProperties = applicationProperties;
+        // Lines are separated explicitly, so the generator must not add its own root value separator
+        this.jsonFactory = objectMapper.getFactory().copy().setRootValueSeparator(null);
+        this.usuarioWriter =
+            objectMapper
+                .writerFor(Usuario.class)
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Writes every usuario to the given stream, one JSON document per line.
+     *
+     * @param out the stream to write to, it is flushed but not closed.
+     * @return the number of exported usuarios.
+     * @throws IOException if the stream cannot be written to.
+     */
+    public long exportAll(OutputStream out) throws IOException {
+        int fetchSize = applicationProperties.getExport().getFetchSize();
+        log.debug("Exporting all Usuarios with a fetch size of {}", fetchSize);
+        try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            long count = usuarioRepository.scrollAll(
+                fetchSize,
+                usuario -> {
+                    try {
+                        usuarioWriter.writeValue(generator, usuario);
+                        generator.writeRaw(LINE_SEPARATOR);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            );
+            generator.flush();
+            log.debug("Exported {} Usuarios", count);
+            return count;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.bdprojeto.bd.service;
+
+import com.bdprojeto.bd.domain.*; // for static metamodels
+import com.bdprojeto.bd.domain.Usuario;
+import com.bdprojeto.bd.repository.KeysetCursor;
+import com.bdprojeto.bd.repository.KeysetPage;
+import com.bdprojeto.bd.repository.UsuarioRepository;
+import com.bdprojeto.bd.service.criteria.UsuarioCriteria;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing complex queries for {@link Usuario} entities in the database.
+ * The main input is a {@link UsuarioCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link List} of {@link Usuario} or a {@link Page} of {@link Usuario} which fulfills the criteria.
+ */
+@Service
+@Transactional(readOnly = true)
+public class UsuarioQueryService extends QueryService<Usuario> {
+
+    private final Logger log = LoggerFactory.getLogger(UsuarioQueryService.class);
+
+    private final UsuarioRepository usuarioRepository;
+
+    public UsuarioQueryService(UsuarioRepository usuarioRepository) {
+        this.usuarioRepository = usuarioRepository;
+    }
+
+    /**
+     * Return a {@link List} of {@link Usuario} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public List<Usuario> findByCriteria(UsuarioCriteria criteria) {
+        log.debug("find by criteria : {}", criteria);
+        final Specification<Usuario> specification = createSpecification(criteria);
+        return usuarioRepository.findAll(specification);
+    }
+
+    /**
+     * Return a {@link Page} of {@link Usuario} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<Usuario> findByCriteria(UsuarioCriteria criteria, Pageable page) {
+        log.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<Usuario> specification = createSpecification(criteria);
+        return usuarioRepository.findAll(specification, page);
+    }
+
+    /**
+     * Return a keyset (seek) slice of {@link Usuario} which matches the criteria from the database.
+     * No count query is run to build it.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param order The sort order of the traversal.
+     * @param after The cursor of the last entity of the previous slice, or {@code null} for the first slice.
+     * @param size The maximum number of entities to return.
+     * @return the matching entities, with the cursor of the next slice if any.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<Usuario> findByCriteria(UsuarioCriteria criteria, Sort.Order order, KeysetCursor after, int size) {
+        log.debug("find by criteria : {}, order: {}, after: {}", criteria, order, after);
+        final Specification<Usuario> specification = createSpecification(criteria);
+        return usuarioRepository.findAllByKeyset(specification, order, after, size);
+    }
+
+    /**
+     * Return the number of matching entities in the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(UsuarioCriteria criteria) {
+        log.debug("count by criteria : {}", criteria);
+        final Specification<Usuario> specification = createSpecification(criteria);
+        return usuarioRepository.count(specification);
+    }
+
+    /**
+     * Function to convert {@link UsuarioCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Usuario> createSpecification(UsuarioCriteria criteria) {
+        Specification<Usuario> specification = Specification.where(null);
+        if (criteria != null) {
+            // This has to be called first, because the distinct method returns null
+            if (criteria.getDistinct() != null) {
+                specification = specification.and(distinct(criteria.getDistinct()));
+            }
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), Usuario_.id));
+            }
+            if (criteria.getCpf() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getCpf(), Usuario_.cpf));
+            }
+            if (criteria.getNome() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getNome(), Usuario_.nome));
+            }
+            if (criteria.getDataNascimento() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getDataNascimento(), Usuario_.dataNascimento));
+            }
+        }
+        return specification;
+    }
+}
@@ -0,0 +1,180 @@
+package com.bdprojeto.bd.service.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Base class of the {@link CacheInvalidationBus} transports.
+ * <p>
+ * Evictions published within a transaction are collected and sent once it commits, in messages of at most
+ * {@link #MAX_MESSAGE_BYTES} bytes, under the 8000 bytes of a PostgreSQL {@code NOTIFY} payload, so that peers never reload
+ * the previous state and a rolled back transaction sends nothing. Each message carries the id of the sending instance, which ignores its own messages.
+ */
+public abstract class AbstractCacheInvalidationBus implements CacheInvalidationBus {
+
+    static final int MAX_MESSAGE_BYTES = 7900;
+
+    private final Logger log = LoggerFactory.getLogger(AbstractCacheInvalidationBus.class);
+
+    private final String origin = UUID.randomUUID().toString();
+
+    private final ObjectMapper objectMapper;
+
+    private final List<Consumer<CacheInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+
+    protected AbstractCacheInvalidationBus(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingInvalidations().add(invalidation);
+        } else {
+            send(Collections.singletonList(invalidation));
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<CacheInvalidation> pendingInvalidations() {
+        List<CacheInvalidation> pending = (List<CacheInvalidation>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<CacheInvalidation> created = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        send(created);
+                    }
+
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(AbstractCacheInvalidationBus.this);
+                    }
+                }
+            );
+            pending = created;
+        }
+        return pending;
+    }
+
+    private void send(List<CacheInvalidation> invalidations) {
+        int maxBatchBytes;
+        try {
+            maxBatchBytes = MAX_MESSAGE_BYTES - objectMapper.writeValueAsBytes(new Message(origin, Collections.emptyList())).length;
+        } catch (JsonProcessingException e) {
+            log.warn("Could not broadcast cache invalidations {}: {}", invalidations, e.getMessage());
+            return;
+        }
+        List<CacheInvalidation> batch = new ArrayList<>();
+        int batchBytes = 0;
+        for (CacheInvalidation invalidation : invalidations) {
+            int bytes;
+            try {
+                // Its serialized form in the message, followed by a comma
+                bytes = objectMapper.writeValueAsBytes(invalidation).length + 1;
+            } catch (JsonProcessingException e) {
+                log.warn("Could not broadcast cache invalidation {}: {}", invalidation, e.getMessage());
+                continue;
+            }
+            if (!batch.isEmpty() && batchBytes + bytes > maxBatchBytes) {
+                sendBatch(batch);
+                batch = new ArrayList<>();
+                batchBytes = 0;
+            }
+            batch.add(invalidation);
+            batchBytes += bytes;
+        }
+        if (!batch.isEmpty()) {
+            sendBatch(batch);
+        }
+    }
+
+    private void sendBatch(List<CacheInvalidation> batch) {
+        Message message = new Message(origin, batch);
+        try {
+            sendMessage(objectMapper.writeValueAsString(message));
+        } catch (Exception e) {
+            // Peers catch up when their entries expire, a failed broadcast must not fail the committed transaction
+            log.warn("Could not broadcast cache invalidations {}: {}", message.getInvalidations(), e.getMessage());
+        }
+    }
+
+    /**
+     * Handles a message received from the transport.
+     *
+     * @param payload the message, as sent by {@link #sendMessage(String)} on any instance, this one included.
+     */
+    protected void receiveMessage(String payload) {
+        Message message;
+        try {
+            message = objectMapper.readValue(payload, Message.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed cache invalidation message: {}", e.getMessage());
+            return;
+        }
+        if (origin.equals(message.getOrigin())) {
+            return;
+        }
+        log.debug("Received cache invalidations {}", message.getInvalidations());
+        for (CacheInvalidation invalidation : message.getInvalidations()) {
+            subscribers.forEach(subscriber -> subscriber.accept(invalidation));
+        }
+    }
+
+    /**
+     * Sends a message to every instance.
+     *
+     * @param payload the message.
+     * @throws Exception if the message could not be sent.
+     */
+    protected abstract void sendMessage(String payload) throws Exception;
+
+    static class Message {
+
+        private String origin;
+
+        private List<CacheInvalidation> invalidations = new ArrayList<>();
+
+        Message() {
+            // Empty constructor needed for Jackson.
+        }
+
+        Message(String origin, List<CacheInvalidation> invalidations) {
+            this.origin = origin;
+            this.invalidations = invalidations;
+        }
+
+        public String getOrigin() {
+            return origin;
+        }
+
+        public void setOrigin(String origin) {
+            this.origin = origin;
+        }
+
+        public List<CacheInvalidation> getInvalidations() {
+            return invalidations;
+        }
+
+        public void setInvalidations(List<CacheInvalidation> invalidations) {
+            this.invalidations = invalidations;
+        }
+    }
+}
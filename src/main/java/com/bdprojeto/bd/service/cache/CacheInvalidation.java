@@ -0,0 +1,114 @@
+package com.bdprojeto.bd.service.cache;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * An eviction to replay on the other application instances.
+ */
+public class CacheInvalidation implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Kind {
+        /**
+         * One key of a Spring cache, {@code region} is the cache name.
+         */
+        CACHE_KEY,
+        /**
+         * One entity of the Hibernate second-level cache, {@code region} is the entity name and {@code key} its id.
+         */
+        ENTITY,
+        /**
+         * One collection of the Hibernate second-level cache, {@code region} is the collection role and {@code key} its owner id.
+         */
+        COLLECTION,
+        /**
+         * The whole natural-id cache of an entity, {@code region} is the entity name.
+         */
+        NATURAL_ID
+    }
+
+    private Kind kind;
+
+    private String region;
+
+    private String key;
+
+    public CacheInvalidation() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public CacheInvalidation(Kind kind, String region, String key) {
+        this.kind = kind;
+        this.region = region;
+        this.key = key;
+    }
+
+    public static CacheInvalidation cacheKey(String cacheName, Object key) {
+        return new CacheInvalidation(Kind.CACHE_KEY, cacheName, String.valueOf(key));
+    }
+
+    public static CacheInvalidation entity(String entityName, Object id) {
+        return new CacheInvalidation(Kind.ENTITY, entityName, String.valueOf(id));
+    }
+
+    public static CacheInvalidation collection(String role, Object ownerId) {
+        return new CacheInvalidation(Kind.COLLECTION, role, String.valueOf(ownerId));
+    }
+
+    public static CacheInvalidation naturalIds(String entityName) {
+        return new CacheInvalidation(Kind.NATURAL_ID, entityName, null);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public void setKind(Kind kind) {
+        this.kind = kind;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CacheInvalidation)) {
+            return false;
+        }
+        CacheInvalidation that = (CacheInvalidation) o;
+        return kind == that.kind && Objects.equals(region, that.region) && Objects.equals(key, that.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, region, key);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CacheInvalidation{" +
+            "kind=" + kind +
+            ", region='" + region + "'" +
+            ", key='" + key + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,24 @@
+package com.bdprojeto.bd.service.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts cache evictions to the other instances of the application.
+ * <p>
+ * Each instance evicts its own caches locally, then publishes the eviction so that its peers evict it too.
+ */
+public interface CacheInvalidationBus {
+    /**
+     * Publishes an eviction to the other instances. Within a transaction, it is only sent once the transaction commits.
+     *
+     * @param invalidation the eviction to publish.
+     */
+    void publish(CacheInvalidation invalidation);
+
+    /**
+     * Registers a callback for the evictions published by the other instances.
+     *
+     * @param subscriber the callback.
+     */
+    void subscribe(Consumer<CacheInvalidation> subscriber);
+}
@@ -0,0 +1,19 @@
+package com.bdprojeto.bd.service.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * {@link CacheInvalidationBus} of a single instance deployment: there are no peers to notify.
+ */
+public class LocalCacheInvalidationBus implements CacheInvalidationBus {
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        // No peers
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> subscriber) {
+        // No peers
+    }
+}
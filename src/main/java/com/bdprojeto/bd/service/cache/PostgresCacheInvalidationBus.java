@@ -0,0 +1,179 @@
+package com.bdprojeto.bd.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * {@link CacheInvalidationBus} over PostgreSQL {@code LISTEN}/{@code NOTIFY}.
+ * <p>
+ * Every instance listens on the channel through a dedicated connection, outside of the connection pool, and sends through a
+ * second one, so that sending never waits for the listener. The PostgreSQL driver is only on the classpath of the prod
+ * profile, so its notification API is called through reflection.
+ */
+public class PostgresCacheInvalidationBus extends AbstractCacheInvalidationBus implements InitializingBean, DisposableBean {
+
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(PostgresCacheInvalidationBus.class);
+
+    private final String url;
+
+    private final String username;
+
+    private final String password;
+
+    private final String channel;
+
+    private final long reconnectDelayMillis;
+
+    private final Class<?> pgConnectionClass;
+
+    private final Method getNotifications;
+
+    private final Method getParameter;
+
+    /**
+     * Guards the send connection: a lock rather than a monitor, so that a virtual thread waiting on the database does not pin
+     * its carrier thread.
+     */
+    private final Lock sendLock = new ReentrantLock();
+
+    private Connection sendConnection;
+
+    private volatile boolean running;
+
+    private Thread listener;
+
+    public PostgresCacheInvalidationBus(
+        ObjectMapper objectMapper,
+        String url,
+        String username,
+        String password,
+        String channel,
+        long reconnectDelayMillis
+    ) {
+        super(objectMapper);
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid cache invalidation channel: " + channel);
+        }
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.channel = channel;
+        this.reconnectDelayMillis = reconnectDelayMillis;
+        try {
+            pgConnectionClass = Class.forName("org.postgresql.PGConnection");
+            getNotifications = pgConnectionClass.getMethod("getNotifications", int.class);
+            getParameter = Class.forName("org.postgresql.PGNotification").getMethod("getParameter");
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("The postgres cache invalidation transport needs the PostgreSQL JDBC driver", e);
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        listener.interrupt();
+        listener.join(POLL_TIMEOUT_MILLIS * 2L);
+        sendLock.lock();
+        try {
+            closeSendConnection();
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    @Override
+    protected void sendMessage(String payload) throws SQLException {
+        sendLock.lock();
+        try {
+            try {
+                sendNotification(payload);
+            } catch (SQLException e) {
+                // The connection is not validated before each message, it may have been dropped since the last one
+                log.debug("Could not send cache invalidations, retrying on a new connection: {}", e.getMessage());
+                closeSendConnection();
+                try {
+                    sendNotification(payload);
+                } catch (SQLException retryException) {
+                    closeSendConnection();
+                    throw retryException;
+                }
+            }
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    private void sendNotification(String payload) throws SQLException {
+        if (sendConnection == null) {
+            sendConnection = DriverManager.getConnection(url, username, password);
+        }
+        try (PreparedStatement statement = sendConnection.prepareStatement("select pg_notify(?, ?)")) {
+            statement.setString(1, channel);
+            statement.setString(2, payload);
+            statement.execute();
+        }
+    }
+
+    private void closeSendConnection() {
+        if (sendConnection != null) {
+            try {
+                sendConnection.close();
+            } catch (SQLException e) {
+                log.debug("Could not close the cache invalidation connection: {}", e.getMessage());
+            }
+            sendConnection = null;
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening for cache invalidations on channel {}", channel);
+                Object pgConnection = connection.unwrap(pgConnectionClass);
+                while (running) {
+                    Object[] notifications = (Object[]) getNotifications.invoke(pgConnection, POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (Object notification : notifications) {
+                            receiveMessage((String) getParameter.invoke(notification));
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                if (running) {
+                    // Invalidations sent while disconnected are lost, local entries still expire with their TTL
+                    log.warn("Cache invalidation listener disconnected, retrying in {} ms: {}", reconnectDelayMillis, e.getMessage());
+                    try {
+                        Thread.sleep(reconnectDelayMillis);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.bdprojeto.bd.service.cache;
+
+import java.io.Serializable;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.type.StringRepresentableType;
+import org.hibernate.type.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the evictions published by the other instances to the local caches.
+ */
+@Component
+public class RemoteCacheInvalidator {
+
+    private final Logger log = LoggerFactory.getLogger(RemoteCacheInvalidator.class);
+
+    private final CacheManager cacheManager;
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    public RemoteCacheInvalidator(
+        CacheInvalidationBus cacheInvalidationBus,
+        CacheManager cacheManager,
+        EntityManagerFactory entityManagerFactory
+    ) {
+        this.cacheManager = cacheManager;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        cacheInvalidationBus.subscribe(this::evict);
+    }
+
+    void evict(CacheInvalidation invalidation) {
+        try {
+            switch (invalidation.getKind()) {
+                case CACHE_KEY:
+                    Cache cache = cacheManager.getCache(invalidation.getRegion());
+                    if (cache != null) {
+                        cache.evict(invalidation.getKey());
+                    }
+                    break;
+                case ENTITY:
+                    Type idType = sessionFactory.getMetamodel().entityPersister(invalidation.getRegion()).getIdentifierType();
+                    sessionFactory.getCache().evictEntityData(invalidation.getRegion(), toIdentifier(idType, invalidation));
+                    break;
+                case COLLECTION:
+                    Type ownerIdType = sessionFactory.getMetamodel().collectionPersister(invalidation.getRegion()).getKeyType();
+                    sessionFactory.getCache().evictCollectionData(invalidation.getRegion(), toIdentifier(ownerIdType, invalidation));
+                    break;
+                case NATURAL_ID:
+                    sessionFactory.getCache().evictNaturalIdData(invalidation.getRegion());
+                    break;
+                default:
+                    log.warn("Unknown cache invalidation {}", invalidation);
+            }
+        } catch (RuntimeException e) {
+            // Typically a region unknown to this instance, during a rolling upgrade
+            log.warn("Could not apply cache invalidation {}: {}", invalidation, e.getMessage());
+        }
+    }
+
+    private static Serializable toIdentifier(Type type, CacheInvalidation invalidation) {
+        return (Serializable) ((StringRepresentableType<?>) type).fromStringValue(invalidation.getKey());
+    }
+}
@@ -0,0 +1,105 @@
+package com.bdprojeto.bd.service.cache;
+
+import java.util.Arrays;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Hibernate listener publishing the second-level cache entries made stale by a flush to the {@link CacheInvalidationBus}.
+ * <p>
+ * Hibernate already keeps the local regions up to date, this only tells the other instances. A delete, or a change of a
+ * mutable natural id, evicts the whole natural-id region of the entity on the peers, since the natural id is not known there.
+ */
+public class SecondLevelCacheInvalidationListener
+    implements
+        PostUpdateEventListener,
+        PostDeleteEventListener,
+        PostCollectionUpdateEventListener,
+        PostCollectionRemoveEventListener,
+        PostCollectionRecreateEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient CacheInvalidationBus cacheInvalidationBus;
+
+    public SecondLevelCacheInvalidationListener(CacheInvalidationBus cacheInvalidationBus) {
+        this.cacheInvalidationBus = cacheInvalidationBus;
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        EntityPersister persister = event.getPersister();
+        if (!persister.canWriteToCache()) {
+            return;
+        }
+        cacheInvalidationBus.publish(CacheInvalidation.entity(persister.getEntityName(), event.getId()));
+        if (persister.hasNaturalIdCache() && naturalIdChanged(persister, event.getDirtyProperties())) {
+            cacheInvalidationBus.publish(CacheInvalidation.naturalIds(persister.getEntityName()));
+        }
+    }
+
+    private static boolean naturalIdChanged(EntityPersister persister, int[] dirtyProperties) {
+        if (persister.getEntityMetamodel().hasImmutableNaturalId()) {
+            return false;
+        }
+        if (dirtyProperties == null) {
+            return true;
+        }
+        int[] naturalIdProperties = persister.getNaturalIdentifierProperties();
+        return Arrays.stream(dirtyProperties).anyMatch(dirty -> Arrays.stream(naturalIdProperties).anyMatch(p -> p == dirty));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        EntityPersister persister = event.getPersister();
+        if (!persister.canWriteToCache()) {
+            return;
+        }
+        cacheInvalidationBus.publish(CacheInvalidation.entity(persister.getEntityName(), event.getId()));
+        if (persister.hasNaturalIdCache()) {
+            cacheInvalidationBus.publish(CacheInvalidation.naturalIds(persister.getEntityName()));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        publishCollection(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        publishCollection(event);
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        publishCollection(event);
+    }
+
+    private void publishCollection(AbstractCollectionEvent event) {
+        String role = event.getCollection().getRole();
+        if (role == null || event.getAffectedOwnerIdOrNull() == null) {
+            return;
+        }
+        CollectionPersister persister = event.getSession().getFactory().getMetamodel().collectionPersister(role);
+        if (persister.hasCache()) {
+            cacheInvalidationBus.publish(CacheInvalidation.collection(role, event.getAffectedOwnerIdOrNull()));
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Propagation of cache evictions between application instances.
+ */
+package com.bdprojeto.bd.service.cache;
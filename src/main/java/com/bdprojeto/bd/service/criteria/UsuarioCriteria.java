@@ -0,0 +1,170 @@
+package com.bdprojeto.bd.service.criteria;
+
+import java.io.Serializable;
+import java.sql.Date;
+import java.util.Objects;
+import org.springdoc.api.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link com.bdprojeto.bd.domain.Usuario} entity. This class is used
+ * in {@link com.bdprojeto.bd.web.rest.UsuarioResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /usuarios?id.greaterThan=5&nome.contains=silva&dataNascimento.lessThan=2000-01-01}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@ParameterObject
+public class UsuarioCriteria implements Serializable, Criteria {
+
+    /**
+     * Class for filtering {@link Date} birth dates, bound from {@code yyyy-MM-dd} request parameters.
+     */
+    public static class DataNascimentoFilter extends RangeFilter<Date> {
+
+        private static final long serialVersionUID = 1L;
+
+        public DataNascimentoFilter() {}
+
+        public DataNascimentoFilter(DataNascimentoFilter filter) {
+            super(filter);
+        }
+
+        @Override
+        public DataNascimentoFilter copy() {
+            return new DataNascimentoFilter(this);
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private LongFilter cpf;
+
+    private StringFilter nome;
+
+    private DataNascimentoFilter dataNascimento;
+
+    private Boolean distinct;
+
+    public UsuarioCriteria() {}
+
+    public UsuarioCriteria(UsuarioCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.cpf = other.cpf == null ? null : other.cpf.copy();
+        this.nome = other.nome == null ? null : other.nome.copy();
+        this.dataNascimento = other.dataNascimento == null ? null : other.dataNascimento.copy();
+        this.distinct = other.distinct;
+    }
+
+    @Override
+    public UsuarioCriteria copy() {
+        return new UsuarioCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            id = new LongFilter();
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public LongFilter getCpf() {
+        return cpf;
+    }
+
+    public LongFilter cpf() {
+        if (cpf == null) {
+            cpf = new LongFilter();
+        }
+        return cpf;
+    }
+
+    public void setCpf(LongFilter cpf) {
+        this.cpf = cpf;
+    }
+
+    public StringFilter getNome() {
+        return nome;
+    }
+
+    public StringFilter nome() {
+        if (nome == null) {
+            nome = new StringFilter();
+        }
+        return nome;
+    }
+
+    public void setNome(StringFilter nome) {
+        this.nome = nome;
+    }
+
+    public DataNascimentoFilter getDataNascimento() {
+        return dataNascimento;
+    }
+
+    public DataNascimentoFilter dataNascimento() {
+        if (dataNascimento == null) {
+            dataNascimento = new DataNascimentoFilter();
+        }
+        return dataNascimento;
+    }
+
+    public void setDataNascimento(DataNascimentoFilter dataNascimento) {
+        this.dataNascimento = dataNascimento;
+    }
+
+    public Boolean getDistinct() {
+        return distinct;
+    }
+
+    public void setDistinct(Boolean distinct) {
+        this.distinct = distinct;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final UsuarioCriteria that = (UsuarioCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(cpf, that.cpf) &&
+            Objects.equals(nome, that.nome) &&
+            Objects.equals(dataNascimento, that.dataNascimento) &&
+            Objects.equals(distinct, that.distinct)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, cpf, nome, dataNascimento, distinct);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "UsuarioCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (cpf != null ? "cpf=" + cpf + ", " : "") +
+            (nome != null ? "nome=" + nome + ", " : "") +
+            (dataNascimento != null ? "dataNascimento=" + dataNascimento + ", " : "") +
+            (distinct != null ? "distinct=" + distinct + ", " : "") +
+            "}";
+    }
+}
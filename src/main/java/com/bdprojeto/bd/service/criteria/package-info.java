@@ -0,0 +1,4 @@
+/**
+ * Criteria classes used to filter entities from REST query parameters.
+ */
+package com.bdprojeto.bd.service.criteria;
@@ -0,0 +1,27 @@
+package com.bdprojeto.bd.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing the tokens of a session - a short-lived access token and the refresh token renewing it.
+ */
+public class AuthenticationTokensDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String accessToken;
+    private final String refreshToken;
+
+    public AuthenticationTokensDTO(String accessToken, String refreshToken) {
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+    }
+
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+}
@@ -0,0 +1,42 @@
+package com.bdprojeto.bd.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+import javax.validation.constraints.NotNull;
+
+/**
+ * A DTO listing the usuarios to fetch in one batch lookup, either by id or by cpf.
+ */
+public class UsuarioBatchGetRequestDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private List<@NotNull Long> ids;
+
+    private List<@NotNull Long> cpfs;
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public List<Long> getCpfs() {
+        return cpfs;
+    }
+
+    public void setCpfs(List<Long> cpfs) {
+        this.cpfs = cpfs;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "UsuarioBatchGetRequestDTO{" +
+            "ids=" + (ids == null ? null : ids.size()) +
+            ", cpfs=" + (cpfs == null ? null : cpfs.size()) +
+            "}";
+    }
+}
@@ -0,0 +1,61 @@
+package com.bdprojeto.bd.service.dto;
+
+import com.bdprojeto.bd.domain.Usuario;
+import java.io.Serializable;
+
+/**
+ * A DTO holding the outcome of a batch lookup for one requested id or cpf.
+ */
+public class UsuarioBatchGetResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long key;
+
+    private boolean found;
+
+    private Usuario usuario;
+
+    public UsuarioBatchGetResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public UsuarioBatchGetResultDTO(Long key, Usuario usuario) {
+        this.key = key;
+        this.found = usuario != null;
+        this.usuario = usuario;
+    }
+
+    public Long getKey() {
+        return key;
+    }
+
+    public void setKey(Long key) {
+        this.key = key;
+    }
+
+    public boolean isFound() {
+        return found;
+    }
+
+    public void setFound(boolean found) {
+        this.found = found;
+    }
+
+    public Usuario getUsuario() {
+        return usuario;
+    }
+
+    public void setUsuario(Usuario usuario) {
+        this.usuario = usuario;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "UsuarioBatchGetResultDTO{" +
+            "key=" + key +
+            ", found=" + found +
+            "}";
+    }
+}
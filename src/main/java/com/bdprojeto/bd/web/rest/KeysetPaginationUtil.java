@@ -0,0 +1,99 @@
+package com.bdprojeto.bd.web.rest;
+
+import com.bdprojeto.bd.repository.KeysetCursor;
+import com.bdprojeto.bd.repository.KeysetPage;
+import com.bdprojeto.bd.web.rest.errors.BadRequestAlertException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset (seek) pagination.
+ * <p>
+ * A keyset traversal is requested with the {@code after} parameter: empty for the first slice, then the value of the
+ * {@link #NEXT_CURSOR_HEADER} header (also advertised in the {@code Link} header) for the following ones.
+ * The total count is only computed, and sent in the {@code X-Total-Count} header, when {@code count=true}.
+ */
+final class KeysetPaginationUtil {
+
+    static final String AFTER_PARAMETER = "after";
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Decodes the {@code after} request parameter.
+     *
+     * @param after the raw parameter, empty for the first slice.
+     * @param properties the Java type of each property a traversal may be sorted on.
+     * @param entityName the entity name used in the error if the cursor is invalid.
+     * @return the decoded cursor, or {@code null} for the first slice.
+     */
+    static KeysetCursor decodeCursor(String after, Map<String, Class<?>> properties, String entityName) {
+        if (!StringUtils.hasText(after)) {
+            return null;
+        }
+        try {
+            return KeysetCursor.decode(after, properties);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid pagination cursor", entityName, "invalidcursor");
+        }
+    }
+
+    /**
+     * Resolves the keyset sort order: the one of the cursor if there is one, otherwise the single order of the
+     * {@link Pageable}, defaulting to ascending {@code id}.
+     *
+     * @param pageable the pagination information.
+     * @param after the decoded cursor, or {@code null} for the first slice.
+     * @param allowedProperties the properties a keyset traversal may be sorted on.
+     * @return the sort order, or an empty {@link Optional} if it is not allowed.
+     */
+    static Optional<Sort.Order> resolveOrder(Pageable pageable, KeysetCursor after, Collection<String> allowedProperties) {
+        Sort.Order order;
+        if (after != null) {
+            order = after.getOrder();
+        } else {
+            Iterator<Sort.Order> orders = pageable.getSort().iterator();
+            order = orders.hasNext() ? orders.next() : Sort.Order.asc("id");
+            if (orders.hasNext()) {
+                return Optional.empty();
+            }
+        }
+        return allowedProperties.contains(order.getProperty()) ? Optional.of(order) : Optional.empty();
+    }
+
+    /**
+     * Generates the keyset pagination headers.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param page the returned slice.
+     * @param total the total count, or {@code null} if it was not requested.
+     * @param <T> the type of the rows.
+     * @return the {@link HttpHeaders}.
+     */
+    static <T> HttpHeaders generateKeysetHttpHeaders(UriComponentsBuilder uriBuilder, KeysetPage<T> page, Long total) {
+        HttpHeaders headers = new HttpHeaders();
+        if (total != null) {
+            headers.add(TOTAL_COUNT_HEADER, Long.toString(total));
+        }
+        page
+            .getNext()
+            .ifPresent(next -> {
+                String token = next.encode();
+                headers.add(NEXT_CURSOR_HEADER, token);
+                String link = uriBuilder.replaceQueryParam(AFTER_PARAMETER, token).replaceQueryParam("page").toUriString();
+                headers.add(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+            });
+        return headers;
+    }
+}
@@ -1,5 +1,7 @@
 package com.bdprojeto.bd.web.rest;
 
+import com.bdprojeto.bd.repository.KeysetCursor;
+import com.bdprojeto.bd.repository.KeysetPage;
 import com.bdprojeto.bd.service.UserService;
 import com.bdprojeto.bd.service.dto.UserDTO;
 import java.util.*;
@@ -24,6 +26,8 @@ public class PublicUserResource {
         Arrays.asList("id", "login", "firstName", "lastName", "email", "activated", "langKey")
     );
 
+    private static final Map<String, Class<?>> KEYSET_ORDERED_PROPERTIES = Map.of("id", Long.class, "login", String.class);
+
     private final Logger log = LoggerFactory.getLogger(PublicUserResource.class);
 
     private final UserService userService;
@@ -35,12 +39,35 @@ public class PublicUserResource {
     /**
      * {@code GET /users} : get all users with only the public informations - calling this are allowed for anyone.
      *
+     * <p>
+     * When the {@code after} parameter is present, users are returned by keyset pagination instead, see {@link KeysetPaginationUtil}.
+     *
      * @param pageable the pagination information.
+     * @param after the keyset cursor, empty for the first slice.
+     * @param count whether to compute the total count in keyset mode.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body all users.
      */
     @GetMapping("/users")
-    public ResponseEntity<List<UserDTO>> getAllPublicUsers(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<UserDTO>> getAllPublicUsers(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after,
+        @RequestParam(name = "count", defaultValue = "false") boolean count
+    ) {
         log.debug("REST request to get all public User names");
+        if (after != null) {
+            KeysetCursor cursor = KeysetPaginationUtil.decodeCursor(after, KEYSET_ORDERED_PROPERTIES, "userManagement");
+            Optional<Sort.Order> order = KeysetPaginationUtil.resolveOrder(pageable, cursor, KEYSET_ORDERED_PROPERTIES.keySet());
+            if (order.isEmpty()) {
+                return ResponseEntity.badRequest().build();
+            }
+            KeysetPage<UserDTO> page = userService.getAllPublicUsers(order.get(), cursor, pageable.getPageSize());
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                page,
+                count ? userService.countPublicUsers() : null
+            );
+            return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+        }
         if (!onlyContainsAllowedProperties(pageable)) {
             return ResponseEntity.badRequest().build();
         }
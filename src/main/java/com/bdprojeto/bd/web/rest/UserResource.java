@@ -2,9 +2,10 @@ package com.bdprojeto.bd.web.rest;
 
 import com.bdprojeto.bd.config.Constants;
 import com.bdprojeto.bd.domain.User;
+import com.bdprojeto.bd.repository.KeysetCursor;
+import com.bdprojeto.bd.repository.KeysetPage;
 import com.bdprojeto.bd.repository.UserRepository;
 import com.bdprojeto.bd.security.AuthoritiesConstants;
-import com.bdprojeto.bd.service.MailService;
 import com.bdprojeto.bd.service.UserService;
 import com.bdprojeto.bd.service.dto.AdminUserDTO;
 import com.bdprojeto.bd.web.rest.errors.BadRequestAlertException;
@@ -76,6 +77,8 @@ public class UserResource {
         )
     );
 
+    private static final Map<String, Class<?>> KEYSET_ORDERED_PROPERTIES = Map.of("id", Long.class, "login", String.class);
+
     private final Logger log = LoggerFactory.getLogger(UserResource.class);
 
     @Value("${jhipster.clientApp.name}")
@@ -85,12 +88,9 @@ public class UserResource {
 
     private final UserRepository userRepository;
 
-    private final MailService mailService;
-
-    public UserResource(UserService userService, UserRepository userRepository, MailService mailService) {
+    public UserResource(UserService userService, UserRepository userRepository) {
         this.userService = userService;
         this.userRepository = userRepository;
-        this.mailService = mailService;
     }
 
     /**
@@ -119,7 +119,6 @@ public class UserResource {
             throw new EmailAlreadyUsedException();
         } else {
             User newUser = userService.createUser(userDTO);
-            mailService.sendCreationEmail(newUser);
             return ResponseEntity
                 .created(new URI("/api/admin/users/" + newUser.getLogin()))
                 .headers(HeaderUtil.createAlert(applicationName, "userManagement.created", newUser.getLogin()))
@@ -157,14 +156,36 @@ public class UserResource {
 
     /**
      * {@code GET /admin/users} : get all users with all the details - calling this are only allowed for the administrators.
+     * <p>
+     * When the {@code after} parameter is present, users are returned by keyset pagination instead, see {@link KeysetPaginationUtil}.
      *
      * @param pageable the pagination information.
+     * @param after the keyset cursor, empty for the first slice.
+     * @param count whether to compute the total count in keyset mode.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body all users.
      */
     @GetMapping("/users")
     @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
-    public ResponseEntity<List<AdminUserDTO>> getAllUsers(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<AdminUserDTO>> getAllUsers(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after,
+        @RequestParam(name = "count", defaultValue = "false") boolean count
+    ) {
         log.debug("REST request to get all User for an admin");
+        if (after != null) {
+            KeysetCursor cursor = KeysetPaginationUtil.decodeCursor(after, KEYSET_ORDERED_PROPERTIES, "userManagement");
+            Optional<Sort.Order> order = KeysetPaginationUtil.resolveOrder(pageable, cursor, KEYSET_ORDERED_PROPERTIES.keySet());
+            if (order.isEmpty()) {
+                return ResponseEntity.badRequest().build();
+            }
+            KeysetPage<AdminUserDTO> page = userService.getAllManagedUsers(order.get(), cursor, pageable.getPageSize());
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                page,
+                count ? userService.countManagedUsers() : null
+            );
+            return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+        }
         if (!onlyContainsAllowedProperties(pageable)) {
             return ResponseEntity.badRequest().build();
         }
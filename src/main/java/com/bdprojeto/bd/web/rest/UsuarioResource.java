@@ -1,18 +1,44 @@
 package com.bdprojeto.bd.web.rest;
 
+import com.bdprojeto.bd.config.ApplicationProperties;
 import com.bdprojeto.bd.domain.Usuario;
+import com.bdprojeto.bd.repository.KeysetCursor;
+import com.bdprojeto.bd.repository.KeysetPage;
 import com.bdprojeto.bd.repository.UsuarioRepository;
+import com.bdprojeto.bd.service.UsuarioBatchGetService;
+import com.bdprojeto.bd.service.UsuarioBulkImportService;
+import com.bdprojeto.bd.service.UsuarioExportService;
+import com.bdprojeto.bd.service.UsuarioQueryService;
+import com.bdprojeto.bd.service.criteria.UsuarioCriteria;
+import com.bdprojeto.bd.service.dto.UsuarioBatchGetRequestDTO;
+import com.bdprojeto.bd.service.dto.UsuarioBatchGetResultDTO;
+import com.bdprojeto.bd.service.dto.UsuarioBulkImportResultDTO;
 import com.bdprojeto.bd.web.rest.errors.BadRequestAlertException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -43,6 +69,12 @@ import tech.jhipster.web.util.ResponseUtil;
 @RequestMapping("/api")
 public class UsuarioResource {
 
+    private static final List<String> ALLOWED_ORDERED_PROPERTIES = Collections.unmodifiableList(
+        Arrays.asList("id", "cpf", "nome", "dataNascimento", "createdBy", "createdDate", "lastModifiedBy", "lastModifiedDate")
+    );
+
+    private static final Map<String, Class<?>> KEYSET_ORDERED_PROPERTIES = Map.of("id", Long.class, "cpf", Long.class);
+
     private final Logger log = LoggerFactory.getLogger(UsuarioResource.class);
 
     @Value("${jhipster.clientApp.name}")
@@ -50,10 +82,34 @@ public class UsuarioResource {
 
     private final UsuarioRepository usuarioRepository;
 
+    private final UsuarioQueryService usuarioQueryService;
+
+    private final UsuarioExportService usuarioExportService;
+
+    private final UsuarioBulkImportService usuarioBulkImportService;
+
+    private final UsuarioBatchGetService usuarioBatchGetService;
+
+    private final ApplicationProperties applicationProperties;
+
     private static final String ENTITY_NAME = "usuario";
 
-    public UsuarioResource(UsuarioRepository usuarioRepository) {
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    public UsuarioResource(
+        UsuarioRepository usuarioRepository,
+        UsuarioQueryService usuarioQueryService,
+        UsuarioExportService usuarioExportService,
+        UsuarioBulkImportService usuarioBulkImportService,
+        UsuarioBatchGetService usuarioBatchGetService,
+        ApplicationProperties applicationProperties
+    ) {
         this.usuarioRepository = usuarioRepository;
+        this.usuarioQueryService = usuarioQueryService;
+        this.usuarioExportService = usuarioExportService;
+        this.usuarioBulkImportService = usuarioBulkImportService;
+        this.usuarioBatchGetService = usuarioBatchGetService;
+        this.applicationProperties = applicationProperties;
     }
 
     /**
@@ -78,14 +134,129 @@ public class UsuarioResource {
     }
 
     /**
-     * {@code GET  /usuarios} : get all the usuarios.
+     * {@code POST  /usuarios/bulk} : Import many usuarios from a CSV or NDJSON request body.
+     * <p>
+     * CSV bodies must start with a header line naming the {@code cpf}, {@code nome} and {@code dataNascimento} columns.
+     * Rows are inserted in chunks, each in its own transaction, so rows of successful chunks stay imported even if others fail.
+     *
+     * @param request the request whose body holds the usuarios.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the import report,
+     * or with status {@code 400 (Bad Request)} if the CSV header is invalid.
+     * @throws IOException if the request body cannot be read.
+     */
+    @PostMapping(value = "/usuarios/bulk", consumes = { TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<UsuarioBulkImportResultDTO> bulkImportUsuarios(HttpServletRequest request) throws IOException {
+        log.debug("REST request to bulk import Usuarios");
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        UsuarioBulkImportService.Format format = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+            ? UsuarioBulkImportService.Format.NDJSON
+            : UsuarioBulkImportService.Format.CSV;
+        Charset charset = Optional.ofNullable(contentType.getCharset()).orElse(StandardCharsets.UTF_8);
+        try (Reader reader = new InputStreamReader(request.getInputStream(), charset)) {
+            return ResponseEntity.ok(usuarioBulkImportService.importUsuarios(reader, format));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalidimport");
+        }
+    }
+
+    /**
+     * {@code POST  /usuarios/batch-get} : Fetch many usuarios in one call, either by id or by cpf.
+     *
+     * @param request the ids or the cpfs of the usuarios to fetch.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body one result per requested key, in request order,
+     * or with status {@code 400 (Bad Request)} if the request does not hold exactly one non-empty list of keys or holds too many keys.
+     */
+    @PostMapping("/usuarios/batch-get")
+    public ResponseEntity<List<UsuarioBatchGetResultDTO>> batchGetUsuarios(@Valid @RequestBody UsuarioBatchGetRequestDTO request) {
+        log.debug("REST request to batch get Usuarios : {}", request);
+        List<Long> ids = request.getIds();
+        List<Long> cpfs = request.getCpfs();
+        if ((ids == null) == (cpfs == null)) {
+            throw new BadRequestAlertException("Exactly one of ids and cpfs must be given", ENTITY_NAME, "invalidbatchget");
+        }
+        List<Long> keys = ids != null ? ids : cpfs;
+        int maxKeys = applicationProperties.getBatchGet().getMaxKeys();
+        if (keys.size() > maxKeys) {
+            throw new BadRequestAlertException("At most " + maxKeys + " usuarios can be fetched at once", ENTITY_NAME, "batchgettoolarge");
+        }
+        List<UsuarioBatchGetResultDTO> results = ids != null
+            ? usuarioBatchGetService.findAllByIds(ids)
+            : usuarioBatchGetService.findAllByCpfs(cpfs);
+        return ResponseEntity.ok().body(results);
+    }
+
+    /**
+     * {@code GET  /usuarios} : get a page of usuarios matching the criteria.
+     * <p>
+     * When the {@code after} parameter is present, usuarios are returned by keyset pagination instead, see {@link KeysetPaginationUtil}.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of usuarios in body.
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information.
+     * @param after the keyset cursor, empty for the first slice.
+     * @param count whether to compute the total count in keyset mode.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of usuarios in body,
+     * or with status {@code 400 (Bad Request)} if sorting on a property that is not allowed.
      */
     @GetMapping("/usuarios")
-    public List<Usuario> getAllUsuarios() {
-        log.debug("REST request to get all usuarios");
-        return usuarioRepository.findAll();
+    public ResponseEntity<List<Usuario>> getAllUsuarios(
+        UsuarioCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after,
+        @RequestParam(name = "count", defaultValue = "false") boolean count
+    ) {
+        log.debug("REST request to get Usuarios by criteria: {}", criteria);
+        if (after != null) {
+            KeysetCursor cursor = KeysetPaginationUtil.decodeCursor(after, KEYSET_ORDERED_PROPERTIES, ENTITY_NAME);
+            Optional<Sort.Order> order = KeysetPaginationUtil.resolveOrder(pageable, cursor, KEYSET_ORDERED_PROPERTIES.keySet());
+            if (order.isEmpty()) {
+                return ResponseEntity.badRequest().build();
+            }
+            KeysetPage<Usuario> page = usuarioQueryService.findByCriteria(criteria, order.get(), cursor, pageable.getPageSize());
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                page,
+                count ? usuarioQueryService.countByCriteria(criteria) : null
+            );
+            return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+        }
+        if (!onlyContainsAllowedProperties(pageable)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        final Page<Usuario> page = usuarioQueryService.findByCriteria(criteria, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+    }
+
+    private boolean onlyContainsAllowedProperties(Pageable pageable) {
+        return pageable.getSort().stream().map(Sort.Order::getProperty).allMatch(ALLOWED_ORDERED_PROPERTIES::contains);
+    }
+
+    /**
+     * {@code GET  /usuarios/count} : count all the usuarios matching the criteria.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/usuarios/count")
+    public ResponseEntity<Long> countUsuarios(UsuarioCriteria criteria) {
+        log.debug("REST request to count Usuarios by criteria: {}", criteria);
+        return ResponseEntity.ok().body(usuarioQueryService.countByCriteria(criteria));
+    }
+
+    /**
+     * {@code GET  /usuarios/export} : stream all the usuarios as NDJSON, one usuario per line.
+     *
+     * @param response the response the usuarios are written to, with status {@code 200 (OK)}.
+     * @throws IOException if the response cannot be written to.
+     */
+    @GetMapping(value = "/usuarios/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportUsuarios(HttpServletResponse response) throws IOException {
+        log.debug("REST request to export all Usuarios");
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        usuarioExportService.exportAll(response.getOutputStream());
     }
 
     /**
@@ -100,4 +271,16 @@ public class UsuarioResource {
        Optional<Usuario> usuario = usuarioRepository.findById(id);
        return ResponseUtil.wrapOrNotFound(usuario);
    }
+
+    /**
+     * {@code GET  /usuarios/cpf/:cpf} : get the usuario with the given "cpf".
+     *
+     * @param cpf the cpf of the usuario to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the usuario, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/usuarios/cpf/{cpf}")
+    public ResponseEntity<Usuario> getUsuarioByCpf(@PathVariable Long cpf) {
+        log.debug("REST request to get Usuario by cpf : {}", cpf);
+        return ResponseUtil.wrapOrNotFound(usuarioRepository.findOneByCpf(cpf));
+    }
 }
@@ -1,5 +1,7 @@
 package com.bdprojeto.bd.web.rest.errors;
 
+import com.bdprojeto.bd.security.LoginThrottledException;
+import com.bdprojeto.bd.security.PasswordHashingRejectedException;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.Collection;
@@ -14,6 +16,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageConversionException;
 import org.springframework.validation.BindingResult;
@@ -164,6 +167,29 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
         return create(ex, problem, request);
     }
 
+    @ExceptionHandler
+    public ResponseEntity<Problem> handlePasswordHashingRejected(PasswordHashingRejectedException ex, NativeWebRequest request) {
+        return createTooManyRequests(ex, request, 1);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleLoginThrottled(LoginThrottledException ex, NativeWebRequest request) {
+        return createTooManyRequests(ex, request, ex.getRetryAfterSeconds());
+    }
+
+    private ResponseEntity<Problem> createTooManyRequests(Throwable ex, NativeWebRequest request, long retryAfterSeconds) {
+        Problem problem = Problem
+            .builder()
+            .withStatus(Status.TOO_MANY_REQUESTS)
+            .with(MESSAGE_KEY, ErrorConstants.ERR_TOO_MANY_REQUESTS)
+            .build();
+        ResponseEntity<Problem> response = create(ex, problem, request);
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+    }
+
     @Override
     public ProblemBuilder prepare(final Throwable throwable, final StatusType status, final URI type) {
         Collection<String> activeProfiles = Arrays.asList(env.getActiveProfiles());
@@ -0,0 +1,90 @@
+package com.bdprojeto.bd.aop.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import ch.qos.logback.classic.Level;
+import com.bdprojeto.bd.domain.Usuario;
+import com.bdprojeto.bd.repository.UsuarioRepository;
+import java.lang.reflect.Proxy;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Test class for the tracing mode of the {@link LoggingAspect}.
+ */
+class LoggingAspectTest {
+
+    private final ch.qos.logback.classic.Logger tracingLogger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(
+        LoggingAspect.TRACING_LOGGER_NAME
+    );
+
+    private MethodTraceRecorder methodTraceRecorder;
+
+    private LoggingAspect loggingAspect;
+
+    @BeforeEach
+    public void setup() {
+        methodTraceRecorder = new MethodTraceRecorder(16);
+        loggingAspect = new LoggingAspect(new MockEnvironment(), methodTraceRecorder);
+    }
+
+    @AfterEach
+    public void resetTracingLogger() {
+        tracingLogger.setLevel(null);
+    }
+
+    @Test
+    void testTracesAreOnlyRecordedWhileTheTracingLoggerIsAtTrace() throws Throwable {
+        ProceedingJoinPoint joinPoint = repositorySaveJoinPoint();
+
+        loggingAspect.logAround(joinPoint);
+        assertThat(methodTraceRecorder.recent()).isEmpty();
+
+        tracingLogger.setLevel(Level.TRACE);
+        loggingAspect.logAround(joinPoint);
+        assertThat(methodTraceRecorder.recent()).hasSize(1);
+
+        tracingLogger.setLevel(Level.INFO);
+        loggingAspect.logAround(joinPoint);
+        assertThat(methodTraceRecorder.recent()).hasSize(1);
+    }
+
+    @Test
+    void testInheritedRepositoryMethodIsNamedAfterTheRepository() throws Throwable {
+        tracingLogger.setLevel(Level.TRACE);
+
+        loggingAspect.logAround(repositorySaveJoinPoint());
+
+        assertThat(methodTraceRecorder.recent())
+            .extracting(MethodTraceRecorder.MethodTrace::getMethod)
+            .containsExactly("UsuarioRepository.save");
+        assertThat(methodTraceRecorder.recent().get(0).isFailed()).isFalse();
+    }
+
+    /**
+     * A call of {@link CrudRepository#save(Object)} on a Spring Data proxy of the {@link UsuarioRepository}.
+     */
+    private static ProceedingJoinPoint repositorySaveJoinPoint() throws Throwable {
+        Object repository = Proxy.newProxyInstance(
+            LoggingAspectTest.class.getClassLoader(),
+            new Class<?>[] { UsuarioRepository.class },
+            (proxy, method, args) -> null
+        );
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(CrudRepository.class.getMethod("save", Object.class));
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getThis()).thenReturn(repository);
+        when(joinPoint.getArgs()).thenReturn(new Object[] { new Usuario() });
+        when(joinPoint.proceed()).thenReturn(new Usuario());
+        return joinPoint;
+    }
+}
@@ -0,0 +1,40 @@
+package com.bdprojeto.bd.aop.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link MethodTraceRecorder}.
+ */
+class MethodTraceRecorderTest {
+
+    @Test
+    void testRecentTracesAreLatestFirst() {
+        MethodTraceRecorder methodTraceRecorder = new MethodTraceRecorder(4);
+
+        methodTraceRecorder.record("UserService.getUserWithAuthorities", 10, false);
+        methodTraceRecorder.record("UserService.changePassword", 20, true);
+
+        List<MethodTraceRecorder.MethodTrace> traces = methodTraceRecorder.recent();
+        assertThat(traces)
+            .extracting(MethodTraceRecorder.MethodTrace::getMethod)
+            .containsExactly("UserService.changePassword", "UserService.getUserWithAuthorities");
+        assertThat(traces.get(0).isFailed()).isTrue();
+        assertThat(traces.get(0).getDurationNanos()).isEqualTo(20);
+    }
+
+    @Test
+    void testOldestTracesAreOverwritten() {
+        MethodTraceRecorder methodTraceRecorder = new MethodTraceRecorder(3);
+
+        for (int i = 0; i < 10; i++) {
+            methodTraceRecorder.record("method" + i, i, false);
+        }
+
+        assertThat(methodTraceRecorder.recent())
+            .extracting(MethodTraceRecorder.MethodTrace::getMethod)
+            .containsExactly("method9", "method8", "method7", "method6");
+    }
+}
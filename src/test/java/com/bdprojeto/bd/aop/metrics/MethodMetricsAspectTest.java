@@ -0,0 +1,86 @@
+package com.bdprojeto.bd.aop.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.bdprojeto.bd.repository.UsuarioRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.repository.CrudRepository;
+
+/**
+ * Test class for the {@link MethodMetricsAspect}.
+ */
+class MethodMetricsAspectTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final Object repository = Proxy.newProxyInstance(
+        MethodMetricsAspectTest.class.getClassLoader(),
+        new Class<?>[] { UsuarioRepository.class },
+        (proxy, method, args) -> null
+    );
+
+    @Test
+    void testTimersAreNamedAfterTheRepository() throws Throwable {
+        MethodMetricsAspect methodMetricsAspect = new MethodMetricsAspect(meterRegistry, 100, false);
+
+        methodMetricsAspect.time(joinPoint(CrudRepository.class.getMethod("count")));
+
+        assertThat(
+            meterRegistry
+                .get(MethodMetricsAspect.METHODS_METER_NAME)
+                .tag("layer", "repository")
+                .tag("class", "UsuarioRepository")
+                .tag("method", "count")
+                .tag("outcome", "success")
+                .tag("cache", "none")
+                .timer()
+                .count()
+        )
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testTimersPublishPercentilesWithoutHistogram() throws Throwable {
+        MethodMetricsAspect methodMetricsAspect = new MethodMetricsAspect(meterRegistry, 100, false);
+
+        methodMetricsAspect.time(joinPoint(CrudRepository.class.getMethod("count")));
+
+        HistogramSnapshot snapshot = meterRegistry.get(MethodMetricsAspect.METHODS_METER_NAME).timer().takeSnapshot();
+        assertThat(snapshot.percentileValues()).extracting(ValueAtPercentile::percentile).containsExactly(0.5, 0.95, 0.99);
+        assertThat(snapshot.histogramCounts()).isEmpty();
+    }
+
+    @Test
+    void testExecutionsBeyondTheMaxSeriesAreTimedTogether() throws Throwable {
+        // A timer without histogram publishes its count, total time, max and three percentiles
+        MethodMetricsAspect methodMetricsAspect = new MethodMetricsAspect(meterRegistry, 6, false);
+
+        methodMetricsAspect.time(joinPoint(CrudRepository.class.getMethod("count")));
+        methodMetricsAspect.time(joinPoint(CrudRepository.class.getMethod("findAll")));
+        methodMetricsAspect.time(joinPoint(CrudRepository.class.getMethod("count")));
+
+        assertThat(meterRegistry.get(MethodMetricsAspect.METHODS_METER_NAME).tag("method", "count").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.find(MethodMetricsAspect.METHODS_METER_NAME).tag("method", "findAll").timer()).isNull();
+        assertThat(meterRegistry.get(MethodMetricsAspect.METHODS_METER_NAME).tag("method", "other").timer().count()).isEqualTo(1);
+    }
+
+    private ProceedingJoinPoint joinPoint(Method method) throws Throwable {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(method);
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getThis()).thenReturn(repository);
+        when(joinPoint.proceed()).thenReturn(null);
+        return joinPoint;
+    }
+}
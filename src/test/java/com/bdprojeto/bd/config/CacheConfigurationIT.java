@@ -0,0 +1,113 @@
+package com.bdprojeto.bd.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bdprojeto.bd.IntegrationTest;
+import com.bdprojeto.bd.domain.User;
+import com.bdprojeto.bd.domain.Usuario;
+import com.bdprojeto.bd.repository.UserRepository;
+import com.bdprojeto.bd.repository.UsuarioRepository;
+import com.bdprojeto.bd.web.rest.UserResourceIT;
+import java.util.ArrayList;
+import java.util.List;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the off-heap and disk tiers of the {@link CacheConfiguration} regions.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = {
+        "application.cache.disk-path=build/cache-test",
+        "application.cache.regions.Usuario.off-heap-mb=8",
+        "application.cache.regions.User.disk-mb=16",
+    }
+)
+class CacheConfigurationIT {
+
+    private static final long CPF = 55500000101L;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Usuario usuario;
+
+    private User user;
+
+    @BeforeEach
+    public void setup() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        usuario = new Usuario();
+        usuario.setCpf(CPF);
+        usuario.setNome("Off heap");
+        usuario = usuarioRepository.saveAndFlush(usuario);
+        user = userRepository.saveAndFlush(UserResourceIT.createEntity(em));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        usuarioRepository.deleteById(usuario.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void testOffHeapRegionStoresHibernateEntries() {
+        Long id = usuario.getId();
+        transactionTemplate.executeWithoutResult(status -> usuarioRepository.findById(id));
+
+        assertThat(entityManagerFactory.getCache().contains(Usuario.class, id)).isTrue();
+        assertThat(cacheEntries(Usuario.class.getName())).isNotEmpty();
+        Usuario cached = transactionTemplate.execute(status -> usuarioRepository.findById(id).orElseThrow());
+        assertThat(cached.getCpf()).isEqualTo(CPF);
+        assertThat(cached.getNome()).isEqualTo("Off heap");
+    }
+
+    @Test
+    void testDiskRegionStoresHibernateEntries() {
+        Long id = user.getId();
+        transactionTemplate.executeWithoutResult(status -> userRepository.findById(id));
+
+        assertThat(entityManagerFactory.getCache().contains(User.class, id)).isTrue();
+        assertThat(cacheEntries(User.class.getName())).isNotEmpty();
+        User cached = transactionTemplate.execute(status -> userRepository.findById(id).orElseThrow());
+        assertThat(cached.getLogin()).isEqualTo(user.getLogin());
+    }
+
+    private List<CacheEntry> cacheEntries(String cacheName) {
+        List<CacheEntry> entries = new ArrayList<>();
+        for (Cache.Entry<Object, Object> entry : cacheManager.<Object, Object>getCache(cacheName)) {
+            if (entry.getValue() instanceof CacheEntry) {
+                entries.add((CacheEntry) entry.getValue());
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,35 @@
+package com.bdprojeto.bd.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadFactory;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link VirtualThreads} class.
+ */
+class VirtualThreadsTest {
+
+    @Test
+    void testThreadFactoryFallsBackOnOlderJvms() {
+        Optional<ThreadFactory> threadFactory = VirtualThreads.threadFactory("test-");
+
+        assertThat(threadFactory.isPresent()).isEqualTo(Runtime.version().feature() >= 21);
+    }
+
+    @Test
+    void testThreadFactoryCreatesNamedVirtualThreads() throws Exception {
+        Optional<ThreadFactory> threadFactory = VirtualThreads.threadFactory("test-");
+        if (threadFactory.isEmpty()) {
+            return;
+        }
+
+        Thread first = threadFactory.get().newThread(() -> {});
+        Thread second = threadFactory.get().newThread(() -> {});
+
+        assertThat(Thread.class.getMethod("isVirtual").invoke(first)).isEqualTo(true);
+        assertThat(first.getName()).isEqualTo("test-0");
+        assertThat(second.getName()).isEqualTo("test-1");
+    }
+}
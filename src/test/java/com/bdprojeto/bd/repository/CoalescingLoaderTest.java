@@ -0,0 +1,89 @@
+package com.bdprojeto.bd.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link CoalescingLoader}.
+ */
+class CoalescingLoaderTest {
+
+    private MeterRegistry meterRegistry;
+
+    private CoalescingLoader coalescingLoader;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescingLoader = new CoalescingLoader("test", meterRegistry);
+    }
+
+    @Test
+    void testConcurrentMissesWaitForTheRunningLoad() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        AtomicInteger cached = new AtomicInteger();
+        AtomicInteger queries = new AtomicInteger();
+
+        CompletableFuture<Integer> leader = CompletableFuture.supplyAsync(() ->
+            coalescingLoader.load(
+                "key",
+                () -> {
+                    leaderStarted.countDown();
+                    await(releaseLeader);
+                    queries.incrementAndGet();
+                    cached.set(42);
+                    return 42;
+                }
+            )
+        );
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Integer> follower = CompletableFuture.supplyAsync(() ->
+            coalescingLoader.load(
+                "key",
+                () -> {
+                    if (cached.get() != 0) {
+                        return cached.get();
+                    }
+                    queries.incrementAndGet();
+                    return -1;
+                }
+            )
+        );
+        while (meterRegistry.counter("cache.loads.coalesced", "cache", "test").count() == 0) {
+            Thread.sleep(10);
+        }
+        releaseLeader.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+        assertThat(queries.get()).isEqualTo(1);
+        assertThat(meterRegistry.counter("cache.loads", "cache", "test").count()).isEqualTo(1);
+    }
+
+    @Test
+    void testSequentialLoadsAreNotCoalesced() {
+        assertThat(coalescingLoader.load("key", () -> 1)).isEqualTo(1);
+        assertThat(coalescingLoader.load("key", () -> 2)).isEqualTo(2);
+
+        assertThat(meterRegistry.counter("cache.loads", "cache", "test").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("cache.loads.coalesced", "cache", "test").count()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
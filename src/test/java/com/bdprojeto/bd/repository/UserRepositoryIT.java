@@ -0,0 +1,88 @@
+package com.bdprojeto.bd.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bdprojeto.bd.IntegrationTest;
+import com.bdprojeto.bd.aop.metrics.MethodMetricsAspect;
+import com.bdprojeto.bd.domain.User;
+import com.bdprojeto.bd.web.rest.UserResourceIT;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for the natural-id lookups of the {@link UserRepository}.
+ * <p>
+ * Not transactional, so that each repository call commits and goes through the second-level cache.
+ */
+@IntegrationTest
+class UserRepositoryIT {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User user;
+
+    @BeforeEach
+    public void init() {
+        user = userRepository.saveAndFlush(UserResourceIT.createEntity(em));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void testFindOneWithAuthoritiesByLogin() {
+        assertThat(userRepository.findOneWithAuthoritiesByLogin(user.getLogin())).map(User::getId).contains(user.getId());
+        assertThat(userRepository.findOneWithAuthoritiesByLogin(user.getLogin())).map(User::getId).contains(user.getId());
+        assertThat(userRepository.findOneByLogin("unknown-login")).isEmpty();
+    }
+
+    @Test
+    void testLoginChangeInvalidatesNaturalIdCache() {
+        String oldLogin = user.getLogin();
+        assertThat(userRepository.findOneByLogin(oldLogin)).isPresent();
+
+        User updated = userRepository.findById(user.getId()).orElseThrow();
+        updated.setLogin("renamed-" + oldLogin);
+        userRepository.saveAndFlush(updated);
+
+        assertThat(userRepository.findOneByLogin(oldLogin)).isEmpty();
+        assertThat(userRepository.findOneByLogin("renamed-" + oldLogin)).map(User::getId).contains(user.getId());
+    }
+
+    @Test
+    void testMethodTimersAreTaggedWithCacheLookups() {
+        String email = "unknown-" + System.nanoTime() + "@localhost";
+        long misses = emailLookups("miss");
+        long hits = emailLookups("hit");
+
+        assertThat(userRepository.findOneWithAuthoritiesByEmailIgnoreCase(email)).isEmpty();
+        assertThat(userRepository.findOneWithAuthoritiesByEmailIgnoreCase(email)).isEmpty();
+
+        assertThat(emailLookups("miss")).isEqualTo(misses + 1);
+        assertThat(emailLookups("hit")).isEqualTo(hits + 1);
+    }
+
+    private long emailLookups(String cache) {
+        return meterRegistry
+            .find(MethodMetricsAspect.METHODS_METER_NAME)
+            .tags("class", "UserRepository", "method", "findOneWithAuthoritiesByEmailIgnoreCase", "cache", cache)
+            .timers()
+            .stream()
+            .mapToLong(Timer::count)
+            .sum();
+    }
+}
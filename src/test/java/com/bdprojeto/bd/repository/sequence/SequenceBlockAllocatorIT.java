@@ -0,0 +1,48 @@
+package com.bdprojeto.bd.repository.sequence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bdprojeto.bd.IntegrationTest;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link SequenceBlockAllocator}.
+ */
+@IntegrationTest
+@Transactional
+class SequenceBlockAllocatorIT {
+
+    @Autowired
+    private SequenceBlockAllocator sequenceBlockAllocator;
+
+    @Test
+    void testReservesWholeIncrementsInOneCall() {
+        long callsBefore = IdAllocationStatistics.getSequenceCalls();
+
+        Set<Long> ids = sequenceBlockAllocator.withReservedIds(
+            120,
+            () -> {
+                Set<Long> reserved = new HashSet<>();
+                Long id;
+                while ((id = SequenceBlockAllocator.nextReservedId()) != null) {
+                    reserved.add(id);
+                }
+                return reserved;
+            }
+        );
+
+        assertThat(ids).hasSize(3 * PooledLoSequenceGenerator.INCREMENT_SIZE);
+        assertThat(IdAllocationStatistics.getSequenceCalls()).isEqualTo(callsBefore + 1);
+        assertThat(SequenceBlockAllocator.nextReservedId()).isNull();
+    }
+
+    @Test
+    void testNoReservationOutsideOfWork() {
+        assertThat(SequenceBlockAllocator.nextReservedId()).isNull();
+        assertThat(sequenceBlockAllocator.withReservedIds(0, SequenceBlockAllocator::nextReservedId)).isNull();
+    }
+}
@@ -0,0 +1,51 @@
+package com.bdprojeto.bd.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bdprojeto.bd.domain.Authority;
+import com.bdprojeto.bd.repository.AuthorityRepository;
+import java.util.Arrays;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Test class for the {@link AuthorityRegistry}.
+ */
+class AuthorityRegistryTest {
+
+    private AuthorityRegistry authorityRegistry;
+
+    @BeforeEach
+    public void setup() {
+        AuthorityRepository authorityRepository = Mockito.mock(AuthorityRepository.class);
+        Authority admin = new Authority();
+        admin.setName(AuthoritiesConstants.ADMIN);
+        Authority user = new Authority();
+        user.setName(AuthoritiesConstants.USER);
+        Mockito.when(authorityRepository.findAll()).thenReturn(Arrays.asList(admin, user));
+
+        authorityRegistry = new AuthorityRegistry(authorityRepository);
+        authorityRegistry.load();
+    }
+
+    @Test
+    void testParseReturnsCanonicalInstances() {
+        Set<GrantedAuthority> parsed = authorityRegistry.parse(AuthoritiesConstants.ADMIN + "," + AuthoritiesConstants.USER);
+
+        assertThat(parsed).extracting(GrantedAuthority::getAuthority).containsExactly(AuthoritiesConstants.ADMIN, AuthoritiesConstants.USER);
+        assertThat(parsed.iterator().next()).isSameAs(authorityRegistry.get(AuthoritiesConstants.ADMIN));
+        assertThat(authorityRegistry.parse(AuthoritiesConstants.USER + "," + AuthoritiesConstants.ADMIN)).isSameAs(parsed);
+        assertThat(authorityRegistry.fromNames(Arrays.asList(AuthoritiesConstants.USER, AuthoritiesConstants.ADMIN))).isSameAs(parsed);
+    }
+
+    @Test
+    void testParseIgnoresBlankNames() {
+        Set<GrantedAuthority> parsed = authorityRegistry.parse(" , " + AuthoritiesConstants.USER + ",,");
+
+        assertThat(parsed).containsExactly(authorityRegistry.get(AuthoritiesConstants.USER));
+        assertThat(authorityRegistry.parse("")).isEmpty();
+    }
+}
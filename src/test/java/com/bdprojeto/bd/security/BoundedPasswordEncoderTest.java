@@ -0,0 +1,54 @@
+package com.bdprojeto.bd.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Test class for the {@link BoundedPasswordEncoder}.
+ */
+class BoundedPasswordEncoderTest {
+
+    private MeterRegistry meterRegistry;
+
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordEncoder = new BoundedPasswordEncoder(5, 2, 10, meterRegistry);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        passwordEncoder.destroy();
+    }
+
+    @Test
+    void testEncodeAndMatchesAreTimed() {
+        String encoded = passwordEncoder.encode("password");
+
+        assertThat(passwordEncoder.matches("password", encoded)).isTrue();
+        assertThat(passwordEncoder.matches("wrong", encoded)).isFalse();
+        assertThat(meterRegistry.timer(BoundedPasswordEncoder.HASHING_METER_NAME, "operation", "encode").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer(BoundedPasswordEncoder.HASHING_METER_NAME, "operation", "matches").count()).isEqualTo(2);
+    }
+
+    @Test
+    void testOnlyHashesWithALowerCostAreUpgraded() {
+        assertThat(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password"))).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(passwordEncoder.encode("password"))).isFalse();
+        assertThat(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password"))).isFalse();
+    }
+
+    @Test
+    void testCalibrationStaysWithinBounds() {
+        assertThat(BoundedPasswordEncoder.calibrate(0, 4, 6)).isEqualTo(4);
+        assertThat(BoundedPasswordEncoder.calibrate(Long.MAX_VALUE, 4, 6)).isEqualTo(6);
+    }
+}
@@ -0,0 +1,111 @@
+package com.bdprojeto.bd.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bdprojeto.bd.config.ApplicationProperties;
+import com.bdprojeto.bd.management.SecurityMetersService;
+import com.bdprojeto.bd.repository.LoginAttemptRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * Test class for the {@link LoginThrottle}, with the failures only counted in memory.
+ */
+class LoginThrottleTest {
+
+    private MeterRegistry meterRegistry;
+
+    private LoginThrottle loginThrottle;
+
+    @BeforeEach
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getLoginThrottle().setMaxFailuresPerLogin(3);
+        applicationProperties.getLoginThrottle().setMaxFailuresPerIp(5);
+        meterRegistry = new SimpleMeterRegistry();
+        loginThrottle =
+            new LoginThrottle(applicationProperties, Mockito.mock(LoginAttemptRepository.class), new SecurityMetersService(meterRegistry));
+    }
+
+    @Test
+    void testLoginIsThrottledAfterTooManyFailures() {
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.checkAllowed("User", "10.0.0." + i);
+            loginThrottle.recordFailure("User", "10.0.0." + i);
+        }
+
+        assertThatThrownBy(() -> loginThrottle.checkAllowed("user", "10.0.0.9"))
+            .isInstanceOf(LoginThrottledException.class)
+            .satisfies(e -> assertThat(((LoginThrottledException) e).getRetryAfterSeconds()).isPositive());
+        assertThatCode(() -> loginThrottle.checkAllowed("other", "10.0.0.9")).doesNotThrowAnyException();
+        assertThat(meterRegistry.counter(SecurityMetersService.THROTTLED_LOGINS_METER_NAME, "key", "login").count()).isEqualTo(1);
+    }
+
+    @Test
+    void testRetryAfterIsWhenTheOldestFailuresLeaveTheWindow() {
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.recordFailure("user", "10.0.0.1");
+        }
+
+        // The three failures are in the current slot of 30 seconds, which leaves the window of 300 seconds last
+        assertThatThrownBy(() -> loginThrottle.checkAllowed("user", "10.0.0.9"))
+            .isInstanceOf(LoginThrottledException.class)
+            .satisfies(e -> assertThat(((LoginThrottledException) e).getRetryAfterSeconds()).isBetween(271L, 300L));
+    }
+
+    @Test
+    void testIpIsThrottledAfterTooManyFailures() {
+        for (int i = 0; i < 5; i++) {
+            loginThrottle.recordFailure("user" + i, "10.0.0.1");
+        }
+
+        assertThatThrownBy(() -> loginThrottle.checkAllowed("another", "10.0.0.1")).isInstanceOf(LoginThrottledException.class);
+        assertThatCode(() -> loginThrottle.checkAllowed("another", "10.0.0.2")).doesNotThrowAnyException();
+        assertThat(meterRegistry.counter(SecurityMetersService.THROTTLED_LOGINS_METER_NAME, "key", "ip").count()).isEqualTo(1);
+    }
+
+    @Test
+    void testSuccessForgetsTheFailuresOfTheLogin() {
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.recordFailure("user", "10.0.0." + i);
+        }
+
+        loginThrottle.recordSuccess("user");
+
+        assertThatCode(() -> loginThrottle.checkAllowed("user", "10.0.0.9")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void testNewKeysAreCountedWhenFull() throws Exception {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getLoginThrottle().setWindowSeconds(2);
+        applicationProperties.getLoginThrottle().setSlots(2);
+        applicationProperties.getLoginThrottle().setMaxFailuresPerLogin(1);
+        applicationProperties.getLoginThrottle().setMaxTrackedKeys(10);
+        LoginThrottle fullThrottle = new LoginThrottle(
+            applicationProperties,
+            Mockito.mock(LoginAttemptRepository.class),
+            new SecurityMetersService(meterRegistry)
+        );
+        for (int i = 0; i < 4; i++) {
+            fullThrottle.recordFailure("old" + i, "10.0.0.1");
+        }
+        Thread.sleep(1100);
+        for (int i = 0; i < 5; i++) {
+            fullThrottle.recordFailure("recent" + i, "10.0.0.1");
+        }
+
+        fullThrottle.recordFailure("attacker", "10.0.0.1");
+
+        assertThatThrownBy(() -> fullThrottle.checkAllowed("attacker", "10.0.0.9")).isInstanceOf(LoginThrottledException.class);
+        for (int i = 0; i < 5; i++) {
+            String login = "recent" + i;
+            assertThatThrownBy(() -> fullThrottle.checkAllowed(login, "10.0.0.9")).isInstanceOf(LoginThrottledException.class);
+        }
+    }
+}
@@ -2,14 +2,20 @@ package com.bdprojeto.bd.security.jwt;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.bdprojeto.bd.config.ApplicationProperties;
 import com.bdprojeto.bd.management.SecurityMetersService;
+import com.bdprojeto.bd.repository.AuthorityRepository;
+import com.bdprojeto.bd.repository.JwtVerificationKeyRepository;
+import com.bdprojeto.bd.repository.TokenRevocationRepository;
 import com.bdprojeto.bd.security.AuthoritiesConstants;
+import com.bdprojeto.bd.security.AuthorityRegistry;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Collections;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 import org.springframework.http.HttpStatus;
 import org.springframework.mock.web.MockFilterChain;
 import org.springframework.mock.web.MockHttpServletRequest;
@@ -34,7 +40,14 @@ class JWTFilterTest {
 
         SecurityMetersService securityMetersService = new SecurityMetersService(new SimpleMeterRegistry());
 
-        tokenProvider = new TokenProvider(jHipsterProperties, securityMetersService);
+        tokenProvider = new TokenProvider(
+            jHipsterProperties,
+            new ApplicationProperties(),
+            new AuthorityRegistry(Mockito.mock(AuthorityRepository.class)),
+            new JwtKeyManager(new ApplicationProperties(), jHipsterProperties, Mockito.mock(JwtVerificationKeyRepository.class)),
+            new TokenRevocationList(jHipsterProperties, Mockito.mock(TokenRevocationRepository.class)),
+            securityMetersService
+        );
         ReflectionTestUtils.setField(tokenProvider, "key", Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret)));
 
         ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", 60000);
@@ -0,0 +1,200 @@
+package com.bdprojeto.bd.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bdprojeto.bd.config.ApplicationProperties;
+import com.bdprojeto.bd.domain.JwtVerificationKey;
+import com.bdprojeto.bd.management.SecurityMetersService;
+import com.bdprojeto.bd.repository.AuthorityRepository;
+import com.bdprojeto.bd.repository.JwtVerificationKeyRepository;
+import com.bdprojeto.bd.repository.TokenRevocationRepository;
+import com.bdprojeto.bd.security.AuthoritiesConstants;
+import com.bdprojeto.bd.security.AuthorityRegistry;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.PrivateKey;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Test class for the {@link JwtKeyManager}, signing with ES256.
+ */
+class JwtKeyManagerTest {
+
+    private final List<JwtVerificationKey> publishedKeys = new ArrayList<>();
+
+    private ApplicationProperties applicationProperties;
+
+    private JwtKeyManager jwtKeyManager;
+
+    private TokenProvider tokenProvider;
+
+    @BeforeEach
+    public void setup() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties
+            .getSecurity()
+            .getAuthentication()
+            .getJwt()
+            .setBase64Secret("fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8");
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getJwt().setAlgorithm(ApplicationProperties.Jwt.Algorithm.ES256);
+        applicationProperties.getJwt().setCacheMaxEntries(0);
+        // Every unknown key id reloads the published keys, unless a test says otherwise
+        applicationProperties.getJwt().setUnknownKeyReloadMs(0);
+
+        jwtKeyManager = new JwtKeyManager(applicationProperties, jHipsterProperties, publishingRepository());
+        tokenProvider =
+            new TokenProvider(
+                jHipsterProperties,
+                applicationProperties,
+                new AuthorityRegistry(Mockito.mock(AuthorityRepository.class)),
+                jwtKeyManager,
+                new TokenRevocationList(jHipsterProperties, Mockito.mock(TokenRevocationRepository.class)),
+                new SecurityMetersService(new SimpleMeterRegistry())
+            );
+    }
+
+    @Test
+    void testTokenIsSignedWithThePublishedKey() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        assertThat(tokenProvider.validateToken(token)).isTrue();
+        assertThat(publishedKeys).hasSize(1);
+        assertThat(kidOf(token)).isEqualTo(publishedKeys.get(0).getKid());
+        assertThat(tokenProvider.resolveAuthentication(token).orElseThrow().getName()).isEqualTo("anonymous");
+    }
+
+    @Test
+    void testRotationKeepsThePreviousKeysPublished() {
+        applicationProperties.getJwt().setKeyRotationSeconds(0);
+        JwtKeyManager rotatingKeyManager = new JwtKeyManager(applicationProperties, new JHipsterProperties(), mockRepository());
+        String firstKid = rotatingKeyManager.signingKey().getKid();
+        String secondKid = rotatingKeyManager.signingKey().getKid();
+
+        assertThat(secondKid).isNotEqualTo(firstKid);
+        assertThat(rotatingKeyManager.publicJwks()).extracting(jwk -> jwk.get("kid")).containsExactlyInAnyOrder(firstKid, secondKid);
+    }
+
+    @Test
+    void testTokenWithUnknownKeyIsRejected() {
+        String token = Jwts
+            .builder()
+            .setSubject("anonymous")
+            .claim("auth", AuthoritiesConstants.ADMIN)
+            .setExpiration(new Date(System.currentTimeMillis() + 60000))
+            .setHeaderParam(JwsHeader.KEY_ID, "unknown")
+            .signWith(Keys.keyPairFor(SignatureAlgorithm.ES256).getPrivate(), SignatureAlgorithm.ES256)
+            .compact();
+
+        assertThat(tokenProvider.validateToken(token)).isFalse();
+    }
+
+    @Test
+    void testKeyRotatedByAnotherInstanceRightAfterAReloadIsFound() {
+        JwtKeyManager otherInstance = new JwtKeyManager(applicationProperties, new JHipsterProperties(), publishingRepository());
+        // An unknown key id makes this instance reload the published keys
+        assertThat(tokenProvider.validateToken(signedToken("unknown", Keys.keyPairFor(SignatureAlgorithm.ES256).getPrivate())))
+            .isFalse();
+
+        JwtKeyManager.SigningKey otherKey = otherInstance.signingKey();
+
+        assertThat(tokenProvider.validateToken(signedToken(otherKey.getKid(), otherKey.getPrivateKey()))).isTrue();
+    }
+
+    @Test
+    void testUnknownKeyIdsReloadTheKeysAtMostOncePerInterval() {
+        applicationProperties.getJwt().setUnknownKeyReloadMs(60000);
+        JwtVerificationKeyRepository repository = mockRepository();
+        JwtParser parser = Jwts
+            .parserBuilder()
+            .setSigningKeyResolver(new JwtKeyManager(applicationProperties, new JHipsterProperties(), repository))
+            .build();
+        PrivateKey forgingKey = Keys.keyPairFor(SignatureAlgorithm.ES256).getPrivate();
+
+        for (int i = 0; i < 10; i++) {
+            String token = signedToken("forged" + i, forgingKey);
+            assertThatThrownBy(() -> parser.parseClaimsJws(token)).isInstanceOf(SignatureException.class);
+        }
+
+        Mockito.verify(repository, Mockito.times(1)).findAllByExpiresAtAfter(ArgumentMatchers.any(Instant.class));
+    }
+
+    @Test
+    void testPublicKeysArePublishedAsJwks() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        List<Map<String, Object>> jwks = jwtKeyManager.publicJwks();
+
+        assertThat(jwks).hasSize(1);
+        assertThat(jwks.get(0))
+            .containsEntry("kid", kidOf(token))
+            .containsEntry("kty", "EC")
+            .containsEntry("crv", "P-256")
+            .containsEntry("alg", "ES256");
+        assertThat((String) jwks.get(0).get("x")).hasSize(43);
+        assertThat((String) jwks.get(0).get("y")).hasSize(43);
+    }
+
+    /**
+     * @return a repository shared by the instances of a test, publishing the keys they rotate.
+     */
+    private JwtVerificationKeyRepository publishingRepository() {
+        JwtVerificationKeyRepository repository = Mockito.mock(JwtVerificationKeyRepository.class);
+        Mockito
+            .when(repository.save(ArgumentMatchers.any(JwtVerificationKey.class)))
+            .thenAnswer(invocation -> {
+                publishedKeys.add(invocation.getArgument(0));
+                return invocation.getArgument(0);
+            });
+        Mockito
+            .when(repository.findAllByExpiresAtAfter(ArgumentMatchers.any(Instant.class)))
+            .thenAnswer(invocation -> new ArrayList<>(publishedKeys));
+        return repository;
+    }
+
+    private static String signedToken(String kid, PrivateKey privateKey) {
+        return Jwts
+            .builder()
+            .setSubject("anonymous")
+            .claim("auth", AuthoritiesConstants.ADMIN)
+            .setExpiration(new Date(System.currentTimeMillis() + 60000))
+            .setHeaderParam(JwsHeader.KEY_ID, kid)
+            .signWith(privateKey, SignatureAlgorithm.ES256)
+            .compact();
+    }
+
+    private JwtVerificationKeyRepository mockRepository() {
+        JwtVerificationKeyRepository repository = Mockito.mock(JwtVerificationKeyRepository.class);
+        Mockito.when(repository.save(ArgumentMatchers.any(JwtVerificationKey.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        return repository;
+    }
+
+    private String kidOf(String token) {
+        return Jwts.parserBuilder().setSigningKeyResolver(jwtKeyManager).build().parseClaimsJws(token).getHeader().getKeyId();
+    }
+
+    private Authentication createAuthentication() {
+        Collection<SimpleGrantedAuthority> authorities = Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN));
+        return new UsernamePasswordAuthenticationToken("anonymous", "anonymous", authorities);
+    }
+}
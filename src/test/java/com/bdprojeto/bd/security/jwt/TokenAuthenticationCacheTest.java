@@ -0,0 +1,67 @@
+package com.bdprojeto.bd.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Test class for the {@link TokenAuthenticationCache}.
+ */
+class TokenAuthenticationCacheTest {
+
+    private static final long ONE_HOUR = 3600_000;
+
+    private final Authentication authentication = new UsernamePasswordAuthenticationToken("test-user", "", Collections.emptyList());
+
+    @Test
+    void testEvictsATenthOfTheCapacityWhenFull() {
+        TokenAuthenticationCache cache = new TokenAuthenticationCache(100);
+        long expiresAt = System.currentTimeMillis() + ONE_HOUR;
+        for (int i = 0; i < 100; i++) {
+            cache.put("token" + i, authentication, 0, expiresAt);
+        }
+        assertThat(cache.size()).isEqualTo(100);
+
+        cache.put("token100", authentication, 0, expiresAt);
+
+        assertThat(cache.size()).isEqualTo(91);
+        assertThat(cache.get("token100")).isNotNull();
+
+        for (int i = 101; i < 110; i++) {
+            cache.put("token" + i, authentication, 0, expiresAt);
+        }
+        assertThat(cache.size()).isEqualTo(100);
+    }
+
+    @Test
+    void testEvictsExpiredEntriesFirst() {
+        TokenAuthenticationCache cache = new TokenAuthenticationCache(10);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 5; i++) {
+            cache.put("expired" + i, authentication, 0, now - 1);
+        }
+        for (int i = 0; i < 5; i++) {
+            cache.put("valid" + i, authentication, 0, now + ONE_HOUR);
+        }
+
+        cache.put("token", authentication, 0, now + ONE_HOUR);
+
+        assertThat(cache.size()).isEqualTo(6);
+        for (int i = 0; i < 5; i++) {
+            assertThat(cache.get("valid" + i)).isNotNull();
+        }
+    }
+
+    @Test
+    void testDisabledCache() {
+        TokenAuthenticationCache cache = new TokenAuthenticationCache(0);
+
+        cache.put("token", authentication, 0, System.currentTimeMillis() + ONE_HOUR);
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get("token")).isNull();
+    }
+}
@@ -2,8 +2,13 @@ package com.bdprojeto.bd.security.jwt;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.bdprojeto.bd.config.ApplicationProperties;
 import com.bdprojeto.bd.management.SecurityMetersService;
+import com.bdprojeto.bd.repository.AuthorityRepository;
+import com.bdprojeto.bd.repository.JwtVerificationKeyRepository;
+import com.bdprojeto.bd.repository.TokenRevocationRepository;
 import com.bdprojeto.bd.security.AuthoritiesConstants;
+import com.bdprojeto.bd.security.AuthorityRegistry;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -17,6 +22,7 @@ import java.util.Collection;
 import java.util.Date;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -28,6 +34,7 @@ class TokenProviderSecurityMetersTests {
 
     private static final long ONE_MINUTE = 60000;
     private static final String INVALID_TOKENS_METER_EXPECTED_NAME = "security.authentication.invalid-tokens";
+    private static final String TOKEN_CACHE_METER_EXPECTED_NAME = "security.authentication.token-cache";
 
     private MeterRegistry meterRegistry;
 
@@ -43,7 +50,14 @@ class TokenProviderSecurityMetersTests {
 
         SecurityMetersService securityMetersService = new SecurityMetersService(meterRegistry);
 
-        tokenProvider = new TokenProvider(jHipsterProperties, securityMetersService);
+        tokenProvider = new TokenProvider(
+            jHipsterProperties,
+            new ApplicationProperties(),
+            new AuthorityRegistry(Mockito.mock(AuthorityRepository.class)),
+            new JwtKeyManager(new ApplicationProperties(), jHipsterProperties, Mockito.mock(JwtVerificationKeyRepository.class)),
+            new TokenRevocationList(jHipsterProperties, Mockito.mock(TokenRevocationRepository.class)),
+            securityMetersService
+        );
         Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
 
         ReflectionTestUtils.setField(tokenProvider, "key", key);
@@ -63,6 +77,19 @@ class TokenProviderSecurityMetersTests {
         assertThat(aggregate(counters)).isZero();
     }
 
+    @Test
+    void testTokenCacheHitsAndMissesAreCounted() {
+        String validToken = createValidToken();
+
+        Authentication first = tokenProvider.resolveAuthentication(validToken).orElseThrow();
+        Authentication second = tokenProvider.resolveAuthentication(validToken).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+        assertThat(meterRegistry.get(TOKEN_CACHE_METER_EXPECTED_NAME).tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(TOKEN_CACHE_METER_EXPECTED_NAME).tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(TOKEN_CACHE_METER_EXPECTED_NAME + ".hit-ratio").gauge().value()).isEqualTo(0.5);
+    }
+
     @Test
     void testTokenExpiredCount() {
         assertThat(meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "expired").counter().count()).isZero();
@@ -2,8 +2,13 @@ package com.bdprojeto.bd.security.jwt;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.bdprojeto.bd.config.ApplicationProperties;
 import com.bdprojeto.bd.management.SecurityMetersService;
+import com.bdprojeto.bd.repository.AuthorityRepository;
+import com.bdprojeto.bd.repository.JwtVerificationKeyRepository;
+import com.bdprojeto.bd.repository.TokenRevocationRepository;
 import com.bdprojeto.bd.security.AuthoritiesConstants;
+import com.bdprojeto.bd.security.AuthorityRegistry;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -14,6 +19,7 @@ import java.security.Key;
 import java.util.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -36,7 +42,14 @@ class TokenProviderTest {
 
         SecurityMetersService securityMetersService = new SecurityMetersService(new SimpleMeterRegistry());
 
-        tokenProvider = new TokenProvider(jHipsterProperties, securityMetersService);
+        tokenProvider = new TokenProvider(
+            jHipsterProperties,
+            new ApplicationProperties(),
+            new AuthorityRegistry(Mockito.mock(AuthorityRepository.class)),
+            new JwtKeyManager(new ApplicationProperties(), jHipsterProperties, Mockito.mock(JwtVerificationKeyRepository.class)),
+            new TokenRevocationList(jHipsterProperties, Mockito.mock(TokenRevocationRepository.class)),
+            securityMetersService
+        );
         key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
 
         ReflectionTestUtils.setField(tokenProvider, "key", key);
@@ -96,7 +109,14 @@ class TokenProviderTest {
 
         SecurityMetersService securityMetersService = new SecurityMetersService(new SimpleMeterRegistry());
 
-        TokenProvider tokenProvider = new TokenProvider(jHipsterProperties, securityMetersService);
+        TokenProvider tokenProvider = new TokenProvider(
+            jHipsterProperties,
+            new ApplicationProperties(),
+            new AuthorityRegistry(Mockito.mock(AuthorityRepository.class)),
+            new JwtKeyManager(new ApplicationProperties(), jHipsterProperties, Mockito.mock(JwtVerificationKeyRepository.class)),
+            new TokenRevocationList(jHipsterProperties, Mockito.mock(TokenRevocationRepository.class)),
+            securityMetersService
+        );
 
         Key key = (Key) ReflectionTestUtils.getField(tokenProvider, "key");
         assertThat(key).isNotNull().isEqualTo(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)));
@@ -110,7 +130,14 @@ class TokenProviderTest {
 
         SecurityMetersService securityMetersService = new SecurityMetersService(new SimpleMeterRegistry());
 
-        TokenProvider tokenProvider = new TokenProvider(jHipsterProperties, securityMetersService);
+        TokenProvider tokenProvider = new TokenProvider(
+            jHipsterProperties,
+            new ApplicationProperties(),
+            new AuthorityRegistry(Mockito.mock(AuthorityRepository.class)),
+            new JwtKeyManager(new ApplicationProperties(), jHipsterProperties, Mockito.mock(JwtVerificationKeyRepository.class)),
+            new TokenRevocationList(jHipsterProperties, Mockito.mock(TokenRevocationRepository.class)),
+            securityMetersService
+        );
 
         Key key = (Key) ReflectionTestUtils.getField(tokenProvider, "key");
         assertThat(key).isNotNull().isEqualTo(Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret)));
@@ -0,0 +1,143 @@
+package com.bdprojeto.bd.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bdprojeto.bd.config.ApplicationProperties;
+import com.bdprojeto.bd.domain.TokenRevocation;
+import com.bdprojeto.bd.management.SecurityMetersService;
+import com.bdprojeto.bd.repository.AuthorityRepository;
+import com.bdprojeto.bd.repository.JwtVerificationKeyRepository;
+import com.bdprojeto.bd.repository.TokenRevocationRepository;
+import com.bdprojeto.bd.security.AuthoritiesConstants;
+import com.bdprojeto.bd.security.AuthorityRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Test class for the {@link TokenRevocationList}.
+ */
+class TokenRevocationListTest {
+
+    private JHipsterProperties jHipsterProperties;
+
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    private TokenRevocationList tokenRevocationList;
+
+    @BeforeEach
+    public void setup() {
+        jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties
+            .getSecurity()
+            .getAuthentication()
+            .getJwt()
+            .setBase64Secret("fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8");
+        tokenRevocationRepository = Mockito.mock(TokenRevocationRepository.class);
+        tokenRevocationList = new TokenRevocationList(jHipsterProperties, tokenRevocationRepository);
+    }
+
+    @Test
+    void testRevokeAllRevokesOnlyTheTokensIssuedBefore() {
+        long now = Instant.now().getEpochSecond();
+
+        tokenRevocationList.revokeAll("revoked");
+
+        Mockito.verify(tokenRevocationRepository).save(ArgumentMatchers.any(TokenRevocation.class));
+        assertThat(tokenRevocationList.isRevoked("revoked", 0)).isTrue();
+        assertThat(tokenRevocationList.isRevoked("revoked", now)).isTrue();
+        assertThat(tokenRevocationList.isRevoked("revoked", now + 2)).isFalse();
+        assertThat(tokenRevocationList.isRevoked("other", 0)).isFalse();
+    }
+
+    @Test
+    void testRevokeAllIsAppliedOnceTheTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tokenRevocationList.revokeAll("revoked");
+
+            assertThat(tokenRevocationList.isRevoked("revoked", 0)).isFalse();
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            assertThat(tokenRevocationList.isRevoked("revoked", 0)).isTrue();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testRevokeAllIsNotAppliedWhenTheTransactionRollsBack() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tokenRevocationList.revokeAll("revoked");
+
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            assertThat(tokenRevocationList.isRevoked("revoked", 0)).isFalse();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testRefreshLoadsTheRevocationsOfTheOtherInstances() {
+        TokenRevocation tokenRevocation = new TokenRevocation();
+        tokenRevocation.setLogin("revoked");
+        tokenRevocation.setRevokedBefore(Instant.now());
+        Mockito
+            .when(tokenRevocationRepository.findAllByRevokedBeforeAfter(ArgumentMatchers.any(Instant.class)))
+            .thenReturn(Collections.singletonList(tokenRevocation));
+
+        tokenRevocationList.refresh();
+
+        assertThat(tokenRevocationList.isRevoked("revoked", 0)).isTrue();
+    }
+
+    @Test
+    void testPurgeDropsTheRevocationsOfExpiredTokens() {
+        jHipsterProperties.getSecurity().getAuthentication().getJwt().setTokenValidityInSeconds(-10);
+        jHipsterProperties.getSecurity().getAuthentication().getJwt().setTokenValidityInSecondsForRememberMe(-10);
+        TokenRevocationList expiringList = new TokenRevocationList(jHipsterProperties, tokenRevocationRepository);
+        expiringList.revokeAll("revoked");
+
+        expiringList.purge();
+
+        assertThat(expiringList.isRevoked("revoked", 0)).isFalse();
+        Mockito.verify(tokenRevocationRepository).deleteAllRevokedBefore(ArgumentMatchers.any(Instant.class));
+    }
+
+    @Test
+    void testCachedTokenIsRejectedOnceRevoked() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TokenProvider tokenProvider = new TokenProvider(
+            jHipsterProperties,
+            new ApplicationProperties(),
+            new AuthorityRegistry(Mockito.mock(AuthorityRepository.class)),
+            new JwtKeyManager(new ApplicationProperties(), jHipsterProperties, Mockito.mock(JwtVerificationKeyRepository.class)),
+            tokenRevocationList,
+            new SecurityMetersService(meterRegistry)
+        );
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+            "revoked",
+            "revoked",
+            Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER))
+        );
+        String token = tokenProvider.createToken(authentication, false);
+        assertThat(tokenProvider.validateToken(token)).isTrue();
+
+        tokenRevocationList.revokeAll("revoked");
+
+        assertThat(tokenProvider.validateToken(token)).isFalse();
+        assertThat(meterRegistry.get("security.authentication.invalid-tokens").tag("cause", "revoked").counter().count()).isEqualTo(1);
+    }
+}
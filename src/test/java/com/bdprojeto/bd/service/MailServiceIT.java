@@ -1,12 +1,13 @@
 package com.bdprojeto.bd.service;
 
 import static org.assertj.core.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import com.bdprojeto.bd.IntegrationTest;
 import com.bdprojeto.bd.config.Constants;
+import com.bdprojeto.bd.domain.MailOutboxMessage;
 import com.bdprojeto.bd.domain.User;
+import com.bdprojeto.bd.repository.MailOutboxMessageRepository;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -14,6 +15,9 @@ import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URL;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -22,10 +26,10 @@ import javax.mail.Session;
 import javax.mail.internet.MimeBodyPart;
 import javax.mail.internet.MimeMessage;
 import javax.mail.internet.MimeMultipart;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
+import org.mockito.ArgumentMatchers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.mail.MailSendException;
@@ -51,23 +55,56 @@ class MailServiceIT {
     @MockBean
     private JavaMailSender javaMailSender;
 
-    @Captor
-    private ArgumentCaptor<MimeMessage> messageCaptor;
-
     @Autowired
     private MailService mailService;
 
+    @Autowired
+    private MailOutboxWorker mailOutboxWorker;
+
+    @Autowired
+    private MailOutboxMessageRepository mailOutboxMessageRepository;
+
+    private List<MimeMessage> sentMessages;
+
     @BeforeEach
     public void setup() {
-        doNothing().when(javaMailSender).send(any(MimeMessage.class));
-        when(javaMailSender.createMimeMessage()).thenReturn(new MimeMessage((Session) null));
+        mailOutboxMessageRepository.deleteAll();
+        sentMessages = new ArrayList<>();
+        doAnswer(invocation -> {
+                for (Object argument : invocation.getArguments()) {
+                    if (argument instanceof MimeMessage[]) {
+                        sentMessages.addAll(Arrays.asList((MimeMessage[]) argument));
+                    } else {
+                        sentMessages.add((MimeMessage) argument);
+                    }
+                }
+                return null;
+            })
+            .when(javaMailSender)
+            .send(ArgumentMatchers.<MimeMessage[]>any());
+        when(javaMailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        mailOutboxMessageRepository.deleteAll();
+    }
+
+    /**
+     * Sends the queued emails.
+     *
+     * @return the last email sent.
+     */
+    private MimeMessage sendQueuedMessage() {
+        mailOutboxWorker.drain();
+        assertThat(sentMessages).isNotEmpty();
+        return sentMessages.get(sentMessages.size() - 1);
     }
 
     @Test
     void testSendEmail() throws Exception {
         mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, false);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        MimeMessage message = sendQueuedMessage();
         assertThat(message.getSubject()).isEqualTo("testSubject");
         assertThat(message.getAllRecipients()[0]).hasToString("john.doe@example.com");
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
@@ -79,8 +116,7 @@ class MailServiceIT {
     @Test
     void testSendHtmlEmail() throws Exception {
         mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, true);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        MimeMessage message = sendQueuedMessage();
         assertThat(message.getSubject()).isEqualTo("testSubject");
         assertThat(message.getAllRecipients()[0]).hasToString("john.doe@example.com");
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
@@ -92,8 +128,7 @@ class MailServiceIT {
     @Test
     void testSendMultipartEmail() throws Exception {
         mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", true, false);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        MimeMessage message = sendQueuedMessage();
         MimeMultipart mp = (MimeMultipart) message.getContent();
         MimeBodyPart part = (MimeBodyPart) ((MimeMultipart) mp.getBodyPart(0).getContent()).getBodyPart(0);
         ByteArrayOutputStream aos = new ByteArrayOutputStream();
@@ -109,8 +144,7 @@ class MailServiceIT {
     @Test
     void testSendMultipartHtmlEmail() throws Exception {
         mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", true, true);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        MimeMessage message = sendQueuedMessage();
         MimeMultipart mp = (MimeMultipart) message.getContent();
         MimeBodyPart part = (MimeBodyPart) ((MimeMultipart) mp.getBodyPart(0).getContent()).getBodyPart(0);
         ByteArrayOutputStream aos = new ByteArrayOutputStream();
@@ -130,8 +164,7 @@ class MailServiceIT {
         user.setLogin("john");
         user.setEmail("john.doe@example.com");
         mailService.sendEmailFromTemplate(user, "mail/testEmail", "email.test.title");
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        MimeMessage message = sendQueuedMessage();
         assertThat(message.getSubject()).isEqualTo("test title");
         assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
@@ -139,6 +172,45 @@ class MailServiceIT {
         assertThat(message.getDataHandler().getContentType()).isEqualTo("text/html;charset=UTF-8");
     }
 
+    @Test
+    void testSendEmailsFromTemplate() throws Exception {
+        List<User> users = new ArrayList<>();
+        for (String login : new String[] { "john", "jane" }) {
+            User user = new User();
+            user.setLangKey(Constants.DEFAULT_LANGUAGE);
+            user.setLogin(login);
+            user.setEmail(login + ".doe@example.com");
+            users.add(user);
+        }
+        users.add(new User());
+        mailService.sendEmailsFromTemplate(users, "mail/testEmail", "email.test.title");
+        mailOutboxWorker.drain();
+        assertThat(sentMessages).hasSize(2);
+        for (MimeMessage message : sentMessages) {
+            String login = message.getAllRecipients()[0].toString().replace(".doe@example.com", "");
+            assertThat(message.getSubject()).isEqualTo("test title");
+            assertThat(message.getContent().toString())
+                .isEqualToNormalizingNewlines("<html>test title, http://127.0.0.1:8080, " + login + "</html>\n");
+        }
+    }
+
+    @Test
+    void testRenderAll() {
+        User john = new User();
+        john.setLangKey(Constants.DEFAULT_LANGUAGE);
+        john.setLogin("john");
+        john.setEmail("john.doe@example.com");
+
+        List<MailOutboxMessage> messages = mailService.renderAll(Arrays.asList(john, new User()), "mail/testEmail", "email.test.title");
+
+        assertThat(messages).hasSize(1);
+        assertThat(messages.get(0).getRecipient()).isEqualTo("john.doe@example.com");
+        assertThat(messages.get(0).getSubject()).isEqualTo("test title");
+        assertThat(messages.get(0).getContent()).isEqualToNormalizingNewlines("<html>test title, http://127.0.0.1:8080, john</html>\n");
+        assertThat(messages.get(0).isHtml()).isTrue();
+        assertThat(mailOutboxMessageRepository.count()).isZero();
+    }
+
     @Test
     void testSendActivationEmail() throws Exception {
         User user = new User();
@@ -146,8 +218,7 @@ class MailServiceIT {
         user.setLogin("john");
         user.setEmail("john.doe@example.com");
         mailService.sendActivationEmail(user);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        MimeMessage message = sendQueuedMessage();
         assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
         assertThat(message.getContent().toString()).isNotEmpty();
@@ -161,8 +232,7 @@ class MailServiceIT {
         user.setLogin("john");
         user.setEmail("john.doe@example.com");
         mailService.sendCreationEmail(user);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        MimeMessage message = sendQueuedMessage();
         assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
         assertThat(message.getContent().toString()).isNotEmpty();
@@ -176,8 +246,7 @@ class MailServiceIT {
         user.setLogin("john");
         user.setEmail("john.doe@example.com");
         mailService.sendPasswordResetMail(user);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        MimeMessage message = sendQueuedMessage();
         assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
         assertThat(message.getContent().toString()).isNotEmpty();
@@ -186,12 +255,20 @@ class MailServiceIT {
 
     @Test
     void testSendEmailWithException() {
-        doThrow(MailSendException.class).when(javaMailSender).send(any(MimeMessage.class));
+        doThrow(new MailSendException("Mail server connection failed"))
+            .when(javaMailSender)
+            .send(ArgumentMatchers.<MimeMessage[]>any());
         try {
             mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, false);
+            mailOutboxWorker.drain();
         } catch (Exception e) {
             fail("Exception shouldn't have been thrown");
         }
+        List<MailOutboxMessage> queued = mailOutboxMessageRepository.findAll();
+        assertThat(queued).hasSize(1);
+        assertThat(queued.get(0).getAttempts()).isEqualTo(1);
+        assertThat(queued.get(0).getNextAttemptAt()).isAfter(queued.get(0).getCreatedDate());
+        assertThat(queued.get(0).getLastError()).isEqualTo("Mail server connection failed");
     }
 
     @Test
@@ -202,8 +279,7 @@ class MailServiceIT {
         for (String langKey : languages) {
             user.setLangKey(langKey);
             mailService.sendEmailFromTemplate(user, "mail/testEmail", "email.test.title");
-            verify(javaMailSender, atLeastOnce()).send(messageCaptor.capture());
-            MimeMessage message = messageCaptor.getValue();
+            MimeMessage message = sendQueuedMessage();
 
             String propertyFilePath = "i18n/messages_" + getJavaLocale(langKey) + ".properties";
             URL resource = this.getClass().getClassLoader().getResource(propertyFilePath);
@@ -0,0 +1,124 @@
+package com.bdprojeto.bd.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bdprojeto.bd.IntegrationTest;
+import com.bdprojeto.bd.config.ApplicationProperties;
+import com.bdprojeto.bd.domain.ScheduledJobExecution;
+import com.bdprojeto.bd.repository.ScheduledJobExecutionRepository;
+import com.bdprojeto.bd.repository.ScheduledJobLockRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Integration tests for {@link ScheduledJobService}.
+ */
+@IntegrationTest
+class ScheduledJobServiceIT {
+
+    private static final String JOB_NAME = "test-job";
+
+    @Autowired
+    private ScheduledJobService scheduledJobService;
+
+    @Autowired
+    private ScheduledJobLockRepository scheduledJobLockRepository;
+
+    @Autowired
+    private ScheduledJobExecutionRepository scheduledJobExecutionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void setup() {
+        scheduledJobLockRepository.deleteAll();
+        scheduledJobExecutionRepository.deleteAll();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        scheduledJobLockRepository.deleteAll();
+        scheduledJobExecutionRepository.deleteAll();
+    }
+
+    @Test
+    void testRunRecordsTheExecution() {
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThat(scheduledJobService.run(JOB_NAME, Duration.ofMinutes(1), runs::incrementAndGet)).isTrue();
+        assertThat(scheduledJobService.run(JOB_NAME, Duration.ofMinutes(1), runs::incrementAndGet)).isTrue();
+
+        assertThat(runs.get()).isEqualTo(2);
+        List<ScheduledJobExecution> executions = scheduledJobService.findRecentExecutions();
+        assertThat(executions).hasSize(2);
+        assertThat(executions).allSatisfy(execution -> {
+            assertThat(execution.getJobName()).isEqualTo(JOB_NAME);
+            assertThat(execution.getStatus()).isEqualTo(ScheduledJobExecution.Status.SUCCEEDED);
+        });
+        assertThat(scheduledJobService.findLeases()).hasSize(1);
+    }
+
+    @Test
+    void testRunSkipsAJobAlreadyRunning() {
+        AtomicBoolean nestedRan = new AtomicBoolean(true);
+
+        boolean ran = scheduledJobService.run(
+            JOB_NAME,
+            Duration.ofMinutes(1),
+            () -> nestedRan.set(scheduledJobService.run(JOB_NAME, Duration.ofMinutes(1), () -> {}))
+        );
+
+        assertThat(ran).isTrue();
+        assertThat(nestedRan.get()).isFalse();
+        assertThat(scheduledJobService.findRecentExecutions()).hasSize(1);
+    }
+
+    @Test
+    void testRunKeepsTheLeaseForTheMinimumDuration() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getScheduledJobs().setMinLeaseSeconds(60);
+        ScheduledJobService otherInstance = new ScheduledJobService(
+            scheduledJobLockRepository,
+            scheduledJobExecutionRepository,
+            applicationProperties,
+            transactionManager,
+            new SimpleMeterRegistry()
+        );
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThat(otherInstance.run(JOB_NAME, Duration.ofMinutes(1), runs::incrementAndGet)).isTrue();
+        assertThat(scheduledJobService.run(JOB_NAME, Duration.ofMinutes(1), runs::incrementAndGet)).isFalse();
+
+        assertThat(runs.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testRunRecordsAndRethrowsTheFailure() {
+        assertThatThrownBy(() ->
+                scheduledJobService.run(
+                    JOB_NAME,
+                    Duration.ofMinutes(1),
+                    () -> {
+                        throw new IllegalStateException("job failure");
+                    }
+                )
+            )
+            .isInstanceOf(IllegalStateException.class);
+
+        List<ScheduledJobExecution> executions = scheduledJobService.findRecentExecutions();
+        assertThat(executions).hasSize(1);
+        assertThat(executions.get(0).getStatus()).isEqualTo(ScheduledJobExecution.Status.FAILED);
+        assertThat(executions.get(0).getError()).isEqualTo("job failure");
+        assertThat(scheduledJobService.run(JOB_NAME, Duration.ofMinutes(1), () -> {})).isTrue();
+    }
+}
@@ -0,0 +1,105 @@
+package com.bdprojeto.bd.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bdprojeto.bd.IntegrationTest;
+import com.bdprojeto.bd.domain.Usuario;
+import com.bdprojeto.bd.repository.UsuarioRepository;
+import com.bdprojeto.bd.service.dto.UsuarioBulkImportResultDTO;
+import java.io.StringReader;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for {@link UsuarioBulkImportService}.
+ * <p>
+ * Not {@link org.springframework.transaction.annotation.Transactional}, as each chunk is imported in its own transaction.
+ */
+@IntegrationTest
+class UsuarioBulkImportServiceIT {
+
+    private static final long FIRST_CPF = 55500000001L;
+    private static final long SECOND_CPF = 55500000002L;
+    private static final long THIRD_CPF = 55500000003L;
+    private static final long EXISTING_CPF = 55500000009L;
+
+    private static final List<Long> CPFS = Arrays.asList(FIRST_CPF, SECOND_CPF, THIRD_CPF, EXISTING_CPF);
+
+    @Autowired
+    private UsuarioBulkImportService usuarioBulkImportService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @BeforeEach
+    public void setup() {
+        deleteImportedUsuarios();
+        Usuario existing = new Usuario();
+        existing.setCpf(EXISTING_CPF);
+        existing.setNome("Existing");
+        usuarioRepository.saveAndFlush(existing);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        deleteImportedUsuarios();
+    }
+
+    @Test
+    void testImportCsvReportsRejectedRows() throws Exception {
+        String csv = String.join(
+            "\n",
+            "cpf,nome,data_nascimento",
+            FIRST_CPF + ",Maria,1990-01-31",
+            "not-a-cpf,Joao,1990-01-01",
+            SECOND_CPF + ",Ana,",
+            "",
+            FIRST_CPF + ",Maria again,1991-01-31",
+            THIRD_CPF + ",\"Silva, Pedro\",1985-05-05",
+            EXISTING_CPF + ",Existing again,"
+        );
+
+        UsuarioBulkImportResultDTO result = usuarioBulkImportService.importUsuarios(
+            new StringReader(csv),
+            UsuarioBulkImportService.Format.CSV
+        );
+
+        assertThat(result.getReceived()).isEqualTo(6);
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getRowsPerSecond()).isPositive();
+        assertThat(result.isErrorsTruncated()).isFalse();
+        assertThat(result.getErrors()).extracting(UsuarioBulkImportResultDTO.RowError::getLine).containsExactly(3L, 6L, 8L);
+        assertThat(result.getErrors())
+            .extracting(UsuarioBulkImportResultDTO.RowError::getCpf)
+            .containsExactly(null, FIRST_CPF, EXISTING_CPF);
+        assertThat(result.getErrors().get(0).getMessage()).startsWith("Unparseable row");
+        assertThat(result.getErrors().get(1).getMessage()).isEqualTo("Duplicate cpf in the import");
+        assertThat(result.getErrors().get(2).getMessage()).isEqualTo("Cpf already exists");
+
+        Map<Long, Usuario> imported = findImportedUsuarios().stream().collect(Collectors.toMap(Usuario::getCpf, Function.identity()));
+        assertThat(imported).containsOnlyKeys(FIRST_CPF, SECOND_CPF, THIRD_CPF, EXISTING_CPF);
+        assertThat(imported.get(FIRST_CPF).getNome()).isEqualTo("Maria");
+        assertThat(imported.get(FIRST_CPF).getDataNascimento()).isEqualTo(Date.valueOf(LocalDate.of(1990, 1, 31)));
+        assertThat(imported.get(SECOND_CPF).getDataNascimento()).isNull();
+        assertThat(imported.get(THIRD_CPF).getNome()).isEqualTo("Silva, Pedro");
+        assertThat(imported.get(EXISTING_CPF).getNome()).isEqualTo("Existing");
+    }
+
+    private List<Usuario> findImportedUsuarios() {
+        return usuarioRepository.findAll().stream().filter(usuario -> CPFS.contains(usuario.getCpf())).collect(Collectors.toList());
+    }
+
+    private void deleteImportedUsuarios() {
+        usuarioRepository.deleteAll(findImportedUsuarios());
+    }
+}
@@ -0,0 +1,25 @@
+package com.bdprojeto.bd.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class UsuarioBulkImportServiceTest {
+
+    @Test
+    void testParseCsvLine() {
+        assertThat(UsuarioBulkImportService.parseCsvLine("12345678901,Maria,1990-01-31"))
+            .containsExactly("12345678901", "Maria", "1990-01-31");
+    }
+
+    @Test
+    void testParseCsvLineWithQuotedFields() {
+        assertThat(UsuarioBulkImportService.parseCsvLine("1,\"Silva, Maria\",\"a \"\"b\"\"\""))
+            .containsExactly("1", "Silva, Maria", "a \"b\"");
+    }
+
+    @Test
+    void testParseCsvLineWithEmptyFields() {
+        assertThat(UsuarioBulkImportService.parseCsvLine("1,,")).containsExactly("1", "", "");
+    }
+}
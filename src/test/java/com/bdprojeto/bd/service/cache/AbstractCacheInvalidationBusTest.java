@@ -0,0 +1,122 @@
+package com.bdprojeto.bd.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Test class for the {@link AbstractCacheInvalidationBus}, with two instances connected in memory.
+ */
+class AbstractCacheInvalidationBusTest {
+
+    private final List<InMemoryBus> network = new ArrayList<>();
+
+    private InMemoryBus local;
+
+    private final List<CacheInvalidation> receivedLocally = new ArrayList<>();
+
+    private final List<CacheInvalidation> receivedByPeer = new ArrayList<>();
+
+    private final List<Integer> payloadBytes = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        local = new InMemoryBus(objectMapper);
+        InMemoryBus peer = new InMemoryBus(objectMapper);
+        network.add(local);
+        network.add(peer);
+        local.subscribe(receivedLocally::add);
+        peer.subscribe(receivedByPeer::add);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(local);
+    }
+
+    @Test
+    void testPeersReceiveButNotSender() {
+        CacheInvalidation invalidation = CacheInvalidation.entity("com.bdprojeto.bd.domain.User", 1051L);
+
+        local.publish(invalidation);
+
+        assertThat(receivedByPeer).containsExactly(invalidation);
+        assertThat(receivedLocally).isEmpty();
+    }
+
+    @Test
+    void testSentOnlyAfterCommitInBatches() {
+        TransactionSynchronizationManager.initSynchronization();
+        for (int i = 0; i < 51; i++) {
+            local.publish(CacheInvalidation.cacheKey("usersByEmail", "user" + i + "@localhost"));
+        }
+        assertThat(receivedByPeer).isEmpty();
+
+        completeTransaction(true);
+
+        assertThat(receivedByPeer).hasSize(51);
+        assertThat(payloadBytes).hasSize(1);
+    }
+
+    @Test
+    void testMessagesStayUnderTheMaxBytes() {
+        TransactionSynchronizationManager.initSynchronization();
+        String domain = "@" + "x".repeat(240) + ".com";
+        for (int i = 0; i < 50; i++) {
+            local.publish(CacheInvalidation.cacheKey("usersByEmail", "user" + i + domain));
+        }
+
+        completeTransaction(true);
+
+        assertThat(receivedByPeer).hasSize(50);
+        assertThat(payloadBytes).hasSizeGreaterThan(1).allMatch(bytes -> bytes <= AbstractCacheInvalidationBus.MAX_MESSAGE_BYTES);
+    }
+
+    @Test
+    void testNothingSentOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        local.publish(CacheInvalidation.naturalIds("com.bdprojeto.bd.domain.User"));
+
+        completeTransaction(false);
+
+        assertThat(receivedByPeer).isEmpty();
+    }
+
+    private void completeTransaction(boolean committed) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (committed) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization ->
+            synchronization.afterCompletion(
+                committed ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK
+            )
+        );
+    }
+
+    private class InMemoryBus extends AbstractCacheInvalidationBus {
+
+        InMemoryBus(ObjectMapper objectMapper) {
+            super(objectMapper);
+        }
+
+        @Override
+        protected void sendMessage(String payload) {
+            payloadBytes.add(payload.getBytes(StandardCharsets.UTF_8).length);
+            network.forEach(bus -> bus.receiveMessage(payload));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.bdprojeto.bd.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link SecondLevelCacheInvalidationListener}, publishing to a peer bus connected in memory.
+ */
+class SecondLevelCacheInvalidationListenerTest {
+
+    private static final String ENTITY_NAME = "com.bdprojeto.bd.domain.Usuario";
+
+    private final List<InMemoryBus> network = new ArrayList<>();
+
+    private final List<CacheInvalidation> receivedByPeer = new ArrayList<>();
+
+    private SecondLevelCacheInvalidationListener listener;
+
+    @BeforeEach
+    public void setup() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        InMemoryBus local = new InMemoryBus(objectMapper);
+        InMemoryBus peer = new InMemoryBus(objectMapper);
+        network.add(local);
+        network.add(peer);
+        peer.subscribe(receivedByPeer::add);
+        listener = new SecondLevelCacheInvalidationListener(local);
+    }
+
+    @Test
+    void testDeletePublishesEntityAndNaturalIds() {
+        listener.onPostDelete(new PostDeleteEvent(new Object(), 1051L, new Object[0], persister(true), null));
+
+        assertThat(receivedByPeer).containsExactly(CacheInvalidation.entity(ENTITY_NAME, 1051L), CacheInvalidation.naturalIds(ENTITY_NAME));
+    }
+
+    @Test
+    void testDeleteWithoutNaturalIdCachePublishesEntity() {
+        listener.onPostDelete(new PostDeleteEvent(new Object(), 1051L, new Object[0], persister(false), null));
+
+        assertThat(receivedByPeer).containsExactly(CacheInvalidation.entity(ENTITY_NAME, 1051L));
+    }
+
+    private static EntityPersister persister(boolean naturalIdCache) {
+        EntityPersister persister = mock(EntityPersister.class);
+        when(persister.canWriteToCache()).thenReturn(true);
+        when(persister.getEntityName()).thenReturn(ENTITY_NAME);
+        when(persister.hasNaturalIdCache()).thenReturn(naturalIdCache);
+        return persister;
+    }
+
+    private class InMemoryBus extends AbstractCacheInvalidationBus {
+
+        InMemoryBus(ObjectMapper objectMapper) {
+            super(objectMapper);
+        }
+
+        @Override
+        protected void sendMessage(String payload) {
+            network.forEach(bus -> bus.receiveMessage(payload));
+        }
+    }
+}
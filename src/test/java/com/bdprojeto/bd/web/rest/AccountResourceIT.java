@@ -7,8 +7,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.bdprojeto.bd.IntegrationTest;
 import com.bdprojeto.bd.config.Constants;
+import com.bdprojeto.bd.domain.TokenRevocation;
 import com.bdprojeto.bd.domain.User;
 import com.bdprojeto.bd.repository.AuthorityRepository;
+import com.bdprojeto.bd.repository.TokenRevocationRepository;
 import com.bdprojeto.bd.repository.UserRepository;
 import com.bdprojeto.bd.security.AuthoritiesConstants;
 import com.bdprojeto.bd.service.UserService;
@@ -48,6 +50,9 @@ class AccountResourceIT {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private TokenRevocationRepository tokenRevocationRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -576,6 +581,9 @@ class AccountResourceIT {
 
         User updatedUser = userRepository.findOneByLogin("change-password").orElse(null);
         assertThat(passwordEncoder.matches("new password", updatedUser.getPassword())).isTrue();
+        assertThat(tokenRevocationRepository.findAllByRevokedBeforeAfter(Instant.EPOCH))
+            .extracting(TokenRevocation::getLogin)
+            .contains("change-password");
     }
 
     @Test
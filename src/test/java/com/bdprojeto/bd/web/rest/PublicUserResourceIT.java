@@ -1,5 +1,6 @@
 package com.bdprojeto.bd.web.rest;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasItems;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -18,6 +19,7 @@ import org.springframework.cache.CacheManager;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -46,7 +48,6 @@ class PublicUserResourceIT {
 
     @BeforeEach
     public void setup() {
-        cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).clear();
         cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE).clear();
     }
 
@@ -96,4 +97,40 @@ class PublicUserResourceIT {
             .andExpect(status().isBadRequest());
         restUserMockMvc.perform(get("/api/users?sort=id,desc").accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
     }
+
+    @Test
+    @Transactional
+    void getAllPublicUsersByKeyset() throws Exception {
+        // Initialize the database
+        userRepository.saveAndFlush(user);
+        User other = UserResourceIT.createEntity(em);
+        other.setLogin("zz" + DEFAULT_LOGIN);
+        userRepository.saveAndFlush(other);
+
+        MvcResult firstSlice = restUserMockMvc
+            .perform(get("/api/users?after=&size=1&sort=login,asc&count=true").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(header().exists(KeysetPaginationUtil.NEXT_CURSOR_HEADER))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].login").value(DEFAULT_LOGIN))
+            .andReturn();
+        String cursor = firstSlice.getResponse().getHeader(KeysetPaginationUtil.NEXT_CURSOR_HEADER);
+        assertThat(cursor).isNotBlank();
+
+        restUserMockMvc
+            .perform(get("/api/users?size=1&after=" + cursor).accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().doesNotExist(KeysetPaginationUtil.NEXT_CURSOR_HEADER))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].login").value("zz" + DEFAULT_LOGIN));
+    }
+
+    @Test
+    @Transactional
+    void getAllPublicUsersByKeysetWithInvalidSortOrCursor() throws Exception {
+        restUserMockMvc.perform(get("/api/users?after=&sort=email,asc").accept(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
+        restUserMockMvc.perform(get("/api/users?after=not-a-cursor").accept(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
+    }
 }
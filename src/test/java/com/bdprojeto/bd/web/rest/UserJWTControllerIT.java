@@ -1,7 +1,9 @@
 package com.bdprojeto.bd.web.rest;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.emptyString;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.matchesPattern;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -10,14 +12,25 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.bdprojeto.bd.IntegrationTest;
+import com.bdprojeto.bd.config.ApplicationProperties;
 import com.bdprojeto.bd.domain.User;
 import com.bdprojeto.bd.repository.UserRepository;
+import com.bdprojeto.bd.security.BoundedPasswordEncoder;
 import com.bdprojeto.bd.web.rest.vm.LoginVM;
+import com.bdprojeto.bd.web.rest.vm.RefreshTokenVM;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,6 +39,7 @@ import org.springframework.transaction.annotation.Transactional;
  */
 @AutoConfigureMockMvc
 @IntegrationTest
+@TestPropertySource(properties = { "application.password-hashing.threads=1", "application.password-hashing.queue-capacity=1" })
 class UserJWTControllerIT {
 
     @Autowired
@@ -34,6 +48,12 @@ class UserJWTControllerIT {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -95,4 +115,140 @@ class UserJWTControllerIT {
             .andExpect(jsonPath("$.id_token").doesNotExist())
             .andExpect(header().doesNotExist("Authorization"));
     }
+
+    @Test
+    @Transactional
+    void testAuthorizeWhenPasswordHashingIsSaturated() throws Exception {
+        User user = new User();
+        user.setLogin("user-jwt-controller-saturated");
+        user.setEmail("user-jwt-controller-saturated@example.com");
+        user.setActivated(true);
+        user.setPassword(passwordEncoder.encode("test"));
+        userRepository.saveAndFlush(user);
+
+        // Occupy the single hashing thread and the single queue slot with slow hashes
+        String slowHash = new BCryptPasswordEncoder(4).encode("slow").replace("$2a$04$", "$2a$14$");
+        ExecutorService logins = Executors.newFixedThreadPool(2);
+        try {
+            logins.submit(() -> passwordEncoder.matches("slow", slowHash));
+            logins.submit(() -> passwordEncoder.matches("slow", slowHash));
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (meterRegistry.get(BoundedPasswordEncoder.HASHING_QUEUE_METER_NAME).gauge().value() < 1) {
+                assertThat(System.currentTimeMillis()).isLessThan(deadline);
+                Thread.sleep(10);
+            }
+
+            LoginVM login = new LoginVM();
+            login.setUsername("user-jwt-controller-saturated");
+            login.setPassword("test");
+            mockMvc
+                .perform(
+                    post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(login))
+                )
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath("$.id_token").doesNotExist());
+        } finally {
+            logins.shutdown();
+            assertThat(logins.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        }
+    }
+
+    @Test
+    @Transactional
+    void testAuthorizeIsThrottledAfterTooManyFailures() throws Exception {
+        User user = new User();
+        user.setLogin("user-jwt-controller-throttled");
+        user.setEmail("user-jwt-controller-throttled@example.com");
+        user.setActivated(true);
+        user.setPassword(passwordEncoder.encode("test"));
+        userRepository.saveAndFlush(user);
+
+        LoginVM login = new LoginVM();
+        login.setUsername("user-jwt-controller-throttled");
+        login.setPassword("wrong password");
+        for (int i = 0; i < applicationProperties.getLoginThrottle().getMaxFailuresPerLogin(); i++) {
+            mockMvc
+                .perform(
+                    post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(login))
+                )
+                .andExpect(status().isUnauthorized());
+        }
+
+        // Even the right password is refused until the window slides
+        login.setPassword("test");
+        mockMvc
+            .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(login)))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().string(HttpHeaders.RETRY_AFTER, matchesPattern("[1-9][0-9]*")))
+            .andExpect(jsonPath("$.id_token").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void testRefreshRotatesTheRefreshToken() throws Exception {
+        String refreshToken = authenticate("user-jwt-controller-refresh");
+
+        String body = mockMvc
+            .perform(post("/api/authenticate/refresh").contentType(MediaType.APPLICATION_JSON).content(refreshRequest(refreshToken)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id_token").isNotEmpty())
+            .andExpect(jsonPath("$.refresh_token").isNotEmpty())
+            .andExpect(jsonPath("$.refresh_token").value(not(refreshToken)))
+            .andExpect(header().string("Authorization", not(nullValue())))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        String newRefreshToken = JsonPath.read(body, "$.refresh_token");
+
+        // Reusing the old token revokes the new one too
+        mockMvc
+            .perform(post("/api/authenticate/refresh").contentType(MediaType.APPLICATION_JSON).content(refreshRequest(refreshToken)))
+            .andExpect(status().isUnauthorized());
+        mockMvc
+            .perform(post("/api/authenticate/refresh").contentType(MediaType.APPLICATION_JSON).content(refreshRequest(newRefreshToken)))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @Transactional
+    void testRevokedRefreshTokenIsRejected() throws Exception {
+        String refreshToken = authenticate("user-jwt-controller-revoke");
+
+        mockMvc
+            .perform(post("/api/authenticate/revoke").contentType(MediaType.APPLICATION_JSON).content(refreshRequest(refreshToken)))
+            .andExpect(status().isNoContent());
+
+        mockMvc
+            .perform(post("/api/authenticate/refresh").contentType(MediaType.APPLICATION_JSON).content(refreshRequest(refreshToken)))
+            .andExpect(status().isUnauthorized())
+            .andExpect(jsonPath("$.id_token").doesNotExist());
+    }
+
+    private String authenticate(String login) throws Exception {
+        User user = new User();
+        user.setLogin(login);
+        user.setEmail(login + "@example.com");
+        user.setActivated(true);
+        user.setPassword(passwordEncoder.encode("test"));
+        userRepository.saveAndFlush(user);
+
+        LoginVM loginVM = new LoginVM();
+        loginVM.setUsername(login);
+        loginVM.setPassword("test");
+        String body = mockMvc
+            .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(loginVM)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.refresh_token").isNotEmpty())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        return JsonPath.read(body, "$.refresh_token");
+    }
+
+    private static byte[] refreshRequest(String refreshToken) throws Exception {
+        RefreshTokenVM refreshTokenVM = new RefreshTokenVM();
+        refreshTokenVM.setRefreshToken(refreshToken);
+        return TestUtil.convertObjectToJsonBytes(refreshTokenVM);
+    }
 }
@@ -8,11 +8,13 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.bdprojeto.bd.IntegrationTest;
 import com.bdprojeto.bd.domain.Authority;
 import com.bdprojeto.bd.domain.User;
+import com.bdprojeto.bd.repository.KeysetCursor;
 import com.bdprojeto.bd.repository.UserRepository;
 import com.bdprojeto.bd.security.AuthoritiesConstants;
 import com.bdprojeto.bd.service.dto.AdminUserDTO;
 import com.bdprojeto.bd.service.mapper.UserMapper;
 import com.bdprojeto.bd.web.rest.vm.ManagedUserVM;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.*;
 import java.util.function.Consumer;
@@ -23,9 +25,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -78,7 +82,6 @@ class UserResourceIT {
 
     @BeforeEach
     public void setup() {
-        cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).clear();
         cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE).clear();
     }
 
@@ -260,11 +263,58 @@ class UserResourceIT {
 
     @Test
     @Transactional
-    void getUser() throws Exception {
+    void getAllUsersByKeyset() throws Exception {
         // Initialize the database
         userRepository.saveAndFlush(user);
+        User other = createEntity(em);
+        other.setLogin("zz" + DEFAULT_LOGIN);
+        userRepository.saveAndFlush(other);
+
+        MvcResult firstSlice = restUserMockMvc
+            .perform(get("/api/admin/users?after=&size=1&sort=login,asc&count=true").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(header().exists(KeysetPaginationUtil.NEXT_CURSOR_HEADER))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].login").value(DEFAULT_LOGIN))
+            .andReturn();
+        String cursor = firstSlice.getResponse().getHeader(KeysetPaginationUtil.NEXT_CURSOR_HEADER);
+        assertThat(cursor).isNotBlank();
+
+        restUserMockMvc
+            .perform(get("/api/admin/users?size=1&after=" + cursor).accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(KeysetPaginationUtil.NEXT_CURSOR_HEADER))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].login").value("zz" + DEFAULT_LOGIN))
+            .andExpect(jsonPath("$.[0].email").exists());
+    }
 
-        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get(user.getLogin())).isNull();
+    @Test
+    @Transactional
+    void getAllUsersByKeysetWithInvalidSortOrCursor() throws Exception {
+        String unknownProperty = new KeysetCursor("email", Sort.Direction.ASC, 1L, DEFAULT_EMAIL).encode();
+        String invalidId = Base64.getUrlEncoder().encodeToString("login,ASC,one,johndoe".getBytes(StandardCharsets.UTF_8));
+
+        restUserMockMvc
+            .perform(get("/api/admin/users?after=&sort=email,asc").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest());
+        restUserMockMvc
+            .perform(get("/api/admin/users?after=not-a-cursor").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest());
+        restUserMockMvc
+            .perform(get("/api/admin/users?after=" + unknownProperty).accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest());
+        restUserMockMvc
+            .perform(get("/api/admin/users?after=" + invalidId).accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getUser() throws Exception {
+        // Initialize the database
+        userRepository.saveAndFlush(user);
 
         // Get the user
         restUserMockMvc
@@ -277,8 +327,6 @@ class UserResourceIT {
             .andExpect(jsonPath("$.email").value(DEFAULT_EMAIL))
             .andExpect(jsonPath("$.imageUrl").value(DEFAULT_IMAGEURL))
             .andExpect(jsonPath("$.langKey").value(DEFAULT_LANGKEY));
-
-        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get(user.getLogin())).isNotNull();
     }
 
     @Test
@@ -474,8 +522,6 @@ class UserResourceIT {
             .perform(delete("/api/admin/users/{login}", user.getLogin()).accept(MediaType.APPLICATION_JSON))
             .andExpect(status().isNoContent());
 
-        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get(user.getLogin())).isNull();
-
         // Validate the database is empty
         assertPersistedUsers(users -> assertThat(users).hasSize(databaseSizeBeforeDelete - 1));
     }
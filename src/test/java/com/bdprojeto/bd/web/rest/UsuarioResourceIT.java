@@ -0,0 +1,474 @@
+package com.bdprojeto.bd.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.bdprojeto.bd.IntegrationTest;
+import com.bdprojeto.bd.config.ApplicationProperties;
+import com.bdprojeto.bd.domain.Usuario;
+import com.bdprojeto.bd.repository.KeysetCursor;
+import com.bdprojeto.bd.repository.UsuarioRepository;
+import com.bdprojeto.bd.security.AuthoritiesConstants;
+import com.bdprojeto.bd.service.dto.UsuarioBatchGetRequestDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link UsuarioResource} REST controller.
+ */
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+@IntegrationTest
+class UsuarioResourceIT {
+
+    private static final Long DEFAULT_CPF = 12345678909L;
+    private static final Long UNKNOWN_CPF = 98765432100L;
+
+    private static final Long SMALLER_CPF = DEFAULT_CPF - 1;
+
+    private static final String DEFAULT_NOME = "AAAAAAAAAA";
+    private static final String UPDATED_NOME = "BBBBBBBBBB";
+
+    private static final Date DEFAULT_DATA_NASCIMENTO = Date.valueOf(LocalDate.of(1990, 1, 1));
+    private static final Date UPDATED_DATA_NASCIMENTO = Date.valueOf(LocalDate.of(2000, 1, 1));
+    private static final Date SMALLER_DATA_NASCIMENTO = Date.valueOf(LocalDate.of(1980, 1, 1));
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockMvc restUsuarioMockMvc;
+
+    private Usuario usuario;
+
+    /**
+     * Create an entity for this test.
+     */
+    public static Usuario createEntity() {
+        Usuario usuario = new Usuario();
+        usuario.setCpf(DEFAULT_CPF);
+        usuario.setNome(DEFAULT_NOME);
+        usuario.setDataNascimento(DEFAULT_DATA_NASCIMENTO);
+        return usuario;
+    }
+
+    @BeforeEach
+    public void initTest() {
+        usuario = createEntity();
+    }
+
+    @Test
+    @Transactional
+    void createUsuario() throws Exception {
+        int databaseSizeBeforeCreate = usuarioRepository.findAll().size();
+
+        restUsuarioMockMvc
+            .perform(post("/api/usuarios").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(usuario)))
+            .andExpect(status().isCreated());
+
+        assertThat(usuarioRepository.findAll()).hasSize(databaseSizeBeforeCreate + 1);
+    }
+
+    @Test
+    @Transactional
+    void getAllUsuariosFilteredByCpf() throws Exception {
+        usuarioRepository.saveAndFlush(usuario);
+
+        restUsuarioMockMvc
+            .perform(get("/api/usuarios?cpf.equals=" + DEFAULT_CPF + "&sort=id,desc").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.[*].nome").value(hasItem(DEFAULT_NOME)));
+
+        restUsuarioMockMvc
+            .perform(get("/api/usuarios?cpf.equals=" + UNKNOWN_CPF).accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    @Transactional
+    void getAllUsuariosWithUnknownSort() throws Exception {
+        restUsuarioMockMvc.perform(get("/api/usuarios?sort=authorities,asc")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllUsuarios() throws Exception {
+        usuarioRepository.saveAndFlush(usuario);
+
+        restUsuarioMockMvc
+            .perform(get("/api/usuarios?sort=id,desc&page=0&size=20"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(header().exists(HttpHeaders.LINK))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(usuario.getId().intValue())))
+            .andExpect(jsonPath("$.[*].cpf").value(hasItem(DEFAULT_CPF)))
+            .andExpect(jsonPath("$.[*].nome").value(hasItem(DEFAULT_NOME)))
+            .andExpect(jsonPath("$.[*].dataNascimento").value(hasItem(DEFAULT_DATA_NASCIMENTO.toString())));
+    }
+
+    @Test
+    @Transactional
+    void getAllUsuariosByKeyset() throws Exception {
+        usuarioRepository.saveAndFlush(usuario);
+        Usuario other = createEntity();
+        other.setCpf(UNKNOWN_CPF);
+        usuarioRepository.saveAndFlush(other);
+
+        MvcResult firstSlice = restUsuarioMockMvc
+            .perform(get("/api/usuarios?after=&size=1&sort=cpf,asc&count=true&cpf.in=" + DEFAULT_CPF + "," + UNKNOWN_CPF))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(header().exists(KeysetPaginationUtil.NEXT_CURSOR_HEADER))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].cpf").value(DEFAULT_CPF))
+            .andReturn();
+        String cursor = firstSlice.getResponse().getHeader(KeysetPaginationUtil.NEXT_CURSOR_HEADER);
+        assertThat(cursor).isNotBlank();
+
+        restUsuarioMockMvc
+            .perform(get("/api/usuarios?size=1&cpf.in=" + DEFAULT_CPF + "," + UNKNOWN_CPF + "&after=" + cursor))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().doesNotExist(KeysetPaginationUtil.NEXT_CURSOR_HEADER))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].cpf").value(UNKNOWN_CPF));
+    }
+
+    @Test
+    @Transactional
+    void getAllUsuariosByKeysetWithInvalidSortOrCursor() throws Exception {
+        String invalidCpf = new KeysetCursor("cpf", Sort.Direction.ASC, 1L, "not-a-cpf").encode();
+        String unknownProperty = new KeysetCursor("dataNascimento", Sort.Direction.ASC, 1L, "1990-13-45").encode();
+
+        restUsuarioMockMvc.perform(get("/api/usuarios?after=&sort=nome,asc")).andExpect(status().isBadRequest());
+        restUsuarioMockMvc.perform(get("/api/usuarios?after=not-a-cursor")).andExpect(status().isBadRequest());
+        restUsuarioMockMvc.perform(get("/api/usuarios?after=" + invalidCpf)).andExpect(status().isBadRequest());
+        restUsuarioMockMvc.perform(get("/api/usuarios?after=" + unknownProperty)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getUsuariosByIdFiltering() throws Exception {
+        usuarioRepository.saveAndFlush(usuario);
+
+        Long id = usuario.getId();
+
+        defaultUsuarioShouldBeFound("id.equals=" + id);
+        defaultUsuarioShouldNotBeFound("id.notEquals=" + id);
+
+        defaultUsuarioShouldBeFound("id.greaterThanOrEqual=" + id);
+        defaultUsuarioShouldNotBeFound("id.greaterThan=" + id);
+
+        defaultUsuarioShouldBeFound("id.lessThanOrEqual=" + id);
+        defaultUsuarioShouldNotBeFound("id.lessThan=" + id);
+    }
+
+    @Test
+    @Transactional
+    void getAllUsuariosByCpfIsEqualToSomething() throws Exception {
+        usuarioRepository.saveAndFlush(usuario);
+
+        defaultUsuarioShouldBeFound("cpf.equals=" + DEFAULT_CPF);
+        defaultUsuarioShouldNotBeFound("cpf.equals=" + UNKNOWN_CPF);
+    }
+
+    @Test
+    @Transactional
+    void getAllUsuariosByCpfIsInShouldWork() throws Exception {
+        usuarioRepository.saveAndFlush(usuario);
+
+        defaultUsuarioShouldBeFound("cpf.in=" + DEFAULT_CPF + "," + UNKNOWN_CPF);
+        defaultUsuarioShouldNotBeFound("cpf.in=" + UNKNOWN_CPF);
+    }
+
+    @Test
+    @Transactional
+    void getAllUsuariosByCpfIsNullOrNotNull() throws Exception {
+        usuarioRepository.saveAndFlush(usuario);
+
+        defaultUsuarioShouldBeFound("cpf.specified=true");
+        defaultUsuarioShouldNotBeFound("cpf.specified=false");
+    }
+
+    @Test
+    @Transactional
+    void getAllUsuariosByCpfIsGreaterThanOrEqualToSomething() throws Exception {
+        usuarioRepository.saveAndFlush(usuario);
+
+        defaultUsuarioShouldBeFound("cpf.greaterThanOrEqual=" + DEFAULT_CPF);
+        defaultUsuarioShouldNotBeFound("cpf.greaterThanOrEqual=" + (DEFAULT_CPF + 1));
+    }
+
+    @Test
+    @Transactional
+    void getAllUsuariosByCpfIsLessThanSomething() throws Exception {
+        usuarioRepository.saveAndFlush(usuario);
+
+        defaultUsuarioShouldBeFound("cpf.lessThan=" + (DEFAULT_CPF + 1));
+        defaultUsuarioShouldNotBeFound("cpf.lessThan=" + SMALLER_CPF);
+    }
+
+    @Test
+    @Transactional
+    void getAllUsuariosByNomeIsEqualToSomething() throws Exception {
+        usuarioRepository.saveAndFlush(usuario);
+
+        defaultUsuarioShouldBeFound("nome.equals=" + DEFAULT_NOME);
+        defaultUsuarioShouldNotBeFound("nome.equals=" + UPDATED_NOME);
+    }
+
+    @Test
+    @Transactional
+    void getAllUsuariosByNomeIsInShouldWork() throws Exception {
+        usuarioRepository.saveAndFlush(usuario);
+
+        defaultUsuarioShouldBeFound("nome.in=" + DEFAULT_NOME + "," + UPDATED_NOME);
+        defaultUsuarioShouldNotBeFound("nome.in=" + UPDATED_NOME);
+    }
+
+    @Test
+    @Transactional
+    void getAllUsuariosByNomeIsNullOrNotNull() throws Exception {
+        usuarioRepository.saveAndFlush(usuario);
+
+        defaultUsuarioShouldBeFound("nome.specified=true");
+        defaultUsuarioShouldNotBeFound("nome.specified=false");
+    }
+
+    @Test
+    @Transactional
+    void getAllUsuariosByNomeContainsSomething() throws Exception {
+        usuarioRepository.saveAndFlush(usuario);
+
+        defaultUsuarioShouldBeFound("nome.contains=" + DEFAULT_NOME);
+        defaultUsuarioShouldNotBeFound("nome.contains=" + UPDATED_NOME);
+    }
+
+    @Test
+    @Transactional
+    void getAllUsuariosByNomeNotContainsSomething() throws Exception {
+        usuarioRepository.saveAndFlush(usuario);
+
+        defaultUsuarioShouldNotBeFound("nome.doesNotContain=" + DEFAULT_NOME);
+        defaultUsuarioShouldBeFound("nome.doesNotContain=" + UPDATED_NOME);
+    }
+
+    @Test
+    @Transactional
+    void getAllUsuariosByDataNascimentoIsEqualToSomething() throws Exception {
+        usuarioRepository.saveAndFlush(usuario);
+
+        defaultUsuarioShouldBeFound("dataNascimento.equals=" + DEFAULT_DATA_NASCIMENTO);
+        defaultUsuarioShouldNotBeFound("dataNascimento.equals=" + UPDATED_DATA_NASCIMENTO);
+    }
+
+    @Test
+    @Transactional
+    void getAllUsuariosByDataNascimentoIsGreaterThanSomething() throws Exception {
+        usuarioRepository.saveAndFlush(usuario);
+
+        defaultUsuarioShouldNotBeFound("dataNascimento.greaterThan=" + DEFAULT_DATA_NASCIMENTO);
+        defaultUsuarioShouldBeFound("dataNascimento.greaterThan=" + SMALLER_DATA_NASCIMENTO);
+    }
+
+    @Test
+    @Transactional
+    void getAllUsuariosByDataNascimentoIsLessThanSomething() throws Exception {
+        usuarioRepository.saveAndFlush(usuario);
+
+        defaultUsuarioShouldNotBeFound("dataNascimento.lessThan=" + DEFAULT_DATA_NASCIMENTO);
+        defaultUsuarioShouldBeFound("dataNascimento.lessThan=" + UPDATED_DATA_NASCIMENTO);
+    }
+
+    @Test
+    @Transactional
+    void getAllUsuariosByDataNascimentoIsNullOrNotNull() throws Exception {
+        usuarioRepository.saveAndFlush(usuario);
+
+        defaultUsuarioShouldBeFound("dataNascimento.specified=true");
+        defaultUsuarioShouldNotBeFound("dataNascimento.specified=false");
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultUsuarioShouldBeFound(String filter) throws Exception {
+        restUsuarioMockMvc
+            .perform(get("/api/usuarios?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(usuario.getId().intValue())))
+            .andExpect(jsonPath("$.[*].cpf").value(hasItem(DEFAULT_CPF)))
+            .andExpect(jsonPath("$.[*].nome").value(hasItem(DEFAULT_NOME)));
+
+        // Check, that the count call also returns 1
+        restUsuarioMockMvc
+            .perform(get("/api/usuarios/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("1"));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultUsuarioShouldNotBeFound(String filter) throws Exception {
+        restUsuarioMockMvc
+            .perform(get("/api/usuarios?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // Check, that the count call also returns 0
+        restUsuarioMockMvc
+            .perform(get("/api/usuarios/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("0"));
+    }
+
+    @Test
+    @Transactional
+    void exportUsuarios() throws Exception {
+        int fetchSize = applicationProperties.getExport().getFetchSize();
+        // Stream more rows than a single fetch block
+        applicationProperties.getExport().setFetchSize(2);
+        try {
+            List<Long> cpfs = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                Usuario exported = createEntity();
+                exported.setCpf(DEFAULT_CPF + i);
+                usuarioRepository.saveAndFlush(exported);
+                cpfs.add(exported.getCpf());
+            }
+
+            MvcResult result = restUsuarioMockMvc
+                .perform(get("/api/usuarios/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+            String body = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+            assertThat(body).endsWith("\n");
+            String[] lines = body.split("\n");
+            assertThat(lines).hasSize((int) usuarioRepository.count());
+            List<Long> exportedCpfs = new ArrayList<>();
+            for (String line : lines) {
+                JsonNode usuario = objectMapper.readTree(line);
+                assertThat(usuario.isObject()).isTrue();
+                exportedCpfs.add(usuario.get("cpf").asLong());
+            }
+            assertThat(exportedCpfs).containsAll(cpfs);
+        } finally {
+            applicationProperties.getExport().setFetchSize(fetchSize);
+        }
+    }
+
+    @Test
+    @Transactional
+    void getUsuarioByCpf() throws Exception {
+        usuarioRepository.saveAndFlush(usuario);
+
+        restUsuarioMockMvc
+            .perform(get("/api/usuarios/cpf/{cpf}", DEFAULT_CPF))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.id").value(usuario.getId().intValue()))
+            .andExpect(jsonPath("$.nome").value(DEFAULT_NOME));
+
+        assertThat(usuarioRepository.findOneByCpf(DEFAULT_CPF)).contains(usuario);
+    }
+
+    @Test
+    @Transactional
+    void getNonExistingUsuarioByCpf() throws Exception {
+        restUsuarioMockMvc.perform(get("/api/usuarios/cpf/{cpf}", UNKNOWN_CPF)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void batchGetUsuariosByCpf() throws Exception {
+        usuarioRepository.saveAndFlush(usuario);
+
+        UsuarioBatchGetRequestDTO request = new UsuarioBatchGetRequestDTO();
+        request.setCpfs(Arrays.asList(UNKNOWN_CPF, DEFAULT_CPF));
+
+        restUsuarioMockMvc
+            .perform(
+                post("/api/usuarios/batch-get").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].key").value(UNKNOWN_CPF))
+            .andExpect(jsonPath("$[0].found").value(false))
+            .andExpect(jsonPath("$[1].key").value(DEFAULT_CPF))
+            .andExpect(jsonPath("$[1].found").value(true))
+            .andExpect(jsonPath("$[1].usuario.id").value(usuario.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void batchGetUsuariosById() throws Exception {
+        usuarioRepository.saveAndFlush(usuario);
+
+        UsuarioBatchGetRequestDTO request = new UsuarioBatchGetRequestDTO();
+        request.setIds(Arrays.asList(usuario.getId(), Long.MAX_VALUE, usuario.getId()));
+
+        restUsuarioMockMvc
+            .perform(
+                post("/api/usuarios/batch-get").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].found").value(contains(true, false, true)))
+            .andExpect(jsonPath("$[2].usuario.cpf").value(DEFAULT_CPF));
+    }
+
+    @Test
+    @Transactional
+    void batchGetUsuariosWithBothIdsAndCpfs() throws Exception {
+        UsuarioBatchGetRequestDTO request = new UsuarioBatchGetRequestDTO();
+        request.setIds(Collections.singletonList(1L));
+        request.setCpfs(Collections.singletonList(DEFAULT_CPF));
+
+        restUsuarioMockMvc
+            .perform(
+                post("/api/usuarios/batch-get").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request))
+            )
+            .andExpect(status().isBadRequest());
+    }
+}